@@ -28,6 +28,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DynamicTest;
@@ -44,6 +47,7 @@ public class OverheadTests {
   private static GenericContainer<?> collector;
   private final NamingConventions namingConventions = new NamingConventions();
   private final Map<String, Long> runDurations = new HashMap<>();
+  private final OkHttpClient client = new OkHttpClient();
 
   @BeforeAll
   static void setUp() {
@@ -82,11 +86,16 @@ public class OverheadTests {
     GenericContainer<?> postgres = new PostgresContainer(NETWORK).build();
     postgres.start();
 
+    if (agent.usesClassDataSharing()) {
+      doTrainingRun(agent);
+    }
+
     GenericContainer<?> petclinic =
         new PetClinicRestContainer(NETWORK, collector, agent, namingConventions).build();
     long start = System.currentTimeMillis();
     petclinic.start();
     writeStartupTimeFile(agent, start);
+    writeFirstRequestTimeFile(agent, petclinic);
 
     if (config.getWarmupSeconds() > 0) {
       doWarmupPhase(config, petclinic);
@@ -110,6 +119,20 @@ public class OverheadTests {
     postgres.stop();
   }
 
+  // starts the app once to create the CDS archive, which is written when the JVM exits
+  private void doTrainingRun(Agent agent) throws Exception {
+    System.out.println("Performing CDS training run for " + agent.getName() + "...");
+    GenericContainer<?> petclinic =
+        new PetClinicRestContainer(NETWORK, collector, agent, namingConventions)
+            .buildTrainingRun();
+    petclinic.start();
+    sendRequest(petclinic);
+    petclinic.execInContainer("kill", "1");
+    while (petclinic.isRunning()) {
+      TimeUnit.MILLISECONDS.sleep(500);
+    }
+  }
+
   private void startRecording(Agent agent, GenericContainer<?> petclinic) throws Exception {
     String outFile = namingConventions.container.jfrFile(agent);
     String[] command = {
@@ -161,6 +184,31 @@ public class OverheadTests {
     System.out.println("Warmup complete.");
   }
 
+  // the first request links the instrumentation of the request path, e.g. bootstraps the indy
+  // advice, measure it before the warmup
+  private void writeFirstRequestTimeFile(Agent agent, GenericContainer<?> petclinic)
+      throws IOException {
+    long start = System.currentTimeMillis();
+    sendRequest(petclinic);
+    long delta = System.currentTimeMillis() - start;
+    Path firstRequestPath = Path.of(namingConventions.local.firstRequestDurationFile(agent));
+    Files.writeString(firstRequestPath, String.valueOf(delta));
+  }
+
+  private void sendRequest(GenericContainer<?> petclinic) throws IOException {
+    String url =
+        "http://"
+            + petclinic.getHost()
+            + ":"
+            + petclinic.getMappedPort(PetClinicRestContainer.PETCLINIC_PORT)
+            + "/petclinic/api/specialties";
+    try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+      if (!response.isSuccessful()) {
+        throw new IOException("Request failed with status " + response.code());
+      }
+    }
+  }
+
   private void writeStartupTimeFile(Agent agent, long start) throws IOException {
     long delta = System.currentTimeMillis() - start;
     Path startupPath = Path.of(namingConventions.local.startupDurationFile(agent));
@@ -9,6 +9,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,11 +29,40 @@ public class Agent {
           "latest available snapshot version from main with indy enabled",
           null,
           Collections.singletonList("-Dotel.javaagent.experimental.indy=true"));
+  public static final Agent LATEST_SNAPSHOT_INDY_EAGER =
+      new Agent(
+          "snapshot-indy-eager",
+          "latest available snapshot version from main with indy and eager advice linking enabled",
+          null,
+          Arrays.asList(
+              "-Dotel.javaagent.experimental.indy=true",
+              "-Dotel.javaagent.experimental.indy.eager-advice-linking=true"));
+  public static final Agent LATEST_SNAPSHOT_CDS =
+      new Agent(
+          "snapshot-cds",
+          "latest available snapshot version from main with a CDS archive from a training run",
+          null,
+          Collections.emptyList(),
+          true);
+  public static final Agent LATEST_SNAPSHOT_PARALLEL_INSTALL =
+      new Agent(
+          "snapshot-parallel-install",
+          "latest available snapshot version from main with parallel module installation enabled",
+          null,
+          Collections.singletonList(
+              "-Dotel.javaagent.experimental.parallel-module-installation=true"));
+  public static final Agent LATEST_SNAPSHOT_LAZY_ACTIVATION =
+      new Agent(
+          "snapshot-lazy-activation",
+          "latest available snapshot version from main with lazy module activation enabled",
+          null,
+          Collections.singletonList("-Dotel.javaagent.experimental.lazy-module-activation=true"));
 
   private final String name;
   private final String description;
   private final URL url;
   private final List<String> additionalJvmArgs;
+  private final boolean classDataSharing;
 
   public Agent(String name, String description) {
     this(name, description, null);
@@ -43,10 +73,20 @@ public class Agent {
   }
 
   public Agent(String name, String description, String url, List<String> additionalJvmArgs) {
+    this(name, description, url, additionalJvmArgs, false);
+  }
+
+  public Agent(
+      String name,
+      String description,
+      String url,
+      List<String> additionalJvmArgs,
+      boolean classDataSharing) {
     this.name = name;
     this.description = description;
     this.url = makeUrl(url);
     this.additionalJvmArgs = new ArrayList<>(additionalJvmArgs);
+    this.classDataSharing = classDataSharing;
   }
 
   public String getName() {
@@ -69,6 +109,11 @@ public class Agent {
     return Collections.unmodifiableList(additionalJvmArgs);
   }
 
+  /** Whether the app is started with a CDS archive that is created in a training run. */
+  public boolean usesClassDataSharing() {
+    return classDataSharing;
+  }
+
   private static URL makeUrl(String url) {
     try {
       if (url == null) {
@@ -24,7 +24,7 @@ public class AgentResolver {
     if (Agent.NONE.equals(agent)) {
       return Optional.empty();
     }
-    if (Agent.LATEST_SNAPSHOT.equals(agent) || Agent.LATEST_SNAPSHOT_INDY.equals(agent)) {
+    if (isLatestSnapshot(agent)) {
       return snapshotResolver.resolve();
     }
     if (agent.hasUrl()) {
@@ -33,6 +33,16 @@ public class AgentResolver {
     throw new IllegalArgumentException("Unknown agent: " + agent);
   }
 
+  // the snapshot agents only differ in the jvm arguments that they add
+  private static boolean isLatestSnapshot(Agent agent) {
+    return Agent.LATEST_SNAPSHOT.equals(agent)
+        || Agent.LATEST_SNAPSHOT_INDY.equals(agent)
+        || Agent.LATEST_SNAPSHOT_INDY_EAGER.equals(agent)
+        || Agent.LATEST_SNAPSHOT_CDS.equals(agent)
+        || Agent.LATEST_SNAPSHOT_PARALLEL_INSTALL.equals(agent)
+        || Agent.LATEST_SNAPSHOT_LAZY_ACTIVATION.equals(agent);
+  }
+
   private Path downloadAgent(URL agentUrl) throws Exception {
     if (agentUrl.getProtocol().equals("file")) {
       Path source = Path.of(agentUrl.toURI());
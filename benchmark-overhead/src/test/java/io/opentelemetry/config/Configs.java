@@ -16,7 +16,14 @@ public enum Configs {
           .name("release")
           .description("compares no agent, latest stable, and latest snapshot agents")
           .withAgents(
-              Agent.NONE, Agent.LATEST_RELEASE, Agent.LATEST_SNAPSHOT, Agent.LATEST_SNAPSHOT_INDY)
+              Agent.NONE,
+              Agent.LATEST_RELEASE,
+              Agent.LATEST_SNAPSHOT,
+              Agent.LATEST_SNAPSHOT_INDY,
+              Agent.LATEST_SNAPSHOT_INDY_EAGER,
+              Agent.LATEST_SNAPSHOT_CDS,
+              Agent.LATEST_SNAPSHOT_PARALLEL_INSTALL,
+              Agent.LATEST_SNAPSHOT_LAZY_ACTIVATION)
           .warmupSeconds(60)
           .build());
 
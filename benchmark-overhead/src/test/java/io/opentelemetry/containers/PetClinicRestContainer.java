@@ -27,7 +27,7 @@ import org.testcontainers.utility.MountableFile;
 public class PetClinicRestContainer {
 
   private static final Logger logger = LoggerFactory.getLogger(PetClinicRestContainer.class);
-  private static final int PETCLINIC_PORT = 9966;
+  public static final int PETCLINIC_PORT = 9966;
   private final AgentResolver agentResolver = new AgentResolver();
 
   private final Network network;
@@ -44,6 +44,18 @@ public class PetClinicRestContainer {
   }
 
   public GenericContainer<?> build() throws Exception {
+    return build(false);
+  }
+
+  /**
+   * Builds the container of the CDS training run, which writes the archive that the container
+   * returned by {@link #build()} uses.
+   */
+  public GenericContainer<?> buildTrainingRun() throws Exception {
+    return build(true);
+  }
+
+  private GenericContainer<?> build(boolean trainingRun) throws Exception {
 
     Optional<Path> agentJar = agentResolver.resolve(this.agent);
 
@@ -68,7 +80,7 @@ public class PetClinicRestContainer {
             .withEnv("spring_datasource_password", PostgresContainer.PASSWORD)
             .withEnv("spring_jpa_hibernate_ddl-auto", "none")
             .dependsOn(collector)
-            .withCommand(buildCommandline(agentJar));
+            .withCommand(buildCommandline(agentJar, trainingRun));
 
     agentJar.ifPresent(
         agentPath ->
@@ -79,7 +91,7 @@ public class PetClinicRestContainer {
   }
 
   @NotNull
-  private String[] buildCommandline(Optional<Path> agentJar) {
+  private String[] buildCommandline(Optional<Path> agentJar, boolean trainingRun) {
     List<String> result =
         new ArrayList<>(
             Arrays.asList(
@@ -90,6 +102,15 @@ public class PetClinicRestContainer {
                 "-Dotel.exporter.otlp.endpoint=http://collector:4318",
                 "-Dotel.resource.attributes=service.name=petclinic-otel-overhead"));
     result.addAll(this.agent.getAdditionalJvmArgs());
+    if (this.agent.usesClassDataSharing()) {
+      String archive = namingConventions.container.cdsArchiveFile(agent);
+      if (trainingRun) {
+        result.add("-XX:ArchiveClassesAtExit=" + archive);
+        result.add("-Dotel.javaagent.experimental.cds.training=true");
+      } else {
+        result.add("-XX:SharedArchiveFile=" + archive);
+      }
+    }
     agentJar.ifPresent(path -> result.add("-javaagent:/app/" + path.getFileName()));
 
     result.add("-jar");
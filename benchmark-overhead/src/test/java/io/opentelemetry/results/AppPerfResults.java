@@ -21,6 +21,7 @@ public class AppPerfResults {
   final MinMax heapUsed;
   final float maxThreadContextSwitchRate;
   final long startupDurationMs;
+  final long firstRequestDurationMs;
   final long peakThreadCount;
   final long averageNetworkRead;
   final long averageNetworkWrite;
@@ -42,6 +43,7 @@ public class AppPerfResults {
     this.heapUsed = builder.heapUsed;
     this.maxThreadContextSwitchRate = builder.maxThreadContextSwitchRate;
     this.startupDurationMs = builder.startupDurationMs;
+    this.firstRequestDurationMs = builder.firstRequestDurationMs;
     this.peakThreadCount = builder.peakThreadCount;
     this.averageNetworkRead = builder.averageNetworkRead;
     this.averageNetworkWrite = builder.averageNetworkWrite;
@@ -78,6 +80,7 @@ public class AppPerfResults {
 
   static class Builder {
     private long startupDurationMs;
+    private long firstRequestDurationMs;
     private Agent agent;
     private TestConfig config;
     private double iterationAvg;
@@ -156,6 +159,11 @@ public class AppPerfResults {
       return this;
     }
 
+    Builder firstRequestDurationMs(long firstRequestDurationMs) {
+      this.firstRequestDurationMs = firstRequestDurationMs;
+      return this;
+    }
+
     Builder peakThreadCount(long peakThreadCount) {
       this.peakThreadCount = peakThreadCount;
       return this;
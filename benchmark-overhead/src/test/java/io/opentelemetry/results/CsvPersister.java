@@ -38,7 +38,8 @@ class CsvPersister implements ResultsPersister {
           FieldSpec.of("maxCpuUser", r -> r.maxJvmUserCpu),
           FieldSpec.of("averageMachineCpuTotal", r -> r.averageMachineCpuTotal),
           FieldSpec.of("runDurationMs", r -> r.runDurationMs),
-          FieldSpec.of("gcPauseMs", r -> NANOSECONDS.toMillis(r.totalGcPauseNanos)));
+          FieldSpec.of("gcPauseMs", r -> NANOSECONDS.toMillis(r.totalGcPauseNanos)),
+          FieldSpec.of("firstRequestDurationMs", r -> r.firstRequestDurationMs));
 
   private final Path resultsFile;
 
@@ -43,6 +43,7 @@ public class ResultsCollector {
               .config(config);
 
       builder = addStartupTime(builder, agent);
+      builder = addFirstRequestTime(builder, agent);
       builder = addK6Results(builder, agent);
       builder = addJfrResults(builder, agent);
 
@@ -59,6 +60,13 @@ public class ResultsCollector {
     return builder.startupDurationMs(startupDuration);
   }
 
+  private AppPerfResults.Builder addFirstRequestTime(AppPerfResults.Builder builder, Agent agent)
+      throws IOException {
+    Path file = Path.of(namingConvention.firstRequestDurationFile(agent));
+    long firstRequestDuration = Long.parseLong(new String(Files.readAllBytes(file)).trim());
+    return builder.firstRequestDurationMs(firstRequestDuration);
+  }
+
   private AppPerfResults.Builder addK6Results(AppPerfResults.Builder builder, Agent agent)
       throws IOException {
     Path k6File = Path.of(namingConvention.k6Results(agent));
@@ -27,6 +27,14 @@ public class ContainerNamingConvention implements NamingConvention {
     return String.join("/", dir, "startup-time-" + agent.getName() + ".txt");
   }
 
+  public String firstRequestDurationFile(Agent agent) {
+    return String.join("/", dir, "first-request-time-" + agent.getName() + ".txt");
+  }
+
+  public String cdsArchiveFile(Agent agent) {
+    return String.join("/", dir, "petclinic-" + agent.getName() + ".jsa");
+  }
+
   public String root() {
     return dir;
   }
@@ -34,6 +34,22 @@ public interface NamingConvention {
    */
   String startupDurationFile(Agent agent);
 
+  /**
+   * Returns the path string to the file that contains the duration of the first request for a
+   * given agent run.
+   *
+   * @param agent The agent to get the first request duration for.
+   */
+  String firstRequestDurationFile(Agent agent);
+
+  /**
+   * Returns the path string to the CDS archive that is created in the training run for a given
+   * agent.
+   *
+   * @param agent The agent to get the CDS archive for.
+   */
+  String cdsArchiveFile(Agent agent);
+
   /** Returns the root path that this naming convention was configured with. */
   String root();
 }
@@ -1,3 +1,5 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("me.champeau.jmh")
   id("io.morethan.jmhreport")
@@ -17,6 +19,7 @@ jmh {
   // Otherwise an error will happen:
   // Could not expand ZIP 'byte-buddy-agent-1.9.7.jar'.
   includeTests.set(false)
+  // reports gc.alloc.rate.norm, the bytes allocated per operation, to spot allocation regressions
   profilers.add("gc")
   val jmhIncludeSingleClass: String? by project
   if (jmhIncludeSingleClass != null) {
@@ -36,3 +39,14 @@ tasks {
     outputs.cacheIf { false }
   }
 }
+
+plugins.withId("net.ltgt.errorprone") {
+  tasks.withType<JavaCompile>().configureEach {
+    // the benchmark classes that jmh generates don't pass the error prone checks
+    if (name == "jmhCompileGeneratedClasses") {
+      options.errorprone {
+        isEnabled.set(false)
+      }
+    }
+  }
+}
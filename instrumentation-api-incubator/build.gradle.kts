@@ -3,6 +3,7 @@ plugins {
   id("otel.animalsniffer-conventions")
   id("otel.jacoco-conventions")
   id("otel.publish-conventions")
+  id("otel.jmh-conventions")
   id("otel.nullaway-conventions")
 }
 
@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class SqlStatementSanitizerBenchmark {
+
+  private static final String SHORT_STATEMENT =
+      "SELECT id, name FROM users WHERE id = 123 AND name = 'John' AND age IN (1, 2, 3)";
+
+  // approximate length of the statement in characters
+  @Param({"100", "10240", "1048576"})
+  public int statementLength;
+
+  private String statement;
+
+  @Setup
+  public void setUp() {
+    StringBuilder builder = new StringBuilder(SHORT_STATEMENT);
+    int i = 0;
+    while (builder.length() < statementLength) {
+      builder.append(" OR (col").append(i).append(" = 'value").append(i).append("')");
+      i++;
+    }
+    statement = builder.toString();
+  }
+
+  @Benchmark
+  public SqlStatementInfo sanitize() {
+    // call the sanitizer directly to bypass the cache in SqlStatementSanitizer
+    return AutoSqlSanitizer.sanitize(statement, SqlDialect.DEFAULT);
+  }
+}
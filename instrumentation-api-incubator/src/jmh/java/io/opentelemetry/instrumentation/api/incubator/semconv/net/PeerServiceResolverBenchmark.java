@@ -0,0 +1,75 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.net;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class PeerServiceResolverBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  int mappings;
+
+  private PeerServiceResolver resolver;
+  private String[] hosts;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    // every host has a mapping without port, one with a port and two with a port and path
+    Map<String, String> peerServiceMapping = new HashMap<>();
+    int hostCount = Math.max(1, mappings / 4);
+    hosts = new String[hostCount];
+    for (int i = 0; i < hostCount; i++) {
+      String host = "service-" + i + ".example.com";
+      hosts[i] = host;
+      peerServiceMapping.put(host, "service-" + i);
+      peerServiceMapping.put(host + ":8080", "service-" + i + "-8080");
+      peerServiceMapping.put(host + ":8080/api", "service-" + i + "-api");
+      peerServiceMapping.put(host + ":8080/api/v2", "service-" + i + "-api-v2");
+    }
+    resolver = PeerServiceResolver.create(peerServiceMapping);
+  }
+
+  @Benchmark
+  public String hostOnly() {
+    return resolver.resolveService(nextHost(), null, () -> "/api/v2/users");
+  }
+
+  @Benchmark
+  public String hostPortAndPath() {
+    return resolver.resolveService(nextHost(), 8080, () -> "/api/v2/users");
+  }
+
+  @Benchmark
+  public String unknownHost() {
+    return resolver.resolveService("unknown.example.com", 8080, () -> "/api/v2/users");
+  }
+
+  private String nextHost() {
+    String host = hosts[index];
+    index = (index + 1) % hosts.length;
+    return host;
+  }
+}
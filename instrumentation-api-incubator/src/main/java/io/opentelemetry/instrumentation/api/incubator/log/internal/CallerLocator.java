@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * Finds the location that a log event was logged from. On Java 9+ the stack is walked with {@code
+ * StackWalker}, which stops at the caller and only creates a {@link StackTraceElement} for that one
+ * frame, instead of capturing the whole stack trace with a {@link Throwable}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class CallerLocator {
+
+  // StackWalker is not available on Java 8
+  @Nullable
+  private static final StackWalkerSupport stackWalkerSupport = StackWalkerSupport.create();
+
+  /**
+   * Returns the frame that called into {@code loggerClassName}, i.e. the first frame below the
+   * frames of that class, or {@code null} when the class is not on the stack.
+   */
+  @Nullable
+  public static StackTraceElement findCaller(String loggerClassName) {
+    if (stackWalkerSupport != null) {
+      try {
+        return stackWalkerSupport.findCaller(loggerClassName);
+      } catch (Throwable t) {
+        // fall back to capturing the stack trace
+      }
+    }
+    return findCaller(new Throwable().getStackTrace(), loggerClassName);
+  }
+
+  // Visible for testing
+  @Nullable
+  static StackTraceElement findCaller(StackTraceElement[] stackTrace, String loggerClassName) {
+    boolean inLogger = false;
+    for (StackTraceElement element : stackTrace) {
+      if (loggerClassName.equals(element.getClassName())) {
+        inLogger = true;
+      } else if (inLogger) {
+        return element;
+      }
+    }
+    return null;
+  }
+
+  private CallerLocator() {}
+
+  private static final class StackWalkerSupport {
+    private final Object stackWalker;
+    private final MethodHandle walk;
+    private final MethodHandle getClassName;
+    private final MethodHandle toStackTraceElement;
+
+    private StackWalkerSupport(
+        Object stackWalker,
+        MethodHandle walk,
+        MethodHandle getClassName,
+        MethodHandle toStackTraceElement) {
+      this.stackWalker = stackWalker;
+      this.walk = walk;
+      this.getClassName = getClassName;
+      this.toStackTraceElement = toStackTraceElement;
+    }
+
+    @Nullable
+    static StackWalkerSupport create() {
+      try {
+        Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+        Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Object stackWalker =
+            lookup
+                .findStatic(
+                    stackWalkerClass, "getInstance", MethodType.methodType(stackWalkerClass))
+                .invoke();
+        return new StackWalkerSupport(
+            stackWalker,
+            lookup.findVirtual(
+                stackWalkerClass, "walk", MethodType.methodType(Object.class, Function.class)),
+            lookup.findVirtual(
+                stackFrameClass, "getClassName", MethodType.methodType(String.class)),
+            lookup.findVirtual(
+                stackFrameClass,
+                "toStackTraceElement",
+                MethodType.methodType(StackTraceElement.class)));
+      } catch (Throwable t) {
+        return null;
+      }
+    }
+
+    @Nullable
+    StackTraceElement findCaller(String loggerClassName) throws Throwable {
+      Function<Stream<?>, StackTraceElement> function =
+          frames -> findCaller(frames, loggerClassName);
+      return (StackTraceElement) walk.invoke(stackWalker, function);
+    }
+
+    @Nullable
+    private StackTraceElement findCaller(Stream<?> frames, String loggerClassName) {
+      boolean inLogger = false;
+      for (Iterator<?> i = frames.iterator(); i.hasNext(); ) {
+        Object frame = i.next();
+        if (loggerClassName.equals(invoke(getClassName, frame))) {
+          inLogger = true;
+        } else if (inLogger) {
+          return (StackTraceElement) invoke(toStackTraceElement, frame);
+        }
+      }
+      return null;
+    }
+
+    private static Object invoke(MethodHandle methodHandle, Object frame) {
+      try {
+        return methodHandle.invoke(frame);
+      } catch (Throwable t) {
+        throw new IllegalStateException(t);
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.instrumentation.api.internal.SemconvStability;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.semconv.CodeAttributes;
+
+/**
+ * Source code attributes of the location that a log event was logged from, shared by the log
+ * appender instrumentations. Most log events are logged from a small number of call sites, so the
+ * attributes are built once per call site and reused.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class CodeLocationAttributes {
+
+  // copied from CodeIncubatingAttributes
+  private static final AttributeKey<String> CODE_FILEPATH = AttributeKey.stringKey("code.filepath");
+  private static final AttributeKey<String> CODE_NAMESPACE =
+      AttributeKey.stringKey("code.namespace");
+  private static final AttributeKey<String> CODE_FUNCTION = AttributeKey.stringKey("code.function");
+  private static final AttributeKey<Long> CODE_LINENO = AttributeKey.longKey("code.lineno");
+
+  private static final Cache<StackTraceElement, Attributes> cache = Cache.bounded(1000);
+
+  /** Returns the code attributes of the given call site. */
+  public static Attributes get(StackTraceElement location) {
+    return cache.computeIfAbsent(location, CodeLocationAttributes::create);
+  }
+
+  private static Attributes create(StackTraceElement location) {
+    AttributesBuilder builder = Attributes.builder();
+    String fileName = location.getFileName();
+    int lineNumber = location.getLineNumber();
+
+    if (SemconvStability.isEmitOldCodeSemconv()) {
+      if (fileName != null) {
+        builder.put(CODE_FILEPATH, fileName);
+      }
+      builder.put(CODE_NAMESPACE, location.getClassName());
+      builder.put(CODE_FUNCTION, location.getMethodName());
+      if (lineNumber > 0) {
+        builder.put(CODE_LINENO, (long) lineNumber);
+      }
+    }
+    if (SemconvStability.isEmitStableCodeSemconv()) {
+      if (fileName != null) {
+        builder.put(CodeAttributes.CODE_FILE_PATH, fileName);
+      }
+      builder.put(
+          CodeAttributes.CODE_FUNCTION_NAME,
+          location.getClassName() + "." + location.getMethodName());
+      if (lineNumber > 0) {
+        builder.put(CodeAttributes.CODE_LINE_NUMBER, (long) lineNumber);
+      }
+    }
+    return builder.build();
+  }
+
+  private CodeLocationAttributes() {}
+}
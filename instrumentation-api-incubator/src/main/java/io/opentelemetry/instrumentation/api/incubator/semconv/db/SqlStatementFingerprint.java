@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import javax.annotation.Nullable;
+
+/**
+ * Computes a cheap fingerprint of a SQL statement that has numeric and string literals replaced
+ * with {@code ?}, whitespace collapsed and {@code IN (?, ?, ...)} lists normalized, so that
+ * statements that differ only in their literal values share the same fingerprint. Statements with
+ * the same fingerprint are guaranteed to be sanitized to the same {@link SqlStatementInfo}.
+ *
+ * <p>The fingerprint mirrors the tokenization rules of {@code SqlSanitizer.jflex} for literals; for
+ * constructs where it can't cheaply guarantee the same result (e.g. hex or dollar quoted literals,
+ * unterminated quotes or non-ASCII characters outside quotes) no fingerprint is computed.
+ */
+final class SqlStatementFingerprint {
+
+  /**
+   * Returns the fingerprint of the given statement, or {@code null} when the statement contains
+   * constructs that are not supported by the fingerprint.
+   */
+  @Nullable
+  static String compute(String statement) {
+    int length = statement.length();
+    StringBuilder builder = new StringBuilder(length);
+    int i = 0;
+    while (i < length) {
+      char c = statement.charAt(i);
+      if (c == '\'') {
+        int end = findQuoteEnd(statement, i, '\'');
+        if (end == -1) {
+          return null;
+        }
+        builder.append('?');
+        i = end + 1;
+      } else if (c == '"') {
+        // double-quoted strings are identifiers (or literals in some dialects), keep them as is
+        int end = findQuoteEnd(statement, i, '"');
+        if (end == -1) {
+          return null;
+        }
+        builder.append(statement, i, end + 1);
+        i = end + 1;
+      } else if (c == '`') {
+        int end = statement.indexOf('`', i + 1);
+        if (end == -1) {
+          return null;
+        }
+        builder.append(statement, i, end + 1);
+        i = end + 1;
+      } else if (c == '$') {
+        if (i + 1 < length && statement.charAt(i + 1) == '$') {
+          // dollar quoted string
+          return null;
+        }
+        // postgres parameter marker, e.g. $1, is not sanitized
+        builder.append(c);
+        i++;
+        while (i < length && isDigit(statement.charAt(i))) {
+          builder.append(statement.charAt(i));
+          i++;
+        }
+      } else if (isDigit(c) && (i == 0 || !isIdentifierPart(statement.charAt(i - 1)))) {
+        if (c == '0' && i + 1 < length && (statement.charAt(i + 1) | 0x20) == 'x') {
+          // possibly a hex number
+          return null;
+        }
+        // the sanitizer treats leading '.', '+' and '-' as part of the number
+        int end = builder.length();
+        while (end > 0 && isNumberSign(builder.charAt(end - 1))) {
+          end--;
+        }
+        builder.setLength(end);
+        i++;
+        while (i < length && isNumberPart(statement.charAt(i))) {
+          i++;
+        }
+        builder.append('?');
+      } else if (isWhitespace(c)) {
+        builder.append(' ');
+        i++;
+        while (i < length && isWhitespace(statement.charAt(i))) {
+          i++;
+        }
+      } else if (c >= 128) {
+        // the sanitizer uses unicode rules for identifiers, don't try to replicate them here
+        return null;
+      } else {
+        builder.append(c);
+        i++;
+      }
+    }
+    return AutoSqlSanitizer.normalizeInStatements(builder.toString());
+  }
+
+  // returns the index of the closing quote, quotes can be escaped by doubling them
+  private static int findQuoteEnd(String statement, int start, char quote) {
+    int i = start + 1;
+    while (i < statement.length()) {
+      if (statement.charAt(i) == quote) {
+        if (i + 1 < statement.length() && statement.charAt(i + 1) == quote) {
+          i += 2;
+          continue;
+        }
+        return i;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetter(c) || isDigit(c) || c == '_';
+  }
+
+  private static boolean isNumberSign(char c) {
+    return c == '.' || c == '+' || c == '-';
+  }
+
+  private static boolean isNumberPart(char c) {
+    return isDigit(c) || c == 'e' || c == 'E' || isNumberSign(c);
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private SqlStatementFingerprint() {}
+}
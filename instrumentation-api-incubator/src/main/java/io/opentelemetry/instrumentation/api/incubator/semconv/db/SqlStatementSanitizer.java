@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
 import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_FINGERPRINT_CACHE_HIT;
 
 import com.google.auto.value.AutoValue;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
@@ -19,7 +20,14 @@ import javax.annotation.Nullable;
 public final class SqlStatementSanitizer {
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
+  // applications that inline parameters produce a lot of statements that are used only once, they
+  // would evict the statements that are used repeatedly from a plain lru cache
   private static final Cache<CacheKey, SqlStatementInfo> sqlToStatementInfoCache =
+      Cache.boundedByFrequency(1000);
+  // statements that differ only in literal values (e.g. when the application inlines parameters
+  // instead of using bind variables) are sanitized to the same result, this cache is keyed by the
+  // statement with literals already replaced, so that these don't need to be sanitized again
+  private static final Cache<CacheKey, SqlStatementInfo> fingerprintToStatementInfoCache =
       Cache.bounded(1000);
   private static final int LARGE_STATEMENT_THRESHOLD = 10 * 1024;
 
@@ -48,7 +56,23 @@ public final class SqlStatementSanitizer {
       return sanitizeImpl(statement, dialect);
     }
     return sqlToStatementInfoCache.computeIfAbsent(
-        CacheKey.create(statement, dialect), k -> sanitizeImpl(statement, dialect));
+        CacheKey.create(statement, dialect), k -> sanitizeWithFingerprint(statement, dialect));
+  }
+
+  private static SqlStatementInfo sanitizeWithFingerprint(String statement, SqlDialect dialect) {
+    String fingerprint = SqlStatementFingerprint.compute(statement);
+    if (fingerprint == null) {
+      return sanitizeImpl(statement, dialect);
+    }
+    CacheKey key = CacheKey.create(fingerprint, dialect);
+    SqlStatementInfo result = fingerprintToStatementInfoCache.get(key);
+    if (result != null) {
+      supportability.incrementCounter(SQL_STATEMENT_SANITIZER_FINGERPRINT_CACHE_HIT);
+      return result;
+    }
+    result = sanitizeImpl(statement, dialect);
+    fingerprintToStatementInfoCache.put(key, result);
+    return result;
   }
 
   private static SqlStatementInfo sanitizeImpl(String statement, SqlDialect dialect) {
@@ -5,38 +5,33 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.net;
 
-import static java.util.Comparator.comparing;
-import static java.util.Comparator.naturalOrder;
-import static java.util.Comparator.nullsFirst;
+import static java.util.Comparator.comparingInt;
 
-import com.google.auto.value.AutoValue;
 import io.opentelemetry.instrumentation.api.incubator.semconv.net.internal.UrlParser;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 class PeerServiceResolverImpl implements PeerServiceResolver {
 
-  private static final Comparator<ServiceMatcher> matcherComparator =
-      nullsFirst(
-          comparing(ServiceMatcher::getPort, nullsFirst(naturalOrder()))
-              .thenComparing(comparing(ServiceMatcher::getPath, nullsFirst(naturalOrder()))));
-
-  private final Map<String, Map<ServiceMatcher, String>> mapping = new HashMap<>();
+  private final Map<String, HostMatchers> mapping = new HashMap<>();
 
   PeerServiceResolverImpl(Map<String, String> peerServiceMapping) {
+    Map<String, HostMatchers.Builder> builders = new HashMap<>();
     peerServiceMapping.forEach(
         (key, serviceName) -> {
           String url = "https://" + key;
           String host = UrlParser.getHost(url);
           Integer port = UrlParser.getPort(url);
           String path = UrlParser.getPath(url);
-          Map<ServiceMatcher, String> matchers =
-              mapping.computeIfAbsent(host, x -> new HashMap<>());
-          matchers.putIfAbsent(ServiceMatcher.create(port, path), serviceName);
+          builders
+              .computeIfAbsent(host, x -> new HostMatchers.Builder())
+              .add(port, path, serviceName);
         });
+    builders.forEach((host, builder) -> mapping.put(host, builder.build()));
   }
 
   @Override
@@ -47,49 +42,123 @@ class PeerServiceResolverImpl implements PeerServiceResolver {
   @Override
   @Nullable
   public String resolveService(String host, @Nullable Integer port, Supplier<String> pathSupplier) {
-    Map<ServiceMatcher, String> matchers = mapping.get(host);
+    HostMatchers matchers = mapping.get(host);
     if (matchers == null) {
       return null;
     }
-    return matchers.entrySet().stream()
-        .filter(entry -> entry.getKey().matches(port, pathSupplier))
-        .max((o1, o2) -> matcherComparator.compare(o1.getKey(), o2.getKey()))
-        .map(Map.Entry::getValue)
-        .orElse(null);
+    return matchers.resolve(port, pathSupplier);
   }
 
-  @AutoValue
-  abstract static class ServiceMatcher {
+  // A mapping with the same port as the request is preferred over a mapping without port, and a
+  // mapping with a longer matching path is preferred over a shorter one. Mappings with a path but
+  // without a port only match requests without a port.
+  private static final class HostMatchers {
+
+    private final Map<Integer, PortMatchers> byPort;
+    private final PortMatchers anyPort;
 
-    static ServiceMatcher create(@Nullable Integer port, @Nullable String path) {
-      return new AutoValue_PeerServiceResolverImpl_ServiceMatcher(port, path);
+    private HostMatchers(Map<Integer, PortMatchers> byPort, PortMatchers anyPort) {
+      this.byPort = byPort;
+      this.anyPort = anyPort;
     }
 
     @Nullable
-    abstract Integer getPort();
+    String resolve(@Nullable Integer port, Supplier<String> pathSupplier) {
+      if (port == null) {
+        return anyPort.resolve(pathSupplier, /* matchPaths= */ true);
+      }
+      PortMatchers portMatchers = byPort.get(port);
+      if (portMatchers != null) {
+        String service = portMatchers.resolve(pathSupplier, /* matchPaths= */ true);
+        if (service != null) {
+          return service;
+        }
+      }
+      return anyPort.resolve(pathSupplier, /* matchPaths= */ false);
+    }
 
-    @Nullable
-    abstract String getPath();
+    private static final class Builder {
+      private final Map<Integer, PortMatchers.Builder> byPort = new HashMap<>();
+      private final PortMatchers.Builder anyPort = new PortMatchers.Builder();
 
-    public boolean matches(@Nullable Integer port, Supplier<String> pathSupplier) {
-      if (this.getPort() != null) {
-        if (!this.getPort().equals(port)) {
-          return false;
-        }
+      void add(@Nullable Integer port, @Nullable String path, String serviceName) {
+        PortMatchers.Builder builder =
+            port == null ? anyPort : byPort.computeIfAbsent(port, x -> new PortMatchers.Builder());
+        builder.add(path, serviceName);
+      }
+
+      HostMatchers build() {
+        Map<Integer, PortMatchers> portMatchers = new HashMap<>();
+        byPort.forEach((port, builder) -> portMatchers.put(port, builder.build()));
+        return new HostMatchers(portMatchers, anyPort.build());
       }
-      if (this.getPath() != null && this.getPath().length() > 0) {
+    }
+  }
+
+  private static final class PortMatchers {
+
+    // sorted by length, longest first, at most one of the paths of a given length can be a prefix
+    // of the request path
+    private final String[] paths;
+    private final String[] pathServices;
+    @Nullable private final String emptyPathService;
+    @Nullable private final String noPathService;
+
+    private PortMatchers(
+        String[] paths,
+        String[] pathServices,
+        @Nullable String emptyPathService,
+        @Nullable String noPathService) {
+      this.paths = paths;
+      this.pathServices = pathServices;
+      this.emptyPathService = emptyPathService;
+      this.noPathService = noPathService;
+    }
+
+    @Nullable
+    String resolve(Supplier<String> pathSupplier, boolean matchPaths) {
+      if (matchPaths && paths.length > 0) {
         String path = pathSupplier.get();
-        if (path == null) {
-          return false;
+        if (path != null) {
+          for (int i = 0; i < paths.length; i++) {
+            if (path.startsWith(paths[i])) {
+              return pathServices[i];
+            }
+          }
         }
-        if (!path.startsWith(this.getPath())) {
-          return false;
+      }
+      return emptyPathService != null ? emptyPathService : noPathService;
+    }
+
+    private static final class Builder {
+      private final Map<String, String> pathServices = new HashMap<>();
+      @Nullable private String emptyPathService;
+      @Nullable private String noPathService;
+
+      void add(@Nullable String path, String serviceName) {
+        if (path == null) {
+          if (noPathService == null) {
+            noPathService = serviceName;
+          }
+        } else if (path.isEmpty()) {
+          if (emptyPathService == null) {
+            emptyPathService = serviceName;
+          }
+        } else {
+          pathServices.putIfAbsent(path, serviceName);
         }
-        if (port != null) {
-          return port.equals(this.getPort());
+      }
+
+      PortMatchers build() {
+        List<String> paths = new ArrayList<>(pathServices.keySet());
+        paths.sort(comparingInt(String::length).reversed());
+        String[] services = new String[paths.size()];
+        for (int i = 0; i < services.length; i++) {
+          services[i] = pathServices.get(paths.get(i));
         }
+        return new PortMatchers(
+            paths.toArray(new String[0]), services, emptyPathService, noPathService);
       }
-      return true;
     }
   }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CallerLocatorTest {
+
+  @Test
+  void shouldFindCallerOfLogger() {
+    StackTraceElement caller = TestLogger.log();
+
+    assertThat(caller).isNotNull();
+    assertThat(caller.getClassName()).isEqualTo(CallerLocatorTest.class.getName());
+    assertThat(caller.getMethodName()).isEqualTo("shouldFindCallerOfLogger");
+    assertThat(caller.getFileName()).isEqualTo("CallerLocatorTest.java");
+    assertThat(caller.getLineNumber()).isPositive();
+  }
+
+  @Test
+  void shouldReturnNullWhenLoggerIsNotOnStack() {
+    assertThat(CallerLocator.findCaller("com.example.NotALogger")).isNull();
+  }
+
+  @Test
+  void shouldFindCallerInStackTrace() {
+    StackTraceElement[] stackTrace = {
+      new StackTraceElement("com.example.Appender", "append", "Appender.java", 1),
+      new StackTraceElement("com.example.Logger", "log", "Logger.java", 2),
+      new StackTraceElement("com.example.Logger", "info", "Logger.java", 3),
+      new StackTraceElement("com.example.App", "run", "App.java", 4),
+      new StackTraceElement("com.example.Main", "main", "Main.java", 5)
+    };
+
+    assertThat(CallerLocator.findCaller(stackTrace, "com.example.Logger"))
+        .isEqualTo(stackTrace[3]);
+    assertThat(CallerLocator.findCaller(stackTrace, "com.example.Other")).isNull();
+  }
+
+  static class TestLogger {
+    static StackTraceElement log() {
+      return CallerLocator.findCaller(TestLogger.class.getName());
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.log.internal;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.instrumentation.api.internal.SemconvStability;
+import io.opentelemetry.semconv.CodeAttributes;
+import io.opentelemetry.semconv.incubating.CodeIncubatingAttributes;
+import org.junit.jupiter.api.Test;
+
+class CodeLocationAttributesTest {
+
+  @SuppressWarnings("deprecation") // using deprecated semconv
+  @Test
+  void shouldExtractAllAttributes() {
+    Attributes attributes =
+        CodeLocationAttributes.get(
+            new StackTraceElement("com.example.Foo", "bar", "Foo.java", 42));
+
+    if (SemconvStability.isEmitStableCodeSemconv()) {
+      assertThat(attributes)
+          .containsEntry(CodeAttributes.CODE_FILE_PATH, "Foo.java")
+          .containsEntry(CodeAttributes.CODE_FUNCTION_NAME, "com.example.Foo.bar")
+          .containsEntry(CodeAttributes.CODE_LINE_NUMBER, 42L);
+    }
+    if (SemconvStability.isEmitOldCodeSemconv()) {
+      assertThat(attributes)
+          .containsEntry(CodeIncubatingAttributes.CODE_FILEPATH, "Foo.java")
+          .containsEntry(CodeIncubatingAttributes.CODE_NAMESPACE, "com.example.Foo")
+          .containsEntry(CodeIncubatingAttributes.CODE_FUNCTION, "bar")
+          .containsEntry(CodeIncubatingAttributes.CODE_LINENO, 42L);
+    }
+  }
+
+  @SuppressWarnings("deprecation") // using deprecated semconv
+  @Test
+  void shouldSkipUnknownFileAndLine() {
+    Attributes attributes =
+        CodeLocationAttributes.get(new StackTraceElement("com.example.Foo", "bar", null, -1));
+
+    assertThat(attributes)
+        .doesNotContainKey(CodeAttributes.CODE_FILE_PATH)
+        .doesNotContainKey(CodeAttributes.CODE_LINE_NUMBER)
+        .doesNotContainKey(CodeIncubatingAttributes.CODE_FILEPATH)
+        .doesNotContainKey(CodeIncubatingAttributes.CODE_LINENO);
+  }
+
+  @Test
+  void shouldReuseAttributesOfSameLocation() {
+    Attributes first =
+        CodeLocationAttributes.get(new StackTraceElement("com.example.Foo", "bar", "Foo.java", 7));
+    Attributes second =
+        CodeLocationAttributes.get(new StackTraceElement("com.example.Foo", "bar", "Foo.java", 7));
+
+    assertThat(second).isSameAs(first);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SqlStatementFingerprintTest {
+
+  @ParameterizedTest
+  @MethodSource("sameFingerprintArgs")
+  void sameFingerprint(String first, String second) {
+    String fingerprint = SqlStatementFingerprint.compute(first);
+    assertThat(fingerprint).isNotNull();
+    assertThat(SqlStatementFingerprint.compute(second)).isEqualTo(fingerprint);
+
+    // statements with the same fingerprint must be sanitized to the same result
+    SqlStatementInfo firstInfo = AutoSqlSanitizer.sanitize(first, SqlDialect.DEFAULT);
+    SqlStatementInfo secondInfo = AutoSqlSanitizer.sanitize(second, SqlDialect.DEFAULT);
+    assertThat(secondInfo).isEqualTo(firstInfo);
+  }
+
+  private static Stream<Arguments> sameFingerprintArgs() {
+    return Stream.of(
+        Arguments.of(
+            "SELECT * FROM TABLE WHERE FIELD = 1234", "SELECT * FROM TABLE WHERE FIELD = 5"),
+        Arguments.of(
+            "SELECT * FROM TABLE WHERE FIELD = 'abc'",
+            "SELECT * FROM TABLE WHERE FIELD = 'it''s'"),
+        Arguments.of("SELECT -1.2e-9 FROM t", "SELECT -3.0e+7 FROM t"),
+        Arguments.of("SELECT *  FROM\n\tt WHERE a = 1", "SELECT * FROM t WHERE a = 2"),
+        Arguments.of("SELECT * FROM t WHERE a IN (1, 2, 3)", "SELECT * FROM t WHERE a IN (4)"),
+        Arguments.of("SELECT * FROM t WHERE a IN ('a', 'b')", "SELECT * FROM t WHERE a IN (?)"),
+        Arguments.of("SELECT * FROM t WHERE a IN (\f1, 2)", "SELECT * FROM t WHERE a IN (3)"),
+        Arguments.of("SELECT * FROM \"t1\" WHERE a = 1", "SELECT * FROM \"t1\" WHERE a = 2"),
+        Arguments.of("SELECT * FROM `t1` WHERE a = 1", "SELECT * FROM `t1` WHERE a = 2"),
+        Arguments.of(
+            "SELECT * FROM t WHERE a = $1 AND b = 1", "SELECT * FROM t WHERE a = $1 AND b = 2"),
+        Arguments.of("SELECT * FROM t /* 1 */ WHERE a = 1", "SELECT * FROM t /* 2 */ WHERE a = 3"),
+        Arguments.of("INSERT INTO t VALUES (1, 'é')", "INSERT INTO t VALUES (2, 'e')"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("differentFingerprintArgs")
+  void differentFingerprint(String first, String second) {
+    assertThat(SqlStatementFingerprint.compute(second))
+        .isNotEqualTo(SqlStatementFingerprint.compute(first));
+  }
+
+  private static Stream<Arguments> differentFingerprintArgs() {
+    return Stream.of(
+        Arguments.of("SELECT * FROM table1", "SELECT * FROM table2"),
+        Arguments.of("SELECT * FROM t_1", "SELECT * FROM t_2"),
+        Arguments.of("SELECT * FROM \"t 1\"", "SELECT * FROM \"t 2\""),
+        Arguments.of("SELECT * FROM `t1`", "SELECT * FROM `t2`"),
+        Arguments.of("SELECT * FROM t WHERE a = $1", "SELECT * FROM t WHERE a = $2"),
+        // sign is part of the number, but not of the string literal
+        Arguments.of("SELECT * FROM t WHERE a = -1", "SELECT * FROM t WHERE a = -'1'"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "SELECT 0x123 FROM t",
+        "SELECT $$abc$$ FROM t",
+        "SELECT * FROM t WHERE a = 'unterminated",
+        "SELECT * FROM \"unterminated",
+        "SELECT * FROM `unterminated",
+        "SELECT * FROM tablé1"
+      })
+  void noFingerprint(String statement) {
+    assertThat(SqlStatementFingerprint.compute(statement)).isNull();
+  }
+
+  @Test
+  void fingerprintCacheShared() {
+    SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+    SqlStatementInfo first = sanitizer.sanitize("SELECT * FROM fingerprint_test WHERE a = 123");
+    SqlStatementInfo second = sanitizer.sanitize("SELECT * FROM fingerprint_test WHERE a = 456");
+    assertThat(second).isSameAs(first);
+  }
+}
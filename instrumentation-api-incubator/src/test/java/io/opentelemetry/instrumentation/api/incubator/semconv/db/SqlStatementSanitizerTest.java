@@ -157,13 +157,29 @@ class SqlStatementSanitizerTest {
     assertThat(sanitized).isEqualTo("select col from table where col in (?)");
   }
 
+  @Test
+  public void inStatementWithWhitespaceBeforeParameter() {
+    assertThat(AutoSqlSanitizer.normalizeInStatements("select col from t where col in (\t?,\n?)"))
+        .isEqualTo("select col from t where col in (?)");
+    assertThat(AutoSqlSanitizer.normalizeInStatements("select col from t where col in (\f?)"))
+        .isEqualTo("select col from t where col in (?)");
+    assertThat(
+            SqlStatementSanitizer.create(true)
+                .sanitize("select col from table where col in (\f1, 2)")
+                .getFullStatement())
+        .isEqualTo("select col from table where col in (?)");
+  }
+
   @Test
   public void largeStatementCached() {
-    // test that short statement is cached
+    // test that short statement is cached, once the cache is full only statements that are used
+    // repeatedly are added to it
     String shortStatement = "SELECT * FROM TABLE WHERE FIELD = 1234";
-    String sanitizedShort =
-        SqlStatementSanitizer.create(true).sanitize(shortStatement).getFullStatement();
-    assertThat(sanitizedShort).doesNotContain("1234");
+    for (int i = 0; i < 5; i++) {
+      String sanitizedShort =
+          SqlStatementSanitizer.create(true).sanitize(shortStatement).getFullStatement();
+      assertThat(sanitizedShort).doesNotContain("1234");
+    }
     assertThat(SqlStatementSanitizer.isCached(shortStatement)).isTrue();
 
     // test that large statement is not cached
@@ -6,7 +6,10 @@
 package io.opentelemetry.instrumentation.api.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
@@ -26,9 +29,15 @@ import org.openjdk.jmh.infra.Blackhole;
 public class CacheBenchmark {
 
   private static final Cache<Object, Object> weakCache = Cache.weak();
+  private static final Cache<Object, Object> weakStripedCache = Cache.weakStriped();
   private static final Cache<Object, Object> boundedLargeCache = Cache.bounded(10);
   private static final Cache<Object, Object> boundedSmallCache = Cache.bounded(1);
 
+  // key distributions for measuring hit rate, the caches are sized like the sql statement cache
+  private static final int KEY_SPACE = 100_000;
+  private static final int HIT_RATE_CAPACITY = 1000;
+  private static final Integer[] zipfianKeys = zipfianKeys(1 << 16, new Random(42));
+
   private String key;
   private String key2;
 
@@ -78,6 +87,45 @@ public class CacheBenchmark {
     blackhole.consume(weakCache.get(key2));
   }
 
+  @Benchmark
+  @Threads(1)
+  public void threads01_weakStriped(Blackhole blackhole) {
+    weakStripedCache.put(key, "foo");
+    blackhole.consume(weakStripedCache.get(key));
+    weakStripedCache.put(key2, "foo");
+    blackhole.consume(weakStripedCache.get(key2));
+    weakStripedCache.remove(key);
+    weakStripedCache.remove(key2);
+    blackhole.consume(weakStripedCache.get(key));
+    blackhole.consume(weakStripedCache.get(key2));
+  }
+
+  @Benchmark
+  @Threads(5)
+  public void threads05_weakStriped(Blackhole blackhole) {
+    weakStripedCache.put(key, "foo");
+    blackhole.consume(weakStripedCache.get(key));
+    weakStripedCache.put(key2, "foo");
+    blackhole.consume(weakStripedCache.get(key2));
+    weakStripedCache.remove(key);
+    weakStripedCache.remove(key2);
+    blackhole.consume(weakStripedCache.get(key));
+    blackhole.consume(weakStripedCache.get(key2));
+  }
+
+  @Benchmark
+  @Threads(10)
+  public void threads10_weakStriped(Blackhole blackhole) {
+    weakStripedCache.put(key, "foo");
+    blackhole.consume(weakStripedCache.get(key));
+    weakStripedCache.put(key2, "foo");
+    blackhole.consume(weakStripedCache.get(key2));
+    weakStripedCache.remove(key);
+    weakStripedCache.remove(key2);
+    blackhole.consume(weakStripedCache.get(key));
+    blackhole.consume(weakStripedCache.get(key2));
+  }
+
   @Benchmark
   @Threads(1)
   public void threads01_boundedLarge(Blackhole blackhole) {
@@ -155,4 +203,81 @@ public class CacheBenchmark {
     blackhole.consume(boundedSmallCache.get(key));
     blackhole.consume(boundedSmallCache.get(key2));
   }
+
+  @Benchmark
+  @Threads(1)
+  public Object zipfian_bounded(HitRate hitRate) {
+    return hitRate.next(hitRate.bounded, zipfianKeys);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object zipfian_boundedByFrequency(HitRate hitRate) {
+    return hitRate.next(hitRate.boundedByFrequency, zipfianKeys);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object scan_bounded(HitRate hitRate) {
+    return hitRate.nextScan(hitRate.bounded);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object scan_boundedByFrequency(HitRate hitRate) {
+    return hitRate.nextScan(hitRate.boundedByFrequency);
+  }
+
+  // hits and misses are reported next to the throughput, the hit rate is hits / (hits + misses)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class HitRate {
+    final Cache<Integer, Integer> bounded = Cache.bounded(HIT_RATE_CAPACITY);
+    final Cache<Integer, Integer> boundedByFrequency =
+        Cache.boundedByFrequency(HIT_RATE_CAPACITY);
+    private int index;
+    private int nextScanKey = KEY_SPACE;
+    public long hits;
+    public long misses;
+
+    Object next(Cache<Integer, Integer> cache, Integer[] keys) {
+      return get(cache, keys[index++ & (keys.length - 1)]);
+    }
+
+    // zipfian keys interleaved with runs of keys that are used only once
+    Object nextScan(Cache<Integer, Integer> cache) {
+      int position = Integer.remainderUnsigned(index++, 4 * HIT_RATE_CAPACITY);
+      if (position < 2 * HIT_RATE_CAPACITY) {
+        return get(cache, nextScanKey++);
+      }
+      return get(cache, zipfianKeys[index & (zipfianKeys.length - 1)]);
+    }
+
+    private Object get(Cache<Integer, Integer> cache, Integer key) {
+      Integer value = cache.get(key);
+      if (value != null) {
+        hits++;
+        return value;
+      }
+      misses++;
+      cache.put(key, key);
+      return key;
+    }
+  }
+
+  // keys following a zipfian distribution, key 0 is the most frequent one
+  private static Integer[] zipfianKeys(int count, Random random) {
+    double[] cumulative = new double[KEY_SPACE];
+    double sum = 0;
+    for (int i = 0; i < KEY_SPACE; i++) {
+      sum += 1 / Math.pow(i + 1, 0.99);
+      cumulative[i] = sum;
+    }
+    Integer[] keys = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+      keys[i] = index >= 0 ? index : -index - 1;
+    }
+    return keys;
+  }
 }
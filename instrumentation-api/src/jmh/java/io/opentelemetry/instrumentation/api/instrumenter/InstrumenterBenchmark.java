@@ -10,6 +10,9 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesExtractor;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesGetter;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.List;
@@ -44,6 +47,26 @@ public class InstrumenterBenchmark {
               HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
           .buildInstrumenter();
 
+  private static final Instrumenter<Object, Void> SAMPLED_INSTRUMENTER =
+      createSdkInstrumenter(Sampler.alwaysOn());
+
+  private static final Instrumenter<Object, Void> UNSAMPLED_INSTRUMENTER =
+      createSdkInstrumenter(Sampler.alwaysOff());
+
+  private static Instrumenter<Object, Void> createSdkInstrumenter(Sampler sampler) {
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(SdkTracerProvider.builder().setSampler(sampler).build())
+            .build();
+    return Instrumenter.<Object, Void>builder(
+            openTelemetry,
+            "benchmark",
+            HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+        .addAttributesExtractor(
+            HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+        .buildInstrumenter();
+  }
+
   @Benchmark
   public Context start() {
     return INSTRUMENTER.start(Context.root(), REQUEST);
@@ -56,6 +79,20 @@ public class InstrumenterBenchmark {
     return context;
   }
 
+  @Benchmark
+  public Context startEndSampled() {
+    Context context = SAMPLED_INSTRUMENTER.start(Context.root(), REQUEST);
+    SAMPLED_INSTRUMENTER.end(context, REQUEST, null, null);
+    return context;
+  }
+
+  @Benchmark
+  public Context startEndUnsampled() {
+    Context context = UNSAMPLED_INSTRUMENTER.start(Context.root(), REQUEST);
+    UNSAMPLED_INSTRUMENTER.end(context, REQUEST, null, null);
+    return context;
+  }
+
   enum ConstantHttpAttributesGetter implements HttpClientAttributesGetter<Object, Void> {
     INSTANCE;
 
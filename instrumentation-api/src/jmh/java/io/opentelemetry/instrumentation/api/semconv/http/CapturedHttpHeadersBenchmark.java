@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class CapturedHttpHeadersBenchmark {
+
+  // every other captured header is present in the request and response
+  private static final Map<String, List<String>> HEADERS = new HashMap<>();
+
+  static {
+    for (int i = 0; i < 20; i += 2) {
+      HEADERS.put("x-header-" + i, Collections.singletonList("value-" + i));
+    }
+  }
+
+  @Param({"0", "5", "20"})
+  int capturedHeaders;
+
+  private AttributesExtractor<Map<String, List<String>>, Map<String, List<String>>> extractor;
+
+  @Setup
+  public void setUp() {
+    List<String> headers = new ArrayList<>();
+    for (int i = 0; i < capturedHeaders; i++) {
+      headers.add("X-Header-" + i);
+    }
+    extractor =
+        HttpServerAttributesExtractor.builder(MapHttpServerAttributesGetter.INSTANCE)
+            .setCapturedRequestHeaders(headers)
+            .setCapturedResponseHeaders(headers)
+            .build();
+  }
+
+  @Benchmark
+  public AttributesBuilder startEnd() {
+    AttributesBuilder attributes = Attributes.builder();
+    extractor.onStart(attributes, Context.root(), HEADERS);
+    extractor.onEnd(attributes, Context.root(), HEADERS, HEADERS, null);
+    return attributes;
+  }
+
+  enum MapHttpServerAttributesGetter
+      implements HttpServerAttributesGetter<Map<String, List<String>>, Map<String, List<String>>> {
+    INSTANCE;
+
+    @Override
+    public String getHttpRequestMethod(Map<String, List<String>> request) {
+      return "GET";
+    }
+
+    @Override
+    public List<String> getHttpRequestHeader(Map<String, List<String>> request, String name) {
+      return request.getOrDefault(name, Collections.emptyList());
+    }
+
+    @Override
+    public Integer getHttpResponseStatusCode(
+        Map<String, List<String>> request,
+        Map<String, List<String>> response,
+        @Nullable Throwable error) {
+      return 200;
+    }
+
+    @Override
+    public List<String> getHttpResponseHeader(
+        Map<String, List<String>> request, Map<String, List<String>> response, String name) {
+      return response.getOrDefault(name, Collections.emptyList());
+    }
+
+    @Override
+    public String getUrlScheme(Map<String, List<String>> request) {
+      return "https";
+    }
+
+    @Override
+    public String getUrlPath(Map<String, List<String>> request) {
+      return "/benchmark";
+    }
+
+    @Nullable
+    @Override
+    public String getUrlQuery(Map<String, List<String>> request) {
+      return null;
+    }
+  }
+}
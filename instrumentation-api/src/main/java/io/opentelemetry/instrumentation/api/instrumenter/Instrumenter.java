@@ -83,6 +83,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private final ErrorCauseExtractor errorCauseExtractor;
   private final boolean propagateOperationListenersToOnEnd;
   private final boolean enabled;
+  private final boolean skipNonRecordingSpanEnd;
   private final SpanSuppressor spanSuppressor;
 
   // to allow converting generic lists to arrays with toArray
@@ -102,6 +103,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.propagateOperationListenersToOnEnd = builder.propagateOperationListenersToOnEnd;
     this.enabled = builder.enabled;
+    this.skipNonRecordingSpanEnd = builder.shouldSkipNonRecordingSpanEnd();
     this.spanSuppressor = builder.buildSpanSuppressor();
   }
 
@@ -186,9 +188,11 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
 
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    if (spanLinksExtractors.length != 0) {
+      SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
+      for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
+        spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+      }
     }
 
     UnsafeAttributes attributes = new UnsafeAttributes();
@@ -207,7 +211,9 @@ public class Instrumenter<REQUEST, RESPONSE> {
     boolean localRoot = LocalRootSpan.isLocalRoot(parentContext);
     boolean hasLocalRoot = LocalRootSpan.fromContextOrNull(context) != null;
 
-    spanBuilder.setAllAttributes(attributes);
+    if (!attributes.isEmpty()) {
+      spanBuilder.setAllAttributes(attributes);
+    }
     Span span = spanBuilder.setParent(context).startSpan();
     context = context.with(span);
 
@@ -257,6 +263,19 @@ public class Instrumenter<REQUEST, RESPONSE> {
       @Nullable Instant endTime) {
     Span span = Span.fromContext(context);
 
+    OperationListener[] operationListeners = context.get(START_OPERATION_LISTENERS);
+    if (operationListeners == null) {
+      operationListeners = this.operationListeners;
+    }
+
+    // the sampler has already decided to drop this span, anything that is extracted here would only
+    // be discarded unless there are operation listeners (e.g. metrics) that need the attributes
+    boolean skipSpanData = skipNonRecordingSpanEnd && !span.isRecording();
+    if (skipSpanData && operationListeners.length == 0) {
+      endSpan(span, endTime);
+      return;
+    }
+
     if (error != null) {
       error = errorCauseExtractor.extract(error);
       span.recordException(error);
@@ -266,12 +285,10 @@ public class Instrumenter<REQUEST, RESPONSE> {
     for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
       extractor.onEnd(attributes, context, request, response, error);
     }
-    span.setAllAttributes(attributes);
-
-    OperationListener[] operationListeners = context.get(START_OPERATION_LISTENERS);
-    if (operationListeners == null) {
-      operationListeners = this.operationListeners;
+    if (!attributes.isEmpty()) {
+      span.setAllAttributes(attributes);
     }
+
     if (operationListeners.length != 0) {
       if (operationListenerAttributesExtractors.length != 0) {
         UnsafeAttributes operationAttributes = new UnsafeAttributes();
@@ -289,9 +306,15 @@ public class Instrumenter<REQUEST, RESPONSE> {
       }
     }
 
-    SpanStatusBuilder spanStatusBuilder = new SpanStatusBuilderImpl(span);
-    spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
+    if (!skipSpanData) {
+      SpanStatusBuilder spanStatusBuilder = new SpanStatusBuilderImpl(span);
+      spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
+    }
+
+    endSpan(span, endTime);
+  }
 
+  private static void endSpan(Span span, @Nullable Instant endTime) {
     if (endTime != null) {
       span.end(endTime);
     } else {
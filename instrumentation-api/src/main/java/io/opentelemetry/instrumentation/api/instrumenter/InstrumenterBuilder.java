@@ -378,24 +378,37 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
 
   @Nullable
   private String getSpanSuppressionStrategy() {
+    String experimentalOverride =
+        ConfigPropertiesUtil.getString(
+            "otel.instrumentation.experimental.span-suppression-strategy");
+    String result =
+        getCommonConfig()
+            .getString(
+                "span_suppression_strategy/development",
+                experimentalOverride == null ? "" : experimentalOverride);
+    return result.isEmpty() ? null : result;
+  }
+
+  boolean shouldSkipNonRecordingSpanEnd() {
+    return getCommonConfig()
+        .getBoolean(
+            "skip_non_recording_span_end/development",
+            ConfigPropertiesUtil.getBoolean(
+                "otel.instrumentation.experimental.skip-non-recording-span-end", false));
+  }
+
+  private DeclarativeConfigProperties getCommonConfig() {
     // we cannot use DeclarativeConfigUtil here because it's not available in instrumentation-api
-    DeclarativeConfigProperties commonConfig = empty();
     if (openTelemetry instanceof ExtendedOpenTelemetry) {
       DeclarativeConfigProperties instrumentationConfig =
           ((ExtendedOpenTelemetry) openTelemetry).getConfigProvider().getInstrumentationConfig();
       if (instrumentationConfig != null) {
-        commonConfig =
-            instrumentationConfig.getStructured("java", empty()).getStructured("common", empty());
+        return instrumentationConfig
+            .getStructured("java", empty())
+            .getStructured("common", empty());
       }
     }
-    String experimentalOverride =
-        ConfigPropertiesUtil.getString(
-            "otel.instrumentation.experimental.span-suppression-strategy");
-    String result =
-        commonConfig.getString(
-            "span_suppression_strategy/development",
-            experimentalOverride == null ? "" : experimentalOverride);
-    return result.isEmpty() ? null : result;
+    return empty();
   }
 
   private Set<SpanKey> getSpanKeysFromAttributesExtractors() {
@@ -63,7 +63,7 @@ public final class RuntimeVirtualFieldSupplier {
   }
 
   private static final class CacheBasedVirtualField<T, F> extends VirtualField<T, F> {
-    private final Cache<T, F> cache = Cache.weak();
+    private final Cache<T, F> cache = Cache.weakStriped();
 
     @Override
     @Nullable
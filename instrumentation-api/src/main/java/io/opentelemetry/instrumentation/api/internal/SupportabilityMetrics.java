@@ -5,14 +5,21 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.SpanKind;
 import java.security.PrivilegedAction;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
@@ -22,15 +29,26 @@ import java.util.logging.Logger;
  */
 public final class SupportabilityMetrics {
   private static final Logger logger = Logger.getLogger(SupportabilityMetrics.class.getName());
+
+  private static final AttributeKey<String> INSTRUMENTATION_NAME = stringKey("instrumentation.name");
+  private static final AttributeKey<String> SPAN_KIND = stringKey("span.kind");
+  private static final AttributeKey<String> COUNTER_NAME = stringKey("counter.name");
+
   private final boolean agentDebugEnabled;
+  // initialized from the system properties, the agent enables it from its configuration before
+  // installing the instrumentations
+  private volatile boolean metricsEnabled;
   private final Consumer<String> reporter;
 
   private final ConcurrentMap<String, KindCounters> suppressionCounters = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
 
   private static final SupportabilityMetrics INSTANCE =
       new SupportabilityMetrics(
-              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false), logger::fine)
+              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false),
+              ConfigPropertiesUtil.getBoolean(
+                  "otel.javaagent.experimental.supportability-metrics.enabled", false),
+              logger::fine)
           .start();
 
   public static SupportabilityMetrics instance() {
@@ -39,26 +57,93 @@ public final class SupportabilityMetrics {
 
   // visible for testing
   SupportabilityMetrics(boolean agentDebugEnabled, Consumer<String> reporter) {
+    this(agentDebugEnabled, false, reporter);
+  }
+
+  // visible for testing
+  SupportabilityMetrics(
+      boolean agentDebugEnabled, boolean metricsEnabled, Consumer<String> reporter) {
     this.agentDebugEnabled = agentDebugEnabled;
+    this.metricsEnabled = metricsEnabled;
     this.reporter = reporter;
   }
 
+  /**
+   * Returns whether supportability counters are recorded, callers can check this to skip work that
+   * is only needed for computing counter names.
+   */
+  public boolean isEnabled() {
+    return agentDebugEnabled || metricsEnabled;
+  }
+
   public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
-    if (!agentDebugEnabled) {
+    if (!isEnabled()) {
       return;
     }
 
-    suppressionCounters
-        .computeIfAbsent(instrumentationName, s -> new KindCounters())
-        .increment(kind);
+    // plain get() first, computeIfAbsent() locks on java 8 even when the key is present
+    KindCounters kindCounters = suppressionCounters.get(instrumentationName);
+    if (kindCounters == null) {
+      kindCounters =
+          suppressionCounters.computeIfAbsent(instrumentationName, s -> new KindCounters());
+    }
+    kindCounters.increment(kind);
   }
 
   public void incrementCounter(String counterName) {
-    if (!agentDebugEnabled) {
+    if (!isEnabled()) {
+      return;
+    }
+
+    Counter counter = counters.get(counterName);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(counterName, k -> new Counter());
+    }
+    counter.increment();
+  }
+
+  /**
+   * Exports the supportability counters as metrics through the given {@link OpenTelemetry}
+   * instance, when {@code enabled}, i.e. when {@code
+   * otel.javaagent.experimental.supportability-metrics.enabled} is set in the agent configuration.
+   */
+  public void registerMetrics(OpenTelemetry openTelemetry, boolean enabled) {
+    if (!enabled) {
       return;
     }
+    metricsEnabled = true;
 
-    counters.computeIfAbsent(counterName, k -> new AtomicLong()).incrementAndGet();
+    Meter meter = openTelemetry.getMeter("io.opentelemetry.javaagent");
+    meter
+        .counterBuilder("otel.agent.suppressed_spans")
+        .setUnit("{span}")
+        .setDescription("Number of spans that were suppressed by the agent.")
+        .buildWithCallback(
+            measurement ->
+                suppressionCounters.forEach(
+                    (instrumentationName, countsByKind) -> {
+                      for (SpanKind kind : SpanKind.values()) {
+                        long value = countsByKind.sum(kind);
+                        if (value > 0) {
+                          measurement.record(
+                              value,
+                              Attributes.of(
+                                  INSTRUMENTATION_NAME,
+                                  instrumentationName,
+                                  SPAN_KIND,
+                                  kind.name().toLowerCase(Locale.ROOT)));
+                        }
+                      }
+                    }));
+    meter
+        .counterBuilder("otel.agent.counter")
+        .setDescription("Agent internal events, e.g. cache misses.")
+        .buildWithCallback(
+            measurement ->
+                counters.forEach(
+                    (counterName, counter) ->
+                        measurement.record(
+                            counter.sum(), Attributes.of(COUNTER_NAME, counterName))));
   }
 
   // visible for testing
@@ -66,7 +151,7 @@ public final class SupportabilityMetrics {
     suppressionCounters.forEach(
         (instrumentationName, countsByKind) -> {
           for (SpanKind kind : SpanKind.values()) {
-            long value = countsByKind.getAndReset(kind);
+            long value = countsByKind.sinceLastReport(kind);
             if (value > 0) {
               reporter.accept(
                   "Suppressed Spans by '" + instrumentationName + "' (" + kind + ") : " + value);
@@ -75,7 +160,7 @@ public final class SupportabilityMetrics {
         });
     counters.forEach(
         (counterName, counter) -> {
-          long value = counter.getAndSet(0);
+          long value = counter.sinceLastReport();
           if (value > 0) {
             reporter.accept("Counter '" + counterName + "' : " + value);
           }
@@ -124,52 +209,56 @@ public final class SupportabilityMetrics {
   public static final class CounterNames {
     public static final String SQL_STATEMENT_SANITIZER_CACHE_MISS =
         "SqlStatementSanitizer cache miss";
+    public static final String SQL_STATEMENT_SANITIZER_FINGERPRINT_CACHE_HIT =
+        "SqlStatementSanitizer fingerprint cache hit";
+    public static final String MUZZLE_MISMATCH = "Muzzle mismatch";
 
     private CounterNames() {}
   }
 
+  // cumulative count, exported metrics are cumulative while the debug log reports the increase
+  // since the previous report
+  private static class Counter {
+    private final LongAdder count = new LongAdder();
+    // only accessed from the reporter thread
+    private long lastReported;
+
+    void increment() {
+      count.increment();
+    }
+
+    long sum() {
+      return count.sum();
+    }
+
+    long sinceLastReport() {
+      long sum = count.sum();
+      long value = sum - lastReported;
+      lastReported = sum;
+      return value;
+    }
+  }
+
   // this class is threadsafe.
   private static class KindCounters {
-    private final AtomicLong server = new AtomicLong();
-    private final AtomicLong client = new AtomicLong();
-    private final AtomicLong internal = new AtomicLong();
-    private final AtomicLong consumer = new AtomicLong();
-    private final AtomicLong producer = new AtomicLong();
+    private final Counter[] counters = new Counter[SpanKind.values().length];
 
-    void increment(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          internal.incrementAndGet();
-          break;
-        case SERVER:
-          server.incrementAndGet();
-          break;
-        case CLIENT:
-          client.incrementAndGet();
-          break;
-        case PRODUCER:
-          producer.incrementAndGet();
-          break;
-        case CONSUMER:
-          consumer.incrementAndGet();
-          break;
+    KindCounters() {
+      for (int i = 0; i < counters.length; i++) {
+        counters[i] = new Counter();
       }
     }
 
-    long getAndReset(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          return internal.getAndSet(0);
-        case SERVER:
-          return server.getAndSet(0);
-        case CLIENT:
-          return client.getAndSet(0);
-        case PRODUCER:
-          return producer.getAndSet(0);
-        case CONSUMER:
-          return consumer.getAndSet(0);
-      }
-      return 0;
+    void increment(SpanKind kind) {
+      counters[kind.ordinal()].increment();
+    }
+
+    long sum(SpanKind kind) {
+      return counters[kind.ordinal()].sum();
+    }
+
+    long sinceLastReport(SpanKind kind) {
+      return counters[kind.ordinal()].sinceLastReport();
     }
   }
 }
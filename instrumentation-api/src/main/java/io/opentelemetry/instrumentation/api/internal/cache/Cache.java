@@ -6,6 +6,8 @@
 package io.opentelemetry.instrumentation.api.internal.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.EntryWeigher;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.Weighers;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 
@@ -27,6 +29,18 @@ public interface Cache<K, V> {
     return new WeakLockFreeCache<>();
   }
 
+  /**
+   * Returns new unbounded cache that is optimized for keys that are written about as often as they
+   * are read, e.g. objects that are stored in a virtual field fallback map.
+   *
+   * <p>Keys are referenced weakly and compared using identity comparison, not {@link
+   * Object#equals(Object)}. Unlike {@link #weak()}, entries whose keys were garbage collected are
+   * removed by the threads writing to the cache.
+   */
+  static <K, V> Cache<K, V> weakStriped() {
+    return new StripedWeakCache<>();
+  }
+
   /**
    * Returns new bounded cache.
    *
@@ -38,6 +52,30 @@ public interface Cache<K, V> {
     return new MapBackedCache<>(map);
   }
 
+  /**
+   * Returns new bounded cache that, once full, only admits new entries that are used more often
+   * than the entries they would replace. Prefer this over {@link #bounded(int)} for caches that see
+   * many keys that are used only once, e.g. generated SQL statements.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> boundedByFrequency(int capacity) {
+    return boundedByFrequency(capacity, Weighers.entrySingleton());
+  }
+
+  /**
+   * Returns new bounded cache that, once full, only admits new entries that are used more often
+   * than the entries they would replace. The cache holds entries up to a total weight of {@code
+   * maximumWeight} as determined by the {@code weigher}, e.g. the length of cached strings, so that
+   * a few large entries can't use up much more memory than expected.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> boundedByFrequency(
+      long maximumWeight, EntryWeigher<? super K, ? super V> weigher) {
+    return new FrequencyBoundedCache<>(maximumWeight, weigher);
+  }
+
   /**
    * Returns the cached value associated with the provided {@code key}. If no value is cached yet,
    * computes the value using {@code mappingFunction}, stores the result, and returns it.
@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.EntryWeigher;
+import java.util.Map;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache that only admits a new entry when that would require evicting existing entries if
+ * the new key was accessed more often recently than all the entries that would be evicted (TinyLFU
+ * admission). This keeps frequently used entries cached when the cache is flooded with keys that
+ * are seen only once.
+ */
+final class FrequencyBoundedCache<K, V> implements Cache<K, V> {
+
+  private final ConcurrentLinkedHashMap<K, V> delegate;
+  private final EntryWeigher<? super K, ? super V> weigher;
+  private final FrequencySketch sketch;
+
+  FrequencyBoundedCache(long maximumWeight, EntryWeigher<? super K, ? super V> weigher) {
+    this.delegate =
+        new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(maximumWeight)
+            .weigher(weigher)
+            .build();
+    this.weigher = weigher;
+    this.sketch = new FrequencySketch(maximumWeight);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Unlike the other caches the {@code mappingFunction} may be called concurrently for the same
+   * key, and its result may not be stored when it isn't admitted to the cache.
+   */
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    sketch.increment(key);
+    V value = delegate.get(key);
+    if (value != null) {
+      return value;
+    }
+    value = mappingFunction.apply(key);
+    if (value == null || !admit(key, value)) {
+      return value;
+    }
+    V previous = delegate.putIfAbsent(key, value);
+    return previous != null ? previous : value;
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    sketch.increment(key);
+    return delegate.get(key);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    if (delegate.containsKey(key) || admit(key, value)) {
+      delegate.put(key, value);
+    }
+  }
+
+  @Override
+  public void remove(K key) {
+    delegate.remove(key);
+  }
+
+  private boolean admit(K key, V value) {
+    long weight = weigher.weightOf(key, value);
+    long capacity = delegate.capacity();
+    if (weight > capacity) {
+      return false;
+    }
+    long excess = delegate.weightedSize() + weight - capacity;
+    if (excess <= 0) {
+      return true;
+    }
+    // a key that was seen only once recently is most likely not used again, reject it without
+    // looking up the eviction candidates, which requires a lock
+    int frequency = sketch.frequency(key);
+    if (frequency <= 1) {
+      return false;
+    }
+    // every entry weighs at least 1, so at most excess entries need to be evicted to make room for
+    // the new entry, it is only admitted when it was used more often than all of them
+    int limit = (int) Math.min(excess, Integer.MAX_VALUE);
+    long evictedWeight = 0;
+    for (Map.Entry<K, V> candidate : delegate.ascendingMapWithLimit(limit).entrySet()) {
+      if (frequency <= sketch.frequency(candidate.getKey())) {
+        return false;
+      }
+      evictedWeight += weigher.weightOf(candidate.getKey(), candidate.getValue());
+      if (evictedWeight >= excess) {
+        break;
+      }
+    }
+    return true;
+  }
+
+  // Visible for tests
+  int size() {
+    return delegate.size();
+  }
+}
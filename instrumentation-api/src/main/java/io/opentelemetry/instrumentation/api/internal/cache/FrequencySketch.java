@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+/**
+ * A probabilistic estimate of how often keys were accessed recently, used by {@link
+ * FrequencyBoundedCache} to decide whether a new entry is worth evicting an existing one.
+ *
+ * <p>This is a count-min sketch with 4-bit counters (16 counters per {@code long}). Each key maps
+ * to four counters and its frequency is the minimum of those. To make the sketch reflect recent
+ * usage all counters are halved once the number of recorded accesses reaches a sample size
+ * proportional to the table size.
+ *
+ * <p>The sketch is not synchronized: concurrent updates may be lost, which only makes the estimate
+ * less precise and is much cheaper than synchronizing every cache read.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+  private static final int MIN_TABLE_SIZE = 16;
+  private static final int MAX_TABLE_SIZE = 1 << 12;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int size;
+
+  FrequencySketch(long expectedSize) {
+    int tableSize = tableSizeFor(expectedSize);
+    table = new long[tableSize];
+    tableMask = tableSize - 1;
+    sampleSize = 10 * tableSize;
+  }
+
+  private static int tableSizeFor(long expectedSize) {
+    if (expectedSize >= MAX_TABLE_SIZE) {
+      return MAX_TABLE_SIZE;
+    }
+    int size = MIN_TABLE_SIZE;
+    while (size < expectedSize) {
+      size <<= 1;
+    }
+    return size;
+  }
+
+  /** Returns the estimated number of times {@code key} was accessed recently, at most 15. */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    // the low bits of the hash select which group of 4 counters in each long is used
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /** Records an access of {@code key}. */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++size >= sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    long value = table[index];
+    if ((value & mask) != mask) {
+      table[index] = value + (1L << offset);
+      return true;
+    }
+    return false;
+  }
+
+  // halves all counters
+  private void reset() {
+    int oddCounters = 0;
+    for (int i = 0; i < table.length; i++) {
+      oddCounters += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (oddCounters >>> 2);
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x9e3779b9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A cache with weak keys compared by identity, built for keys that are written about as often as
+ * they are read, like the objects that a {@code VirtualField} is attached to when a real field
+ * couldn't be injected.
+ *
+ * <p>Keys are spread over a fixed number of stripes, each one an open addressing hash table with
+ * linear probing. Reads don't lock and don't allocate, writes lock only their stripe. Every stripe
+ * has its own reference queue that is drained by the threads that use the stripe, so this cache
+ * doesn't need the background cleaner thread that {@link WeakLockFreeCache} relies on. Readers
+ * only take the lock of a stripe when one of its keys was collected.
+ */
+final class StripedWeakCache<K, V> implements Cache<K, V> {
+
+  private static final int MAX_STRIPES = 64;
+  private static final int MIN_TABLE_SIZE = 16;
+
+  // marks a slot whose entry was removed, lookups have to keep probing past it
+  private static final Object TOMBSTONE = new Object();
+
+  private final Stripe<K, V>[] stripes;
+  private final int stripeShift;
+
+  StripedWeakCache() {
+    this(stripeCount());
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"}) // generic array creation
+  StripedWeakCache(int stripeCount) {
+    int count = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, MAX_STRIPES)));
+    stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe<>();
+    }
+    // stripes are picked by the high bits of the hash, table slots by the low bits
+    stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+  }
+
+  private static int stripeCount() {
+    return Runtime.getRuntime().availableProcessors() * 4;
+  }
+
+  private static int hash(Object key) {
+    // a null key would match the entries whose key was already collected
+    requireNonNull(key);
+    // spread the identity hash so that both its high and its low bits are usable
+    return System.identityHashCode(key) * 0x9E3779B9;
+  }
+
+  private Stripe<K, V> stripeFor(int hash) {
+    // shifting an int by 32 is a no-op, which would break the single stripe case
+    return stripeShift == 32 ? stripes[0] : stripes[hash >>> stripeShift];
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    int hash = hash(key);
+    Stripe<K, V> stripe = stripeFor(hash);
+    V value = stripe.get(key, hash);
+    if (value != null) {
+      return value;
+    }
+    return stripe.computeIfAbsent(key, hash, mappingFunction);
+  }
+
+  @Override
+  @Nullable
+  public V get(K key) {
+    int hash = hash(key);
+    return stripeFor(hash).get(key, hash);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    requireNonNull(value);
+    int hash = hash(key);
+    stripeFor(hash).put(key, hash, value);
+  }
+
+  @Override
+  public void remove(K key) {
+    int hash = hash(key);
+    stripeFor(hash).remove(key, hash);
+  }
+
+  // Visible for testing
+  int size() {
+    int size = 0;
+    for (Stripe<K, V> stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  private static final class Entry<K, V> extends WeakReference<K> {
+    final int hash;
+    @Nullable volatile V value;
+
+    Entry(K key, int hash, V value, ReferenceQueue<? super K> queue) {
+      super(key, queue);
+      this.hash = hash;
+      this.value = value;
+    }
+  }
+
+  private static final class Stripe<K, V> {
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+    // slots hold null, TOMBSTONE or an Entry; the table is only modified while holding the lock
+    // and is replaced as a whole when it is resized, so readers always see a consistent table
+    private volatile AtomicReferenceArray<Object> table =
+        new AtomicReferenceArray<>(MIN_TABLE_SIZE);
+    // number of entries in the table, including the ones whose key was already collected
+    private int size;
+    // number of non-null slots, i.e. entries and tombstones
+    private int used;
+
+    @Nullable
+    V get(K key, int hash) {
+      // polling an empty queue doesn't lock, so this only costs a lock once a key was collected
+      Reference<? extends K> stale = queue.poll();
+      if (stale != null) {
+        synchronized (this) {
+          expunge(stale);
+          expungeStaleEntries();
+        }
+      }
+      AtomicReferenceArray<Object> table = this.table;
+      int mask = table.length() - 1;
+      // the table is never more than half full, so this always finds a null slot eventually
+      for (int i = hash & mask; ; i = (i + 1) & mask) {
+        Object slot = table.get(i);
+        if (slot == null) {
+          return null;
+        }
+        if (slot != TOMBSTONE) {
+          Entry<?, ?> entry = (Entry<?, ?>) slot;
+          if (entry.hash == hash && entry.get() == key) {
+            @SuppressWarnings("unchecked") // only entries of this stripe are in the table
+            V value = (V) entry.value;
+            return value;
+          }
+        }
+      }
+    }
+
+    synchronized V computeIfAbsent(
+        K key, int hash, Function<? super K, ? extends V> mappingFunction) {
+      expungeStaleEntries();
+      Entry<K, V> entry = find(key, hash);
+      if (entry != null) {
+        V value = entry.value;
+        if (value != null) {
+          return value;
+        }
+      }
+      V value = mappingFunction.apply(key);
+      // like ConcurrentHashMap, nothing is recorded when the function doesn't produce a value
+      if (value != null) {
+        if (entry != null) {
+          entry.value = value;
+        } else {
+          insert(key, hash, value);
+        }
+      }
+      return value;
+    }
+
+    synchronized void put(K key, int hash, V value) {
+      expungeStaleEntries();
+      Entry<K, V> entry = find(key, hash);
+      if (entry != null) {
+        entry.value = value;
+      } else {
+        insert(key, hash, value);
+      }
+    }
+
+    synchronized void remove(K key, int hash) {
+      expungeStaleEntries();
+      AtomicReferenceArray<Object> table = this.table;
+      int index = indexOf(table, key, hash);
+      if (index != -1) {
+        removeAt(table, index);
+      }
+    }
+
+    synchronized int size() {
+      expungeStaleEntries();
+      return size;
+    }
+
+    @Nullable
+    private Entry<K, V> find(K key, int hash) {
+      AtomicReferenceArray<Object> table = this.table;
+      int index = indexOf(table, key, hash);
+      if (index == -1) {
+        return null;
+      }
+      @SuppressWarnings("unchecked") // only entries of this stripe are in the table
+      Entry<K, V> entry = (Entry<K, V>) table.get(index);
+      return entry;
+    }
+
+    private static int indexOf(AtomicReferenceArray<Object> table, Object key, int hash) {
+      int mask = table.length() - 1;
+      for (int i = hash & mask; ; i = (i + 1) & mask) {
+        Object slot = table.get(i);
+        if (slot == null) {
+          return -1;
+        }
+        if (slot != TOMBSTONE) {
+          Entry<?, ?> entry = (Entry<?, ?>) slot;
+          if (entry.hash == hash && entry.get() == key) {
+            return i;
+          }
+        }
+      }
+    }
+
+    private void insert(K key, int hash, V value) {
+      AtomicReferenceArray<Object> table = this.table;
+      if ((used + 1) * 2 > table.length()) {
+        table = resize();
+      }
+      int mask = table.length() - 1;
+      int index = hash & mask;
+      // reuse the first tombstone on the probe path, the key is known not to be in the table
+      while (true) {
+        Object slot = table.get(index);
+        if (slot == TOMBSTONE) {
+          break;
+        }
+        if (slot == null) {
+          used++;
+          break;
+        }
+        index = (index + 1) & mask;
+      }
+      table.set(index, new Entry<>(key, hash, value, queue));
+      size++;
+    }
+
+    private void removeAt(AtomicReferenceArray<Object> table, int index) {
+      Entry<?, ?> entry = (Entry<?, ?>) table.get(index);
+      // readers that still probe a previous table share this entry, so they see the removal too
+      entry.value = null;
+      // explicitly cleared entries are not enqueued anymore
+      entry.clear();
+      table.set(index, TOMBSTONE);
+      size--;
+    }
+
+    private void expungeStaleEntries() {
+      Reference<? extends K> reference;
+      while ((reference = queue.poll()) != null) {
+        expunge(reference);
+      }
+    }
+
+    private void expunge(Reference<? extends K> reference) {
+      Entry<?, ?> stale = (Entry<?, ?>) reference;
+      AtomicReferenceArray<Object> table = this.table;
+      int mask = table.length() - 1;
+      // the entry may already be gone if the table was resized since its key was collected
+      for (int i = stale.hash & mask; ; i = (i + 1) & mask) {
+        Object slot = table.get(i);
+        if (slot == null) {
+          return;
+        }
+        if (slot == stale) {
+          removeAt(table, i);
+          return;
+        }
+      }
+    }
+
+    private AtomicReferenceArray<Object> resize() {
+      AtomicReferenceArray<Object> oldTable = this.table;
+      int live = 0;
+      for (int i = 0; i < oldTable.length(); i++) {
+        Object slot = oldTable.get(i);
+        if (slot != null && slot != TOMBSTONE && ((Entry<?, ?>) slot).get() != null) {
+          live++;
+        }
+      }
+      // keep the table at most a quarter full after resizing, this also shrinks the table when
+      // most of its slots were taken by tombstones and collected keys
+      int capacity = MIN_TABLE_SIZE;
+      while (capacity < (live + 1) * 4) {
+        capacity <<= 1;
+      }
+      AtomicReferenceArray<Object> newTable = new AtomicReferenceArray<>(capacity);
+      int mask = capacity - 1;
+      for (int i = 0; i < oldTable.length(); i++) {
+        Object slot = oldTable.get(i);
+        if (slot == null || slot == TOMBSTONE) {
+          continue;
+        }
+        Entry<?, ?> entry = (Entry<?, ?>) slot;
+        if (entry.get() == null) {
+          // will be skipped by expungeStaleEntries() when it is dequeued
+          entry.value = null;
+          continue;
+        }
+        int index = entry.hash & mask;
+        while (newTable.get(index) != null) {
+          index = (index + 1) & mask;
+        }
+        newTable.set(index, entry);
+      }
+      size = live;
+      used = live;
+      this.table = newTable;
+      return newTable;
+    }
+  }
+}
@@ -37,6 +37,27 @@ final class CapturedHttpHeadersUtil {
     return responseKeysCache.computeIfAbsent(headerName, n -> createKey("response", n));
   }
 
+  static AttributeKey<List<String>>[] requestAttributeKeys(String[] headerNames) {
+    AttributeKey<List<String>>[] keys = newKeyArray(headerNames.length);
+    for (int i = 0; i < headerNames.length; i++) {
+      keys[i] = requestAttributeKey(headerNames[i]);
+    }
+    return keys;
+  }
+
+  static AttributeKey<List<String>>[] responseAttributeKeys(String[] headerNames) {
+    AttributeKey<List<String>>[] keys = newKeyArray(headerNames.length);
+    for (int i = 0; i < headerNames.length; i++) {
+      keys[i] = responseAttributeKey(headerNames[i]);
+    }
+    return keys;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"}) // generic array creation
+  private static AttributeKey<List<String>>[] newKeyArray(int length) {
+    return new AttributeKey[length];
+  }
+
   private static AttributeKey<List<String>> createKey(String type, String headerName) {
     // headerName is always lowercase, see CapturedHttpHeadersUtil#lowercase
     String key = "http." + type + ".header." + headerName;
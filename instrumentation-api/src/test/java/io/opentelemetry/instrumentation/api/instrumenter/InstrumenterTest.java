@@ -36,6 +36,7 @@ import io.opentelemetry.sdk.trace.data.StatusData;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,6 +44,7 @@ import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junitpioneer.jupiter.SetSystemProperty;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -767,6 +769,82 @@ class InstrumenterTest {
     assertThatSpanKeyWasStored(SpanKey.HTTP_CLIENT, context);
   }
 
+  @Test
+  @SetSystemProperty(
+      key = "otel.instrumentation.experimental.skip-non-recording-span-end",
+      value = "true")
+  void skipNonRecordingSpanEnd() {
+    AtomicInteger onEndCalls = new AtomicInteger();
+    AttributesExtractor<Map<String, String>, Map<String, String>> extractor =
+        new AttributesExtractor<Map<String, String>, Map<String, String>>() {
+          @Override
+          public void onStart(
+              AttributesBuilder attributes, Context parentContext, Map<String, String> request) {}
+
+          @Override
+          public void onEnd(
+              AttributesBuilder attributes,
+              Context context,
+              Map<String, String> request,
+              @Nullable Map<String, String> response,
+              @Nullable Throwable error) {
+            onEndCalls.incrementAndGet();
+          }
+        };
+    AtomicReference<Attributes> endAttributes = new AtomicReference<>();
+    OperationListener operationListener =
+        new OperationListener() {
+          @Override
+          public Context onStart(Context context, Attributes startAttributes, long startNanos) {
+            return context;
+          }
+
+          @Override
+          public void onEnd(Context context, Attributes attributes, long endNanos) {
+            endAttributes.set(attributes);
+          }
+        };
+
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(extractor)
+            .buildInstrumenter();
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenterWithListener =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addAttributesExtractor(extractor)
+            .addOperationListener(operationListener)
+            .buildInstrumenter();
+
+    // the default parent based sampler drops children of an unsampled parent
+    Context unsampledParent =
+        Context.root()
+            .with(
+                Span.wrap(
+                    SpanContext.createFromRemoteParent(
+                        TraceId.fromLongs(0, 1),
+                        SpanId.fromLong(1),
+                        TraceFlags.getDefault(),
+                        TraceState.getDefault())));
+
+    Context context = instrumenter.start(unsampledParent, REQUEST);
+    assertThat(Span.fromContext(context).isRecording()).isFalse();
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+    assertThat(onEndCalls.get()).isZero();
+
+    // operation listeners still receive the end attributes
+    context = instrumenterWithListener.start(unsampledParent, REQUEST);
+    instrumenterWithListener.end(context, REQUEST, RESPONSE, null);
+    assertThat(onEndCalls.get()).isEqualTo(1);
+    assertThat(endAttributes.get()).isNotNull();
+
+    // recording spans are not affected
+    context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+    assertThat(onEndCalls.get()).isEqualTo(2);
+  }
+
   private static void assertThatSpanKeyWasStored(SpanKey spanKey, Context context) {
     Span span = Span.fromContext(context);
     assertThat(span).isNotNull();
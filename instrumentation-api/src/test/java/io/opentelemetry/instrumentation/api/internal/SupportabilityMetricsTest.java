@@ -5,9 +5,15 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -29,12 +35,14 @@ class SupportabilityMetricsTest {
     metrics.report();
 
     assertThat(reports).isEmpty();
+    assertThat(metrics.isEnabled()).isFalse();
   }
 
   @Test
   void reportsMetrics() {
     List<String> reports = new ArrayList<>();
     SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+    assertThat(metrics.isEnabled()).isTrue();
 
     metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
     metrics.recordSuppressedSpan(SpanKind.SERVER, "favoriteInstrumentation");
@@ -71,4 +79,64 @@ class SupportabilityMetricsTest {
             "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 1",
             "Counter 'some counter' : 1");
   }
+
+  @Test
+  void exportsMetrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+            .build();
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(false, reports::add);
+    assertThat(metrics.isEnabled()).isFalse();
+    metrics.registerMetrics(openTelemetry, true);
+    assertThat(metrics.isEnabled()).isTrue();
+
+    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
+    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
+    metrics.incrementCounter("some counter");
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.agent.suppressed_spans")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(2)
+                                            .hasAttributes(
+                                                Attributes.of(
+                                                    stringKey("instrumentation.name"),
+                                                    "favoriteInstrumentation",
+                                                    stringKey("span.kind"),
+                                                    "client")))),
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.agent.counter")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(1)
+                                            .hasAttributes(
+                                                Attributes.of(
+                                                    stringKey("counter.name"), "some counter")))));
+
+    // exported metrics are cumulative, reporting to the debug log doesn't reset them
+    metrics.report();
+    assertThat(metricReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.agent.counter")
+                    .hasLongSumSatisfying(
+                        sum -> sum.hasPointsSatisfying(point -> point.hasValue(1))));
+  }
 }
@@ -8,6 +8,8 @@ package io.opentelemetry.instrumentation.api.internal.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +37,86 @@ class CacheTest {
       assertThat(mapBackedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void boundedByFrequency() {
+      Cache<String, String> cache = Cache.boundedByFrequency(1);
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+
+      FrequencyBoundedCache<?, ?> frequencyBoundedCache = ((FrequencyBoundedCache<?, ?>) cache);
+      assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
+      assertThat(cache.computeIfAbsent("cat", unused -> "bark")).isEqualTo("meow");
+      assertThat(frequencyBoundedCache.size()).isEqualTo(1);
+
+      // dog is used less often than cat, it is not admitted
+      cache.put("dog", "bark");
+      assertThat(cache.get("dog")).isNull();
+      assertThat(cache.get("cat")).isEqualTo("meow");
+      assertThat(frequencyBoundedCache.size()).isEqualTo(1);
+
+      // once dog is used more often than cat it replaces cat
+      for (int i = 0; i < 3; i++) {
+        assertThat(cache.computeIfAbsent("dog", unused -> "bark")).isEqualTo("bark");
+      }
+      assertThat(cache.get("dog")).isEqualTo("bark");
+      assertThat(cache.get("cat")).isNull();
+      assertThat(frequencyBoundedCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void boundedByFrequencyWeighted() {
+      Cache<String, String> cache =
+          Cache.boundedByFrequency(10, (key, value) -> key.length() + value.length());
+
+      cache.put("cat", "meow");
+      cache.put("dog", "bark");
+      assertThat(cache.get("cat")).isEqualTo("meow");
+      // doesn't fit alongside cat
+      assertThat(cache.get("dog")).isNull();
+
+      // never fits
+      assertThat(cache.computeIfAbsent("elephant", unused -> "toot")).isEqualTo("toot");
+      assertThat(cache.get("elephant")).isNull();
+      assertThat(cache.get("cat")).isEqualTo("meow");
+    }
+
+    @Test
+    void boundedByFrequencyEvictingSeveralEntries() {
+      Cache<String, String> cache = Cache.boundedByFrequency(10, (key, value) -> value.length());
+
+      cache.put("cat", "me");
+      cache.put("dog", "bark");
+      for (int i = 0; i < 10; i++) {
+        assertThat(cache.get("dog")).isEqualTo("bark");
+      }
+      for (int i = 0; i < 3; i++) {
+        assertThat(cache.get("cow")).isNull();
+      }
+
+      // cow is used more often than cat, but would also evict dog, which is used more often
+      cache.put("cow", "moooooo");
+      assertThat(cache.get("cow")).isNull();
+      assertThat(cache.get("cat")).isEqualTo("me");
+      assertThat(cache.get("dog")).isEqualTo("bark");
+
+      // only evicts cat
+      cache.put("cow", "moooo");
+      assertThat(cache.get("cow")).isEqualTo("moooo");
+      assertThat(cache.get("cat")).isNull();
+      assertThat(cache.get("dog")).isEqualTo("bark");
+    }
+
+    @Test
+    void boundedByFrequencyRejectsKeysSeenOnce() {
+      Cache<String, String> cache = Cache.boundedByFrequency(1);
+
+      cache.put("cat", "meow");
+      assertThat(cache.computeIfAbsent("dog", unused -> "bark")).isEqualTo("bark");
+      assertThat(cache.get("dog")).isNull();
+      assertThat(cache.get("cat")).isEqualTo("meow");
+    }
   }
 
   @Nested
@@ -74,5 +156,86 @@ class CacheTest {
       // Wait for GC to be reflected.
       await().untilAsserted(() -> assertThat(weakLockFreeCache.size()).isEqualTo(0));
     }
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    @Test
+    void striped() {
+      Cache<String, String> cache = Cache.weakStriped();
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+      assertThat(cache.get("bear")).isNull();
+
+      StripedWeakCache<?, ?> stripedWeakCache = ((StripedWeakCache<?, ?>) cache);
+      String cat = new String("cat");
+      String dog = new String("dog");
+      assertThat(cache.computeIfAbsent(cat, unused -> "meow")).isEqualTo("meow");
+      assertThat(stripedWeakCache.size()).isEqualTo(1);
+
+      assertThat(cache.computeIfAbsent(cat, unused -> "bark")).isEqualTo("meow");
+      assertThat(stripedWeakCache.size()).isEqualTo(1);
+
+      cache.put(dog, "bark");
+      assertThat(cache.get(dog)).isEqualTo("bark");
+      assertThat(cache.get(cat)).isEqualTo("meow");
+      assertThat(cache.get(new String("dog"))).isNull();
+      assertThat(stripedWeakCache.size()).isEqualTo(2);
+
+      cache.put(dog, "woof");
+      assertThat(cache.get(dog)).isEqualTo("woof");
+      assertThat(stripedWeakCache.size()).isEqualTo(2);
+
+      cat = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(stripedWeakCache.size()).isEqualTo(1));
+      assertThat(cache.computeIfAbsent(dog, unused -> "bark")).isEqualTo("woof");
+      dog = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(stripedWeakCache.size()).isEqualTo(0));
+    }
+
+    @Test
+    void stripedDoesNotRecordNullValues() {
+      StripedWeakCache<Object, String> cache = new StripedWeakCache<>(1);
+      Object key = new Object();
+
+      assertThat(cache.computeIfAbsent(key, unused -> null)).isNull();
+      assertThat(cache.get(key)).isNull();
+      assertThat(cache.size()).isEqualTo(0);
+
+      assertThat(cache.computeIfAbsent(key, unused -> "value")).isEqualTo("value");
+      assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void stripedResize() {
+      // a single stripe, so that its table has to grow and shrink
+      StripedWeakCache<Object, Integer> cache = new StripedWeakCache<>(1);
+      List<Object> keys = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        Object key = new Object();
+        keys.add(key);
+        cache.put(key, i);
+      }
+      assertThat(cache.size()).isEqualTo(1000);
+      for (int i = 0; i < 1000; i++) {
+        assertThat(cache.get(keys.get(i))).isEqualTo(i);
+      }
+
+      for (int i = 0; i < 1000; i += 2) {
+        cache.remove(keys.get(i));
+      }
+      assertThat(cache.size()).isEqualTo(500);
+      // reuses the slots of removed entries
+      for (int i = 0; i < 1000; i += 2) {
+        assertThat(cache.computeIfAbsent(keys.get(i), unused -> -1)).isEqualTo(-1);
+      }
+      for (int i = 0; i < 1000; i++) {
+        assertThat(cache.get(keys.get(i))).isEqualTo(i % 2 == 0 ? -1 : i);
+      }
+      assertThat(cache.size()).isEqualTo(1000);
+    }
   }
 }
@@ -1,6 +1,7 @@
 
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -14,6 +15,8 @@ dependencies {
   testImplementation("com.linecorp.armeria:armeria-junit5:1.31.3")
   testImplementation("com.linecorp.armeria:armeria-grpc:1.31.3")
   testImplementation("io.opentelemetry.proto:opentelemetry-proto:1.5.0-alpha")
+
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk-testing")
 }
 
 tasks {
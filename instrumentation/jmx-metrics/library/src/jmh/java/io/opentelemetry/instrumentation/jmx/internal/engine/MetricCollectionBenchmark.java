@@ -0,0 +1,162 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures a single metric collection over a large number of MBeans, every iteration waits long
+// enough that the attribute values read by the previous collection are not reused
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@State(Scope.Benchmark)
+public class MetricCollectionBenchmark {
+
+  private static final String DOMAIN = "otel.jmx.benchmark";
+
+  @Param("50000")
+  int beanCount;
+
+  private MBeanServer server;
+  private OpenTelemetrySdk openTelemetry;
+  private InMemoryMetricReader reader;
+
+  @SuppressWarnings({"unused", "checkstyle:AbbreviationAsWordInName"})
+  public interface RequestProcessorMBean {
+
+    long getRequestCount();
+
+    long getErrorCount();
+
+    long getBytesReceived();
+
+    String getState();
+  }
+
+  public static class RequestProcessor implements RequestProcessorMBean {
+
+    private final long value;
+
+    RequestProcessor(long value) {
+      this.value = value;
+    }
+
+    @Override
+    public long getRequestCount() {
+      return value;
+    }
+
+    @Override
+    public long getErrorCount() {
+      return value / 10;
+    }
+
+    @Override
+    public long getBytesReceived() {
+      return value * 100;
+    }
+
+    @Override
+    public String getState() {
+      return "STARTED";
+    }
+  }
+
+  @Setup
+  public void setup() throws Exception {
+    server = MBeanServerFactory.newMBeanServer(DOMAIN);
+    for (int i = 0; i < beanCount; i++) {
+      server.registerMBean(
+          new RequestProcessor(i), new ObjectName(DOMAIN + ":type=RequestProcessor,name=" + i));
+    }
+
+    reader = InMemoryMetricReader.create();
+    openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(reader).build())
+            .build();
+
+    // several metrics reading the same beans, each with a metric attribute read from the bean
+    List<MetricExtractor> extractors =
+        Arrays.asList(
+            createExtractor("RequestCount"),
+            createExtractor("ErrorCount"),
+            createExtractor("BytesReceived"));
+    MetricConfiguration configuration = new MetricConfiguration();
+    configuration.addMetricDef(
+        new MetricDef(
+            BeanGroup.forBeans(
+                Collections.singletonList(DOMAIN + ":type=RequestProcessor,name=*")),
+            extractors));
+    JmxMetricInsight.createService(openTelemetry, 0)
+        .start(configuration, () -> Collections.singletonList(server));
+
+    // wait for the discovery to enroll all metrics
+    long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+    while (collect().size() < extractors.size()) {
+      if (System.nanoTime() > deadline) {
+        throw new IllegalStateException("metrics were not discovered");
+      }
+      Thread.sleep(100);
+    }
+  }
+
+  private static MetricExtractor createExtractor(String attribute) {
+    return new MetricExtractor(
+        BeanAttributeExtractor.fromName(attribute),
+        new MetricInfo(
+            "benchmark." + attribute.toLowerCase(Locale.ROOT),
+            null,
+            null,
+            "1",
+            MetricInfo.Type.COUNTER),
+        Collections.singletonList(
+            new MetricAttribute("state", MetricAttributeExtractor.fromBeanAttribute("State"))));
+  }
+
+  // attribute values are shared by the metrics of one collection for up to a second
+  @Setup(Level.Iteration)
+  public void waitForNextCollection() throws InterruptedException {
+    Thread.sleep(1100);
+  }
+
+  @TearDown
+  public void tearDown() {
+    openTelemetry.close();
+  }
+
+  @Benchmark
+  public Collection<MetricData> collect() {
+    return reader.collectAllMetrics();
+  }
+}
@@ -15,7 +15,7 @@ import javax.management.MBeanServerConnection;
 import javax.management.MBeanServerFactory;
 
 /** Entrypoint for JMX metrics Insights */
-public final class JmxTelemetry {
+public final class JmxTelemetry implements AutoCloseable {
 
   private final JmxMetricInsight service;
   private final MetricConfiguration metricConfiguration;
@@ -52,4 +52,14 @@ public final class JmxTelemetry {
     service.start(metricConfiguration, connections);
     return this;
   }
+
+  /**
+   * Stops JMX metrics collection, and removes the listeners for MBean registrations from the
+   * connections. Remote connections keep a thread for fetching notifications while a listener is
+   * registered.
+   */
+  @Override
+  public void close() {
+    service.stop();
+  }
 }
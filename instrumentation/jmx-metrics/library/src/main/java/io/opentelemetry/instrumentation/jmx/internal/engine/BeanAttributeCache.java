@@ -0,0 +1,189 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.management.Attribute;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+
+/**
+ * Reads the MBean attributes used during metric collection. All attributes that the collected
+ * metrics read from an MBean are fetched with a single {@code getAttributes} call, and the values
+ * are shared by all metrics of the same collection, instead of every metric and metric attribute
+ * calling {@code getAttribute} on its own.
+ *
+ * <p>Every metric callback reads through its own {@link Reader}. A collection invokes each callback
+ * once, so a callback that is invoked again means that the next collection started, and the values
+ * read in the previous one are not used anymore.
+ */
+class BeanAttributeCache {
+
+  private final Map<MBeanServerConnection, ConnectionCache> connections =
+      new ConcurrentHashMap<>();
+  // incremented when a new collection starts
+  private final AtomicLong collection = new AtomicLong();
+
+  /**
+   * Registers the attributes that the metrics read from the given MBeans, they will be fetched
+   * together.
+   */
+  void register(
+      MBeanServerConnection connection,
+      Collection<ObjectName> objectNames,
+      Collection<String> attributeNames) {
+    ConnectionCache cache =
+        connections.computeIfAbsent(connection, unused -> new ConnectionCache(connection));
+    Set<String> names = Collections.unmodifiableSet(new HashSet<>(attributeNames));
+    // MBeans that are read by the same metrics share the same set of attribute names
+    Map<Set<String>, Set<String>> merged = new IdentityHashMap<>();
+    for (ObjectName objectName : objectNames) {
+      cache.attributeNames.merge(
+          objectName,
+          names,
+          (existing, added) ->
+              existing.containsAll(added)
+                  ? existing
+                  : merged.computeIfAbsent(existing, unused -> union(existing, added)));
+    }
+  }
+
+  private static Set<String> union(Set<String> first, Set<String> second) {
+    Set<String> union = new HashSet<>(first);
+    union.addAll(second);
+    return Collections.unmodifiableSet(union);
+  }
+
+  /** Forgets the given MBean, called when it's unregistered from the MBeanServer. */
+  void remove(MBeanServerConnection connection, ObjectName objectName) {
+    ConnectionCache cache = connections.get(connection);
+    if (cache != null) {
+      cache.attributeNames.remove(objectName);
+      cache.values.remove(objectName);
+    }
+  }
+
+  /** Returns a new reader, to be used by a single metric callback. */
+  Reader newReader() {
+    return new Reader();
+  }
+
+  /** Reads the attributes for a single metric callback. */
+  final class Reader {
+    // the collection that the callback was last invoked in
+    private volatile long lastCollection = -1;
+
+    private Reader() {}
+
+    /**
+     * Called at the start of each invocation of the callback. Returns a connection that reads the
+     * registered attributes through the cache and delegates everything else to the given
+     * connection.
+     */
+    MBeanServerConnection forCollection(MBeanServerConnection connection) {
+      long current = collection.get();
+      if (lastCollection == current) {
+        // the callback was already invoked in the current collection, so this is the next one
+        collection.compareAndSet(current, current + 1);
+        current = collection.get();
+      }
+      lastCollection = current;
+
+      ConnectionCache cache = connections.get(connection);
+      return cache != null ? cache.cachingConnection : connection;
+    }
+  }
+
+  private final class ConnectionCache implements InvocationHandler {
+    private final MBeanServerConnection connection;
+    private final MBeanServerConnection cachingConnection;
+    private final Map<ObjectName, Set<String>> attributeNames = new ConcurrentHashMap<>();
+    private final Map<ObjectName, BeanValues> values = new ConcurrentHashMap<>();
+
+    ConnectionCache(MBeanServerConnection connection) {
+      this.connection = connection;
+      this.cachingConnection =
+          (MBeanServerConnection)
+              Proxy.newProxyInstance(
+                  BeanAttributeCache.class.getClassLoader(),
+                  new Class<?>[] {MBeanServerConnection.class},
+                  this);
+    }
+
+    @Override
+    @Nullable
+    public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+      if (args != null
+          && args.length == 2
+          && method.getName().equals("getAttribute")
+          && args[0] instanceof ObjectName
+          && args[1] instanceof String) {
+        ObjectName objectName = (ObjectName) args[0];
+        String attributeName = (String) args[1];
+        Set<String> names = attributeNames.get(objectName);
+        if (names != null && names.contains(attributeName)) {
+          return getAttribute(objectName, attributeName, names);
+        }
+      }
+      if (method.getDeclaringClass() == Object.class) {
+        return method.invoke(this, args);
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    @Nullable
+    private Object getAttribute(ObjectName objectName, String attributeName, Set<String> names)
+        throws Exception {
+      long current = collection.get();
+      BeanValues beanValues = values.get(objectName);
+      // re-read when more attributes were registered for the bean since it was last read
+      if (beanValues == null
+          || beanValues.collection != current
+          || beanValues.attributeNames != names) {
+        beanValues = new BeanValues(current, names);
+        for (Attribute attribute :
+            connection.getAttributes(objectName, names.toArray(new String[0])).asList()) {
+          beanValues.values.put(attribute.getName(), attribute.getValue());
+        }
+        values.put(objectName, beanValues);
+      }
+      // getAttributes leaves out the attributes that couldn't be read
+      if (!beanValues.values.containsKey(attributeName)) {
+        throw new AttributeNotFoundException(attributeName);
+      }
+      return beanValues.values.get(attributeName);
+    }
+  }
+
+  private static final class BeanValues {
+    private final long collection;
+    private final Set<String> attributeNames;
+    private final Map<String, Object> values = new HashMap<>();
+
+    BeanValues(long collection, Set<String> attributeNames) {
+      this.collection = collection;
+      this.attributeNames = attributeNames;
+    }
+  }
+}
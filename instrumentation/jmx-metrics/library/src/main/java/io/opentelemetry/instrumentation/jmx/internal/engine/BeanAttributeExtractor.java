@@ -115,6 +115,11 @@ public class BeanAttributeExtractor implements MetricAttributeExtractor {
     this.nameChain = nameChain;
   }
 
+  /** Returns the name of the MBean attribute that the value is read from. */
+  String getBaseName() {
+    return baseName;
+  }
+
   /**
    * Get a human readable name of the attribute to extract. Used to form the metric name if none is
    * provided. Also useful for logging or debugging.
@@ -141,12 +146,26 @@ public class BeanAttributeExtractor implements MetricAttributeExtractor {
    */
   @Nullable
   AttributeInfo getAttributeInfo(MBeanServerConnection connection, ObjectName objectName) {
+    return getAttributeInfo(connection, objectName, null);
+  }
+
+  /**
+   * Same as {@link #getAttributeInfo(MBeanServerConnection, ObjectName)}, but uses the given
+   * {@link MBeanInfo} when the caller has already fetched it.
+   *
+   * @param connection the {@link MBeanServerConnection} that reported knowledge of the ObjectName
+   * @param objectName the {@link ObjectName} identifying the MBean
+   * @param mbeanInfo the {@link MBeanInfo} of the MBean, or {@literal null} to fetch it
+   */
+  @Nullable
+  AttributeInfo getAttributeInfo(
+      MBeanServerConnection connection, ObjectName objectName, @Nullable MBeanInfo mbeanInfo) {
     if (logger.isLoggable(FINE)) {
       logger.log(FINE, "Resolving {0} for {1}", new Object[] {getAttributeName(), objectName});
     }
 
     try {
-      MBeanInfo info = connection.getMBeanInfo(objectName);
+      MBeanInfo info = mbeanInfo != null ? mbeanInfo : connection.getMBeanInfo(objectName);
       MBeanAttributeInfo[] allAttributes = info.getAttributes();
 
       for (MBeanAttributeInfo attr : allAttributes) {
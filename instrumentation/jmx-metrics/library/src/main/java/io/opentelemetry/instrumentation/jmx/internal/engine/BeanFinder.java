@@ -8,17 +8,30 @@ package io.opentelemetry.instrumentation.jmx.internal.engine;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.management.MBeanInfo;
 import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
 import javax.management.ObjectName;
+import javax.management.QueryExp;
+import javax.management.relation.MBeanServerNotificationFilter;
 
 /**
  * A class responsible for finding MBeans that match metric definitions specified by a set of
@@ -29,7 +42,6 @@ class BeanFinder {
   private static final Logger logger = Logger.getLogger(BeanFinder.class.getName());
 
   private final MetricRegistrar registrar;
-  private MetricConfiguration conf;
   private final ScheduledExecutorService exec =
       Executors.newSingleThreadScheduledExecutor(
           runnable -> {
@@ -42,6 +54,19 @@ class BeanFinder {
   private final long maxDelay;
   private long delay = 1000; // number of milliseconds until first attempt to discover MBeans
 
+  // whether a listener for MBean registrations could be added to the connection, only accessed
+  // from the discovery thread
+  private final Map<MBeanServerConnection, Boolean> listeningConnections = new WeakHashMap<>();
+  // added to every connection, with the connection as handback, so that the values of
+  // listeningConnections don't keep their connection reachable
+  private final NotificationListener listener = this::handleNotification;
+  private final AtomicBoolean closed = new AtomicBoolean();
+  // set when MBeans were registered or unregistered since the last discovery pass
+  private final AtomicBoolean beansChanged = new AtomicBoolean(true);
+  // the MBeans that the last full discovery pass found but couldn't use yet, per extractor, only
+  // accessed from the discovery thread
+  private final Map<MetricExtractor, UnresolvedBeans> unresolvedBeans = new HashMap<>();
+
   BeanFinder(MetricRegistrar registrar, long discoveryDelay) {
     this.registrar = registrar;
     this.discoveryDelay = Math.max(1000, discoveryDelay); // Enforce sanity
@@ -57,8 +82,6 @@ class BeanFinder {
    */
   void discoverBeans(
       MetricConfiguration conf, Supplier<List<? extends MBeanServerConnection>> connections) {
-    this.conf = conf;
-
     exec.schedule(
         () -> {
           // Issue 9336: Corner case: PlatformMBeanServer will remain uninitialized until a direct
@@ -76,7 +99,10 @@ class BeanFinder {
         new Runnable() {
           @Override
           public void run() {
-            refreshState(connections);
+            if (closed.get()) {
+              return;
+            }
+            refreshState(conf, connections);
             // Use discoveryDelay as the increment for the actual delay
             delay = Math.min(delay + discoveryDelay, maxDelay);
             exec.schedule(this, delay, TimeUnit.MILLISECONDS);
@@ -86,20 +112,114 @@ class BeanFinder {
         TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * Stops the discovery, removes the listeners for MBean registrations from the connections and
+   * closes the instruments of the metrics that were found.
+   */
+  void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    // the listeners are only accessed from the discovery thread, which is stopped afterwards
+    exec.execute(
+        () -> {
+          removeListeners();
+          registrar.close();
+          exec.shutdownNow();
+        });
+  }
+
   /**
    * Go over all configured metric definitions and try to find matching MBeans. Once a match is
    * found for a given metric definition, submit the definition to MetricRegistrar for further
    * handling. Successive invocations of this method may find matches that were previously
    * unavailable, in such cases MetricRegistrar will extend the coverage for the new MBeans
    *
+   * <p>MBean registrations and unregistrations are tracked with notifications from the {@link
+   * MBeanServerDelegate}. When nothing changed since the previous invocation, the MBeans are not
+   * looked up again, only the attributes of the MBeans that couldn't be used yet are checked again.
+   *
+   * @param conf metric configuration
    * @param connections supplier providing {@link MBeanServerConnection} instances to query
    */
-  private void refreshState(Supplier<List<? extends MBeanServerConnection>> connections) {
+  // Visible for testing
+  void refreshState(
+      MetricConfiguration conf, Supplier<List<? extends MBeanServerConnection>> connections) {
     List<? extends MBeanServerConnection> servers = connections.get();
 
+    boolean listening = listenForChanges(servers);
+    // reset before querying, so that changes made while resolving the beans trigger another pass
+    boolean changed = beansChanged.getAndSet(false);
+    if (listening && !changed) {
+      if (!unresolvedBeans.isEmpty()) {
+        resolveUnresolvedBeans(new DiscoveryPass());
+      }
+      return;
+    }
+
+    unresolvedBeans.clear();
+    DiscoveryPass pass = new DiscoveryPass();
     for (MetricDef metricDef : conf.getMetricDefs()) {
-      resolveBeans(metricDef, servers);
+      resolveBeans(metricDef, servers, pass);
+    }
+  }
+
+  /**
+   * Registers a listener for MBean registrations and unregistrations on the connections that don't
+   * have one yet. Returns {@code false} when a listener couldn't be registered on some connection.
+   */
+  private boolean listenForChanges(List<? extends MBeanServerConnection> connections) {
+    boolean listening = true;
+    for (MBeanServerConnection connection : connections) {
+      Boolean connectionListening = listeningConnections.get(connection);
+      if (connectionListening == null) {
+        connectionListening = addListener(connection);
+        listeningConnections.put(connection, connectionListening);
+        // beans that were registered before the listener was added were not seen yet
+        beansChanged.set(true);
+      }
+      listening &= connectionListening;
     }
+    return listening;
+  }
+
+  private boolean addListener(MBeanServerConnection connection) {
+    MBeanServerNotificationFilter filter = new MBeanServerNotificationFilter();
+    filter.enableAllObjectNames();
+    try {
+      connection.addNotificationListener(
+          MBeanServerDelegate.DELEGATE_NAME, listener, filter, connection);
+      return true;
+    } catch (Exception e) {
+      logger.log(
+          Level.FINE, "Unable to listen for MBean registrations, looking up MBeans every time", e);
+      return false;
+    }
+  }
+
+  private void handleNotification(Notification notification, @Nullable Object handback) {
+    if (notification instanceof MBeanServerNotification
+        && MBeanServerNotification.UNREGISTRATION_NOTIFICATION.equals(notification.getType())
+        && handback instanceof MBeanServerConnection) {
+      registrar.beanUnregistered(
+          (MBeanServerConnection) handback,
+          ((MBeanServerNotification) notification).getMBeanName());
+    }
+    beansChanged.set(true);
+  }
+
+  private void removeListeners() {
+    for (Map.Entry<MBeanServerConnection, Boolean> entry : listeningConnections.entrySet()) {
+      if (!entry.getValue()) {
+        continue;
+      }
+      try {
+        entry.getKey().removeNotificationListener(MBeanServerDelegate.DELEGATE_NAME, listener);
+      } catch (Exception e) {
+        logger.log(Level.FINE, "Unable to remove the listener for MBean registrations", e);
+      }
+    }
+    listeningConnections.clear();
   }
 
   /**
@@ -109,9 +229,10 @@ class BeanFinder {
    *
    * @param metricDef the MetricDef used to find matching MBeans
    * @param connections the list of {@link MBeanServerConnection} to query
+   * @param pass the lookups already made by the current discovery pass
    */
   private void resolveBeans(
-      MetricDef metricDef, List<? extends MBeanServerConnection> connections) {
+      MetricDef metricDef, List<? extends MBeanServerConnection> connections, DiscoveryPass pass) {
     BeanGroup beans = metricDef.getBeanGroup();
 
     for (MBeanServerConnection connection : connections) {
@@ -120,14 +241,14 @@ class BeanFinder {
 
       for (ObjectName pattern : beans.getNamePatterns()) {
         try {
-          allObjectNames.addAll(connection.queryNames(pattern, beans.getQueryExp()));
+          allObjectNames.addAll(pass.queryNames(connection, pattern, beans.getQueryExp()));
         } catch (IOException e) {
           logger.log(Level.WARNING, "IO error while resolving mbean", e);
         }
       }
 
       if (!allObjectNames.isEmpty()) {
-        resolveAttributes(allObjectNames, connection, metricDef);
+        resolveAttributes(allObjectNames, connection, metricDef, pass);
 
         // Assuming that only one MBeanServer has the required MBeans
         break;
@@ -143,16 +264,21 @@ class BeanFinder {
    * @param connection the {@link MBeanServerConnection} which recognized the collection of
    *     ObjectNames
    * @param metricDef the {@link MetricDef} describing the attributes to look for
+   * @param pass the lookups already made by the current discovery pass
    */
   private void resolveAttributes(
-      Set<ObjectName> objectNames, MBeanServerConnection connection, MetricDef metricDef) {
+      Set<ObjectName> objectNames,
+      MBeanServerConnection connection,
+      MetricDef metricDef,
+      DiscoveryPass pass) {
     for (MetricExtractor extractor : metricDef.getMetricExtractors()) {
       // For each MetricExtractor, find the subset of MBeans that have the required attribute
       List<ObjectName> validObjectNames = new ArrayList<>();
       AttributeInfo attributeInfo = null;
       for (ObjectName objectName : objectNames) {
+        MBeanInfo mbeanInfo = pass.getMBeanInfo(connection, objectName);
         AttributeInfo attr =
-            extractor.getMetricValueExtractor().getAttributeInfo(connection, objectName);
+            extractor.getMetricValueExtractor().getAttributeInfo(connection, objectName, mbeanInfo);
         if (attr != null) {
           if (attributeInfo == null) {
             attributeInfo = attr;
@@ -162,10 +288,126 @@ class BeanFinder {
           validObjectNames.add(objectName);
         }
       }
+      if (validObjectNames.size() < objectNames.size()) {
+        // the remaining MBeans may provide usable values later, e.g. once they're initialized
+        Set<ObjectName> remaining = new HashSet<>(objectNames);
+        remaining.removeAll(validObjectNames);
+        unresolvedBeans.put(
+            extractor,
+            new UnresolvedBeans(connection, validObjectNames, remaining, attributeInfo));
+      }
       if (!validObjectNames.isEmpty()) {
         // Ready to collect metric values
         registrar.enrollExtractor(connection, validObjectNames, extractor, attributeInfo);
       }
     }
   }
+
+  /**
+   * Checks the attributes of the MBeans that previous discovery passes couldn't use again, and adds
+   * the MBeans that provide usable values now to the collection of their metrics.
+   *
+   * @param pass the lookups already made by the current discovery pass
+   */
+  private void resolveUnresolvedBeans(DiscoveryPass pass) {
+    Iterator<Map.Entry<MetricExtractor, UnresolvedBeans>> iterator =
+        unresolvedBeans.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<MetricExtractor, UnresolvedBeans> entry = iterator.next();
+      MetricExtractor extractor = entry.getKey();
+      UnresolvedBeans beans = entry.getValue();
+      AttributeInfo attributeInfo = beans.attributeInfo;
+      boolean resolved = false;
+      for (Iterator<ObjectName> names = beans.remaining.iterator(); names.hasNext(); ) {
+        ObjectName objectName = names.next();
+        MBeanInfo mbeanInfo = pass.getMBeanInfo(beans.connection, objectName);
+        AttributeInfo attr =
+            extractor
+                .getMetricValueExtractor()
+                .getAttributeInfo(beans.connection, objectName, mbeanInfo);
+        if (attr != null) {
+          if (attributeInfo == null) {
+            attributeInfo = attr;
+          } else {
+            attributeInfo.updateFrom(attr);
+          }
+          beans.valid.add(objectName);
+          names.remove();
+          resolved = true;
+        }
+      }
+      beans.attributeInfo = attributeInfo;
+      if (resolved && attributeInfo != null) {
+        // the registrar replaces the MBeans of the extractor, so the ones already in use are passed
+        // again, as a copy because the collection is read while collecting the metric
+        registrar.enrollExtractor(
+            beans.connection, new ArrayList<>(beans.valid), extractor, attributeInfo);
+      }
+      if (beans.remaining.isEmpty()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /** The MBeans of an extractor, and those of them that didn't provide a usable value yet. */
+  private static class UnresolvedBeans {
+    private final MBeanServerConnection connection;
+    private final List<ObjectName> valid;
+    private final Set<ObjectName> remaining;
+    @Nullable private AttributeInfo attributeInfo;
+
+    UnresolvedBeans(
+        MBeanServerConnection connection,
+        List<ObjectName> valid,
+        Set<ObjectName> remaining,
+        @Nullable AttributeInfo attributeInfo) {
+      this.connection = connection;
+      this.valid = new ArrayList<>(valid);
+      this.remaining = remaining;
+      this.attributeInfo = attributeInfo;
+    }
+  }
+
+  /**
+   * The MBean lookups made during a single discovery pass. Different metric definitions often use
+   * the same ObjectName patterns and MBeans, these are only looked up once per pass.
+   */
+  private static class DiscoveryPass {
+    private final Map<MBeanServerConnection, Map<ObjectName, Set<ObjectName>>> queries =
+        new HashMap<>();
+    private final Map<MBeanServerConnection, Map<ObjectName, MBeanInfo>> infos = new HashMap<>();
+
+    Set<ObjectName> queryNames(
+        MBeanServerConnection connection, ObjectName pattern, @Nullable QueryExp queryExp)
+        throws IOException {
+      if (queryExp != null) {
+        return connection.queryNames(pattern, queryExp);
+      }
+      Map<ObjectName, Set<ObjectName>> connectionQueries =
+          queries.computeIfAbsent(connection, unused -> new HashMap<>());
+      Set<ObjectName> result = connectionQueries.get(pattern);
+      if (result == null) {
+        result = connection.queryNames(pattern, null);
+        connectionQueries.put(pattern, result);
+      }
+      return result;
+    }
+
+    @Nullable
+    MBeanInfo getMBeanInfo(MBeanServerConnection connection, ObjectName objectName) {
+      Map<ObjectName, MBeanInfo> connectionInfos =
+          infos.computeIfAbsent(connection, unused -> new HashMap<>());
+      MBeanInfo info = connectionInfos.get(objectName);
+      if (info == null) {
+        try {
+          info = connection.getMBeanInfo(objectName);
+          connectionInfos.put(objectName, info);
+        } catch (Exception e) {
+          // let the extractor fetch it again and report the error
+          return null;
+        }
+      }
+      return info;
+    }
+  }
 }
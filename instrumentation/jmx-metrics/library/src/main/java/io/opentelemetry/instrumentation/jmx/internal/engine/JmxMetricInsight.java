@@ -9,6 +9,7 @@ import static java.util.logging.Level.FINE;
 
 import io.opentelemetry.api.OpenTelemetry;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 import javax.management.MBeanServerConnection;
@@ -28,6 +29,7 @@ public class JmxMetricInsight {
 
   private final OpenTelemetry openTelemetry;
   private final long discoveryDelay;
+  private final List<BeanFinder> finders = new CopyOnWriteArrayList<>();
 
   public static JmxMetricInsight createService(OpenTelemetry ot, long discoveryDelay) {
     return new JmxMetricInsight(ot, discoveryDelay);
@@ -79,7 +81,19 @@ public class JmxMetricInsight {
     } else {
       MetricRegistrar registrar = new MetricRegistrar(openTelemetry, INSTRUMENTATION_SCOPE);
       BeanFinder finder = new BeanFinder(registrar, discoveryDelay);
+      finders.add(finder);
       finder.discoverBeans(conf, connections);
     }
   }
+
+  /**
+   * Stops the MBean discovery and the collection of the metrics, and removes the listeners for
+   * MBean registrations that it added to the connections.
+   */
+  public void stop() {
+    for (BeanFinder finder : finders) {
+      finder.close();
+    }
+    finders.clear();
+  }
 }
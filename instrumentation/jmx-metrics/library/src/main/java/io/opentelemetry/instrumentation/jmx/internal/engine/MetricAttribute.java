@@ -34,6 +34,15 @@ public class MetricAttribute {
     return name;
   }
 
+  /** Returns the name of the MBean attribute that the value is read from, if any. */
+  @Nullable
+  String getBeanAttributeName() {
+    if (extractor instanceof BeanAttributeExtractor) {
+      return ((BeanAttributeExtractor) extractor).getBaseName();
+    }
+    return null;
+  }
+
   @Nullable
   public String acquireAttributeValue(MBeanServerConnection connection, ObjectName objectName) {
     return extractor.extractValue(connection, objectName);
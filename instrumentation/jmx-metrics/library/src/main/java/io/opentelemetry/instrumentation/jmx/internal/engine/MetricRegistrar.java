@@ -16,9 +16,13 @@ import io.opentelemetry.api.metrics.LongUpDownCounterBuilder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
 import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.management.MBeanServerConnection;
@@ -30,6 +34,9 @@ class MetricRegistrar {
   private static final Logger logger = Logger.getLogger(MetricRegistrar.class.getName());
 
   private final Meter meter;
+  private final BeanAttributeCache attributeCache = new BeanAttributeCache();
+  // the instruments built for the extractors, closed when the discovery is stopped
+  private final List<AutoCloseable> instruments = new CopyOnWriteArrayList<>();
 
   MetricRegistrar(OpenTelemetry openTelemetry, String instrumentationScope) {
     meter = openTelemetry.getMeter(instrumentationScope);
@@ -49,6 +56,8 @@ class MetricRegistrar {
       Collection<ObjectName> objectNames,
       MetricExtractor extractor,
       AttributeInfo attributeInfo) {
+    attributeCache.register(connection, objectNames, beanAttributeNames(extractor));
+
     // For the first enrollment of the extractor we have to build the corresponding Instrument
     DetectionStatus status = new DetectionStatus(connection, objectNames);
     boolean firstEnrollment;
@@ -88,9 +97,12 @@ class MetricRegistrar {
           builder.setUnit(unit);
 
           if (recordDoubleValue) {
-            builder.ofDoubles().buildWithCallback(doubleTypeCallback(extractor, unitConverter));
+            instruments.add(
+                builder
+                    .ofDoubles()
+                    .buildWithCallback(doubleTypeCallback(extractor, unitConverter)));
           } else {
-            builder.buildWithCallback(longTypeCallback(extractor));
+            instruments.add(builder.buildWithCallback(longTypeCallback(extractor)));
           }
           logger.log(INFO, "Created Counter for {0}", metricName);
         }
@@ -105,9 +117,12 @@ class MetricRegistrar {
           builder.setUnit(unit);
 
           if (recordDoubleValue) {
-            builder.ofDoubles().buildWithCallback(doubleTypeCallback(extractor, unitConverter));
+            instruments.add(
+                builder
+                    .ofDoubles()
+                    .buildWithCallback(doubleTypeCallback(extractor, unitConverter)));
           } else {
-            builder.buildWithCallback(longTypeCallback(extractor));
+            instruments.add(builder.buildWithCallback(longTypeCallback(extractor)));
           }
           logger.log(INFO, "Created UpDownCounter for {0}", metricName);
         }
@@ -122,9 +137,10 @@ class MetricRegistrar {
           builder.setUnit(unit);
 
           if (recordDoubleValue) {
-            builder.buildWithCallback(doubleTypeCallback(extractor, unitConverter));
+            instruments.add(
+                builder.buildWithCallback(doubleTypeCallback(extractor, unitConverter)));
           } else {
-            builder.ofLongs().buildWithCallback(longTypeCallback(extractor));
+            instruments.add(builder.ofLongs().buildWithCallback(longTypeCallback(extractor)));
           }
           logger.log(INFO, "Created Gauge for {0}", metricName);
         }
@@ -138,17 +154,48 @@ class MetricRegistrar {
     }
   }
 
+  /** Called when an MBean was unregistered from the MBeanServer. */
+  void beanUnregistered(MBeanServerConnection connection, ObjectName objectName) {
+    attributeCache.remove(connection, objectName);
+  }
+
+  /** Closes the instruments, their metrics are not collected anymore. */
+  void close() {
+    for (AutoCloseable instrument : instruments) {
+      try {
+        instrument.close();
+      } catch (Exception e) {
+        logger.log(Level.FINE, "Unable to close instrument", e);
+      }
+    }
+    instruments.clear();
+  }
+
+  // the MBean attributes that the extractor reads, they are read from each MBean together
+  private static List<String> beanAttributeNames(MetricExtractor extractor) {
+    List<String> names = new ArrayList<>();
+    names.add(extractor.getMetricValueExtractor().getBaseName());
+    for (MetricAttribute attribute : extractor.getAttributes()) {
+      String name = attribute.getBeanAttributeName();
+      if (name != null) {
+        names.add(name);
+      }
+    }
+    return names;
+  }
+
   /*
    * A method generating metric collection callback for asynchronous Measurement
    * of Double type.
    * If unit converter is provided then conversion is applied before metric is recorded.
    */
-  static Consumer<ObservableDoubleMeasurement> doubleTypeCallback(
+  Consumer<ObservableDoubleMeasurement> doubleTypeCallback(
       MetricExtractor extractor, @Nullable UnitConverter unitConverter) {
+    BeanAttributeCache.Reader reader = attributeCache.newReader();
     return measurement -> {
       DetectionStatus status = extractor.getStatus();
       if (status != null) {
-        MBeanServerConnection connection = status.getConnection();
+        MBeanServerConnection connection = reader.forCollection(status.getConnection());
         for (ObjectName objectName : status.getObjectNames()) {
           Number metricValue =
               extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName);
@@ -170,11 +217,12 @@ class MetricRegistrar {
    * A method generating metric collection callback for asynchronous Measurement
    * of Long type.
    */
-  static Consumer<ObservableLongMeasurement> longTypeCallback(MetricExtractor extractor) {
+  Consumer<ObservableLongMeasurement> longTypeCallback(MetricExtractor extractor) {
+    BeanAttributeCache.Reader reader = attributeCache.newReader();
     return measurement -> {
       DetectionStatus status = extractor.getStatus();
       if (status != null) {
-        MBeanServerConnection connection = status.getConnection();
+        MBeanServerConnection connection = reader.forCollection(status.getConnection());
         for (ObjectName objectName : status.getObjectNames()) {
           Number metricValue =
               extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName);
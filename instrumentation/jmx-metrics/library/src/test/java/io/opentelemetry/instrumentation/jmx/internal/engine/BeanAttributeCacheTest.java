@@ -0,0 +1,108 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+class BeanAttributeCacheTest {
+
+  private final MBeanServerConnection connection = mock(MBeanServerConnection.class);
+  private final BeanAttributeCache cache = new BeanAttributeCache();
+
+  @Test
+  void readsRegisteredAttributesTogether() throws Exception {
+    ObjectName objectName = new ObjectName("test:type=Test");
+    when(connection.getAttributes(eq(objectName), any()))
+        .thenReturn(
+            new AttributeList(
+                Arrays.asList(new Attribute("Count", 42L), new Attribute("State", "STARTED"))));
+    cache.register(
+        connection, Collections.singletonList(objectName), Collections.singletonList("Count"));
+    cache.register(
+        connection, Collections.singletonList(objectName), Collections.singletonList("State"));
+
+    MBeanServerConnection cachingConnection = cache.newReader().forCollection(connection);
+    assertThat(cachingConnection.getAttribute(objectName, "Count")).isEqualTo(42L);
+    assertThat(cachingConnection.getAttribute(objectName, "State")).isEqualTo("STARTED");
+    assertThat(cachingConnection.getAttribute(objectName, "Count")).isEqualTo(42L);
+
+    verify(connection, times(1)).getAttributes(eq(objectName), any());
+    verify(connection, never()).getAttribute(any(), any());
+  }
+
+  @Test
+  void readsAgainInNextCollection() throws Exception {
+    ObjectName objectName = new ObjectName("test:type=Test");
+    when(connection.getAttributes(eq(objectName), any()))
+        .thenReturn(new AttributeList(Collections.singletonList(new Attribute("Count", 1L))))
+        .thenReturn(new AttributeList(Collections.singletonList(new Attribute("Count", 2L))));
+    cache.register(
+        connection, Collections.singletonList(objectName), Collections.singletonList("Count"));
+    BeanAttributeCache.Reader first = cache.newReader();
+    BeanAttributeCache.Reader second = cache.newReader();
+
+    // both callbacks of a collection share the values
+    assertThat(first.forCollection(connection).getAttribute(objectName, "Count")).isEqualTo(1L);
+    assertThat(second.forCollection(connection).getAttribute(objectName, "Count")).isEqualTo(1L);
+    verify(connection, times(1)).getAttributes(eq(objectName), any());
+
+    // a callback that is invoked again starts the next collection
+    assertThat(second.forCollection(connection).getAttribute(objectName, "Count")).isEqualTo(2L);
+    assertThat(first.forCollection(connection).getAttribute(objectName, "Count")).isEqualTo(2L);
+    verify(connection, times(2)).getAttributes(eq(objectName), any());
+  }
+
+  @Test
+  void missingAttribute() throws Exception {
+    ObjectName objectName = new ObjectName("test:type=Test");
+    when(connection.getAttributes(eq(objectName), any()))
+        .thenReturn(new AttributeList(Collections.singletonList(new Attribute("Count", 42L))));
+    cache.register(
+        connection, Collections.singletonList(objectName), Arrays.asList("Count", "Missing"));
+
+    MBeanServerConnection cachingConnection = cache.newReader().forCollection(connection);
+    assertThatThrownBy(() -> cachingConnection.getAttribute(objectName, "Missing"))
+        .isInstanceOf(AttributeNotFoundException.class);
+  }
+
+  @Test
+  void delegatesUnregisteredAttributes() throws Exception {
+    ObjectName objectName = new ObjectName("test:type=Test");
+    when(connection.getAttribute(objectName, "Other")).thenReturn("value");
+    cache.register(
+        connection, Collections.singletonList(objectName), Collections.singletonList("Count"));
+
+    MBeanServerConnection cachingConnection = cache.newReader().forCollection(connection);
+    assertThat(cachingConnection.getAttribute(objectName, "Other")).isEqualTo("value");
+
+    cache.remove(connection, objectName);
+    when(connection.getAttribute(objectName, "Count")).thenReturn(1L);
+    assertThat(cachingConnection.getAttribute(objectName, "Count")).isEqualTo(1L);
+    verify(connection, never()).getAttributes(any(), any());
+  }
+
+  @Test
+  void unknownConnection() {
+    assertThat(cache.newReader().forCollection(connection)).isSameAs(connection);
+  }
+}
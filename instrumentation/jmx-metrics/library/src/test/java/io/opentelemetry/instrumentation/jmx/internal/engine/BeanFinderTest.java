@@ -0,0 +1,219 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerFactory;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+class BeanFinderTest {
+
+  @SuppressWarnings({"unused", "checkstyle:AbbreviationAsWordInName"})
+  public interface CounterMBean {
+
+    long getCount();
+  }
+
+  public static class Counter implements CounterMBean {
+
+    @Override
+    public long getCount() {
+      return 42;
+    }
+  }
+
+  @SuppressWarnings({"unused", "checkstyle:AbbreviationAsWordInName"})
+  public interface NullableCounterMBean {
+
+    @Nullable
+    Long getCount();
+  }
+
+  public static class NullableCounter implements NullableCounterMBean {
+
+    @Nullable private volatile Long count;
+
+    @Override
+    @Nullable
+    public Long getCount() {
+      return count;
+    }
+  }
+
+  private final MBeanServer server = MBeanServerFactory.newMBeanServer();
+  private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+  private final MBeanServerConnection connection = countingCalls(server);
+  private final MetricRegistrar registrar = mock(MetricRegistrar.class);
+
+  @Test
+  void skipsDiscoveryWhenNothingChanged() throws Exception {
+    ObjectName first = new ObjectName("test:type=Counter,name=first");
+    ObjectName second = new ObjectName("test:type=Counter,name=second");
+    server.registerMBean(new Counter(), first);
+    MetricExtractor extractor = countExtractor();
+    MetricConfiguration conf = configuration(extractor);
+    BeanFinder finder = new BeanFinder(registrar, 0);
+
+    finder.refreshState(conf, () -> singletonList(connection));
+    verify(registrar).enrollExtractor(same(connection), beans(first), same(extractor), any());
+    assertThat(calls("queryNames")).isEqualTo(1);
+
+    // nothing was registered or unregistered since the previous pass
+    finder.refreshState(conf, () -> singletonList(connection));
+    assertThat(calls("queryNames")).isEqualTo(1);
+
+    server.registerMBean(new Counter(), second);
+    finder.refreshState(conf, () -> singletonList(connection));
+    verify(registrar)
+        .enrollExtractor(same(connection), beans(first, second), same(extractor), any());
+    assertThat(calls("queryNames")).isEqualTo(2);
+
+    server.unregisterMBean(second);
+    verify(registrar).beanUnregistered(same(connection), eq(second));
+
+    // closing removes the listener, unregistrations are not seen anymore
+    finder.close();
+    await()
+        .untilAsserted(
+            () -> {
+              assertThat(calls("removeNotificationListener")).isEqualTo(1);
+              verify(registrar).close();
+            });
+    server.unregisterMBean(first);
+    verify(registrar, never()).beanUnregistered(same(connection), eq(first));
+    verify(registrar, times(2)).enrollExtractor(any(), any(), any(), any());
+  }
+
+  @Test
+  void skipsDiscoveryWhenBeanNeverProvidesValue() throws Exception {
+    ObjectName first = new ObjectName("test:type=Counter,name=first");
+    ObjectName unusable = new ObjectName("test:type=Counter,name=unusable");
+    server.registerMBean(new Counter(), first);
+    server.registerMBean(new NullableCounter(), unusable);
+    MetricExtractor extractor = countExtractor();
+    MetricConfiguration conf = configuration(extractor);
+    BeanFinder finder = new BeanFinder(registrar, 0);
+
+    finder.refreshState(conf, () -> singletonList(connection));
+    verify(registrar).enrollExtractor(same(connection), beans(first), same(extractor), any());
+    int attributeReads = calls("getAttribute");
+
+    // only the attribute of the MBean without a value is read again, the MBeans are not looked up
+    for (int i = 1; i <= 3; i++) {
+      finder.refreshState(conf, () -> singletonList(connection));
+      assertThat(calls("getAttribute")).isEqualTo(attributeReads + i);
+    }
+    assertThat(calls("queryNames")).isEqualTo(1);
+    verify(registrar).enrollExtractor(any(), any(), any(), any());
+    finder.close();
+  }
+
+  @Test
+  void enrollsBeanOnceItProvidesValue() throws Exception {
+    ObjectName first = new ObjectName("test:type=Counter,name=first");
+    ObjectName second = new ObjectName("test:type=Counter,name=second");
+    NullableCounter counter = new NullableCounter();
+    server.registerMBean(new Counter(), first);
+    server.registerMBean(counter, second);
+    MetricExtractor extractor = countExtractor();
+    MetricConfiguration conf = configuration(extractor);
+    BeanFinder finder = new BeanFinder(registrar, 0);
+
+    finder.refreshState(conf, () -> singletonList(connection));
+    verify(registrar).enrollExtractor(same(connection), beans(first), same(extractor), any());
+
+    counter.count = 42L;
+    finder.refreshState(conf, () -> singletonList(connection));
+    verify(registrar)
+        .enrollExtractor(same(connection), beans(first, second), same(extractor), any());
+
+    // both MBeans are in use, nothing is read again
+    int attributeReads = calls("getAttribute");
+    finder.refreshState(conf, () -> singletonList(connection));
+    assertThat(calls("getAttribute")).isEqualTo(attributeReads);
+    assertThat(calls("queryNames")).isEqualTo(1);
+    verify(registrar, times(2)).enrollExtractor(any(), any(), any(), any());
+    finder.close();
+  }
+
+  private static MetricExtractor countExtractor() {
+    return new MetricExtractor(
+        BeanAttributeExtractor.fromName("Count"),
+        new MetricInfo("test.count", null, null, "1", MetricInfo.Type.GAUGE),
+        emptyList());
+  }
+
+  private static MetricConfiguration configuration(MetricExtractor extractor)
+      throws MalformedObjectNameException {
+    MetricConfiguration conf = new MetricConfiguration();
+    conf.addMetricDef(
+        new MetricDef(
+            BeanGroup.forBeans(singletonList("test:type=Counter,*")), singletonList(extractor)));
+    return conf;
+  }
+
+  private static Collection<ObjectName> beans(ObjectName... objectNames) {
+    return argThat(
+        argument ->
+            argument.size() == objectNames.length
+                && argument.containsAll(Arrays.asList(objectNames)));
+  }
+
+  private int calls(String method) {
+    AtomicInteger count = calls.get(method);
+    return count == null ? 0 : count.get();
+  }
+
+  // counts the calls of each method, MBeanServer implementations can't be spied on
+  private MBeanServerConnection countingCalls(MBeanServer delegate) {
+    return (MBeanServerConnection)
+        Proxy.newProxyInstance(
+            BeanFinderTest.class.getClassLoader(),
+            new Class<?>[] {MBeanServerConnection.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "toString":
+                  return "connection";
+                default:
+                  calls.computeIfAbsent(method.getName(), unused -> new AtomicInteger())
+                      .incrementAndGet();
+                  try {
+                    return method.invoke(delegate, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+              }
+            });
+  }
+}
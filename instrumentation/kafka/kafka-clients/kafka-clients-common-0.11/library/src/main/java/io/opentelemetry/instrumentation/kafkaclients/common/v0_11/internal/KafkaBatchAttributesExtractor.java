@@ -0,0 +1,65 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Describes the records of a batch by their offset range per partition, used when the batch process
+ * span only links to some of the records.
+ */
+enum KafkaBatchAttributesExtractor implements AttributesExtractor<KafkaReceiveRequest, Void> {
+  INSTANCE;
+
+  private static final AttributeKey<List<String>> MESSAGING_KAFKA_BATCH_PARTITIONS =
+      AttributeKey.stringArrayKey("messaging.kafka.batch.partitions");
+  private static final AttributeKey<List<Long>> MESSAGING_KAFKA_BATCH_MIN_OFFSETS =
+      AttributeKey.longArrayKey("messaging.kafka.batch.min_offsets");
+  private static final AttributeKey<List<Long>> MESSAGING_KAFKA_BATCH_MAX_OFFSETS =
+      AttributeKey.longArrayKey("messaging.kafka.batch.max_offsets");
+
+  @Override
+  public void onStart(
+      AttributesBuilder attributes, Context parentContext, KafkaReceiveRequest request) {
+
+    ConsumerRecords<?, ?> records = request.getRecords();
+    Set<TopicPartition> partitions = records.partitions();
+    List<String> partitionNames = new ArrayList<>(partitions.size());
+    List<Long> minOffsets = new ArrayList<>(partitions.size());
+    List<Long> maxOffsets = new ArrayList<>(partitions.size());
+    for (TopicPartition partition : partitions) {
+      List<? extends ConsumerRecord<?, ?>> partitionRecords = records.records(partition);
+      if (partitionRecords.isEmpty()) {
+        continue;
+      }
+      // the records of a partition are ordered by offset
+      partitionNames.add(partition.toString());
+      minOffsets.add(partitionRecords.get(0).offset());
+      maxOffsets.add(partitionRecords.get(partitionRecords.size() - 1).offset());
+    }
+    attributes.put(MESSAGING_KAFKA_BATCH_PARTITIONS, partitionNames);
+    attributes.put(MESSAGING_KAFKA_BATCH_MIN_OFFSETS, minOffsets);
+    attributes.put(MESSAGING_KAFKA_BATCH_MAX_OFFSETS, maxOffsets);
+  }
+
+  @Override
+  public void onEnd(
+      AttributesBuilder attributes,
+      Context context,
+      KafkaReceiveRequest request,
+      @Nullable Void unused,
+      @Nullable Throwable error) {}
+}
@@ -5,33 +5,96 @@
 
 package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanLinksExtractor;
-import io.opentelemetry.instrumentation.api.internal.PropagatorBasedSpanLinksExtractor;
+import java.util.HashSet;
+import java.util.Set;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
 
 final class KafkaBatchProcessSpanLinksExtractor implements SpanLinksExtractor<KafkaReceiveRequest> {
 
-  private final SpanLinksExtractor<KafkaProcessRequest> singleRecordLinkExtractor;
+  private final TextMapPropagator propagator;
+  // negative when the number of links is not limited
+  private final int maxLinks;
+  private final KafkaBatchSpanLinksSampling sampling;
 
-  KafkaBatchProcessSpanLinksExtractor(TextMapPropagator propagator) {
-    this.singleRecordLinkExtractor =
-        new PropagatorBasedSpanLinksExtractor<>(propagator, KafkaConsumerRecordGetter.INSTANCE);
+  KafkaBatchProcessSpanLinksExtractor(
+      TextMapPropagator propagator, int maxLinks, KafkaBatchSpanLinksSampling sampling) {
+    this.propagator = propagator;
+    this.maxLinks = maxLinks;
+    this.sampling = sampling;
   }
 
   @Override
   public void extract(
       SpanLinksBuilder spanLinks, Context parentContext, KafkaReceiveRequest request) {
 
+    ConsumerRecords<?, ?> records = request.getRecords();
+    if (maxLinks == 0) {
+      return;
+    }
+    if (maxLinks < 0) {
+      for (ConsumerRecord<?, ?> record : records) {
+        spanLinks.addLink(extractSpanContext(record, request));
+      }
+    } else if (sampling == KafkaBatchSpanLinksSampling.DISTINCT_TRACE) {
+      extractDistinctTraces(spanLinks, request);
+    } else {
+      extractUniform(spanLinks, request);
+    }
+  }
+
+  private void extractUniform(SpanLinksBuilder spanLinks, KafkaReceiveRequest request) {
+    ConsumerRecords<?, ?> records = request.getRecords();
+    int count = records.count();
+    int links = 0;
+    long index = 0;
+    long nextIndex = 0;
+    for (ConsumerRecord<?, ?> record : records) {
+      if (index++ != nextIndex) {
+        continue;
+      }
+      SpanContext spanContext = extractSpanContext(record, request);
+      if (!spanContext.isValid()) {
+        // records without a trace context don't use up a link, try the next record instead
+        nextIndex = index;
+        continue;
+      }
+      spanLinks.addLink(spanContext);
+      if (++links == maxLinks) {
+        return;
+      }
+      // spread the remaining links evenly over the batch
+      nextIndex = Math.max(index, (long) links * count / maxLinks);
+    }
+  }
+
+  private void extractDistinctTraces(SpanLinksBuilder spanLinks, KafkaReceiveRequest request) {
+    Set<String> traceIds = new HashSet<>();
     for (ConsumerRecord<?, ?> record : request.getRecords()) {
-      // explicitly passing root to avoid situation where context propagation is turned off and the
-      // parent (CONSUMER receive) span is linked
-      singleRecordLinkExtractor.extract(
-          spanLinks,
-          Context.root(),
-          KafkaProcessRequest.create(record, request.getConsumerGroup(), request.getClientId()));
+      SpanContext spanContext = extractSpanContext(record, request);
+      if (spanContext.isValid() && traceIds.add(spanContext.getTraceId())) {
+        spanLinks.addLink(spanContext);
+        if (traceIds.size() == maxLinks) {
+          return;
+        }
+      }
     }
   }
+
+  private SpanContext extractSpanContext(ConsumerRecord<?, ?> record, KafkaReceiveRequest request) {
+    // explicitly passing root to avoid situation where context propagation is turned off and the
+    // parent (CONSUMER receive) span is linked
+    Context extracted =
+        propagator.extract(
+            Context.root(),
+            KafkaProcessRequest.create(record, request.getConsumerGroup(), request.getClientId()),
+            KafkaConsumerRecordGetter.INSTANCE);
+    return Span.fromContext(extracted).getSpanContext();
+  }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
+
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * How the records that a batch process span links to are picked when the number of links is
+ * limited.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public enum KafkaBatchSpanLinksSampling {
+  /** Links to records spread evenly over the batch, only their headers are read. */
+  UNIFORM,
+  /**
+   * Links to the first record of every distinct trace, reads the headers of all records until the
+   * limit is reached.
+   */
+  DISTINCT_TRACE;
+
+  private static final Logger logger =
+      Logger.getLogger(KafkaBatchSpanLinksSampling.class.getName());
+
+  /**
+   * Parses the value of a configuration property, e.g. {@code distinct-trace}. Unknown values fall
+   * back to {@link #UNIFORM}.
+   */
+  public static KafkaBatchSpanLinksSampling parse(String value) {
+    try {
+      return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      logger.log(
+          Level.WARNING,
+          "Unknown kafka batch span links sampling \"{0}\", using \"uniform\" instead",
+          value);
+      return UNIFORM;
+    }
+  }
+}
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
@@ -34,7 +35,16 @@ final class KafkaConsumerAttributesExtractor
 
     ConsumerRecord<?, ?> record = request.getRecord();
 
-    attributes.put(MESSAGING_DESTINATION_PARTITION_ID, String.valueOf(record.partition()));
+    Attributes partitionAttributes = request.getPartitionAttributes();
+    if (partitionAttributes != null) {
+      attributes.putAll(partitionAttributes);
+    } else {
+      attributes.put(MESSAGING_DESTINATION_PARTITION_ID, String.valueOf(record.partition()));
+      String consumerGroup = request.getConsumerGroup();
+      if (consumerGroup != null) {
+        attributes.put(MESSAGING_KAFKA_CONSUMER_GROUP, consumerGroup);
+      }
+    }
     attributes.put(MESSAGING_KAFKA_MESSAGE_OFFSET, record.offset());
 
     Object key = record.key();
@@ -44,11 +54,18 @@ final class KafkaConsumerAttributesExtractor
     if (record.value() == null) {
       attributes.put(MESSAGING_KAFKA_MESSAGE_TOMBSTONE, true);
     }
+  }
 
-    String consumerGroup = request.getConsumerGroup();
-    if (consumerGroup != null) {
-      attributes.put(MESSAGING_KAFKA_CONSUMER_GROUP, consumerGroup);
+  /** Returns the attributes that are the same for all records of the partition. */
+  static Attributes partitionAttributes(int partition, @Nullable String consumerGroup) {
+    if (consumerGroup == null) {
+      return Attributes.of(MESSAGING_DESTINATION_PARTITION_ID, String.valueOf(partition));
     }
+    return Attributes.of(
+        MESSAGING_DESTINATION_PARTITION_ID,
+        String.valueOf(partition),
+        MESSAGING_KAFKA_CONSUMER_GROUP,
+        consumerGroup);
   }
 
   private static boolean canSerialize(Class<?> keyClass) {
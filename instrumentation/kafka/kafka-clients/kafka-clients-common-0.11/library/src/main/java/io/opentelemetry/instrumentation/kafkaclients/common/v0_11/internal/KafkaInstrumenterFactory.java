@@ -37,6 +37,9 @@ public final class KafkaInstrumenterFactory {
   private List<String> capturedHeaders = emptyList();
   private boolean captureExperimentalSpanAttributes = false;
   private boolean messagingReceiveInstrumentationEnabled = false;
+  private int batchProcessMaxSpanLinks = -1;
+  private KafkaBatchSpanLinksSampling batchProcessSpanLinksSampling =
+      KafkaBatchSpanLinksSampling.UNIFORM;
 
   public KafkaInstrumenterFactory(OpenTelemetry openTelemetry, String instrumentationName) {
     this.openTelemetry = openTelemetry;
@@ -79,6 +82,25 @@ public final class KafkaInstrumenterFactory {
     return setMessagingReceiveTelemetryEnabled(messagingReceiveInstrumentationEnabled);
   }
 
+  /**
+   * Sets the maximum number of span links of a batch process span, a negative value means that the
+   * span links to every record of the batch. When the links are limited, the span describes the
+   * batch with the offset range of each partition instead.
+   */
+  @CanIgnoreReturnValue
+  public KafkaInstrumenterFactory setBatchProcessMaxSpanLinks(int batchProcessMaxSpanLinks) {
+    this.batchProcessMaxSpanLinks = batchProcessMaxSpanLinks;
+    return this;
+  }
+
+  /** Sets how the linked records are picked when the span links of a batch are limited. */
+  @CanIgnoreReturnValue
+  public KafkaInstrumenterFactory setBatchProcessSpanLinksSampling(
+      KafkaBatchSpanLinksSampling batchProcessSpanLinksSampling) {
+    this.batchProcessSpanLinksSampling = batchProcessSpanLinksSampling;
+    return this;
+  }
+
   public Instrumenter<KafkaProducerRequest, RecordMetadata> createProducerInstrumenter() {
     return createProducerInstrumenter(Collections.emptyList());
   }
@@ -161,18 +183,24 @@ public final class KafkaInstrumenterFactory {
     KafkaReceiveAttributesGetter getter = KafkaReceiveAttributesGetter.INSTANCE;
     MessageOperation operation = MessageOperation.PROCESS;
 
-    return Instrumenter.<KafkaReceiveRequest, Void>builder(
-            openTelemetry,
-            instrumentationName,
-            MessagingSpanNameExtractor.create(getter, operation))
-        .addAttributesExtractor(
-            buildMessagingAttributesExtractor(getter, operation, capturedHeaders))
-        .addAttributesExtractor(KafkaReceiveAttributesExtractor.INSTANCE)
-        .addSpanLinksExtractor(
-            new KafkaBatchProcessSpanLinksExtractor(
-                openTelemetry.getPropagators().getTextMapPropagator()))
-        .setErrorCauseExtractor(errorCauseExtractor)
-        .buildInstrumenter(SpanKindExtractor.alwaysConsumer());
+    InstrumenterBuilder<KafkaReceiveRequest, Void> builder =
+        Instrumenter.<KafkaReceiveRequest, Void>builder(
+                openTelemetry,
+                instrumentationName,
+                MessagingSpanNameExtractor.create(getter, operation))
+            .addAttributesExtractor(
+                buildMessagingAttributesExtractor(getter, operation, capturedHeaders))
+            .addAttributesExtractor(KafkaReceiveAttributesExtractor.INSTANCE)
+            .addSpanLinksExtractor(
+                new KafkaBatchProcessSpanLinksExtractor(
+                    openTelemetry.getPropagators().getTextMapPropagator(),
+                    batchProcessMaxSpanLinks,
+                    batchProcessSpanLinksSampling))
+            .setErrorCauseExtractor(errorCauseExtractor);
+    if (batchProcessMaxSpanLinks >= 0) {
+      builder.addAttributesExtractor(KafkaBatchAttributesExtractor.INSTANCE);
+    }
+    return builder.buildInstrumenter(SpanKindExtractor.alwaysConsumer());
   }
 
   private static <REQUEST, RESPONSE>
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
 
+import io.opentelemetry.api.common.Attributes;
 import javax.annotation.Nullable;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -16,6 +17,8 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 public class KafkaProcessRequest extends AbstractKafkaConsumerRequest {
 
   private final ConsumerRecord<?, ?> record;
+  // attributes that are the same for all records of a partition, shared between those records
+  @Nullable private final Attributes partitionAttributes;
 
   public static KafkaProcessRequest create(
       ConsumerRecord<?, ?> record, @Nullable Consumer<?, ?> consumer) {
@@ -34,12 +37,37 @@ public class KafkaProcessRequest extends AbstractKafkaConsumerRequest {
     return new KafkaProcessRequest(record, consumerGroup, clientId);
   }
 
+  static KafkaProcessRequest create(
+      KafkaConsumerContext consumerContext,
+      ConsumerRecord<?, ?> record,
+      Attributes partitionAttributes) {
+    return new KafkaProcessRequest(
+        record,
+        consumerContext.getConsumerGroup(),
+        consumerContext.getClientId(),
+        partitionAttributes);
+  }
+
   public KafkaProcessRequest(ConsumerRecord<?, ?> record, String consumerGroup, String clientId) {
+    this(record, consumerGroup, clientId, null);
+  }
+
+  private KafkaProcessRequest(
+      ConsumerRecord<?, ?> record,
+      String consumerGroup,
+      String clientId,
+      @Nullable Attributes partitionAttributes) {
     super(consumerGroup, clientId);
     this.record = record;
+    this.partitionAttributes = partitionAttributes;
   }
 
   public ConsumerRecord<?, ?> getRecord() {
     return record;
   }
+
+  @Nullable
+  Attributes getPartitionAttributes() {
+    return partitionAttributes;
+  }
 }
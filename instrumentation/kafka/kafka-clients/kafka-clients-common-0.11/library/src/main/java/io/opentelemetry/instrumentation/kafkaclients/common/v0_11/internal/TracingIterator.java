@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
@@ -33,6 +34,11 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
   @Nullable private Context currentContext;
   @Nullable private Scope currentScope;
 
+  // the records of a poll are grouped by partition, so consecutive records can share the
+  // attributes that only depend on the partition
+  private int partition;
+  @Nullable private Attributes partitionAttributes;
+
   private TracingIterator(
       Iterator<ConsumerRecord<K, V>> delegateIterator,
       Instrumenter<KafkaProcessRequest, Void> instrumenter,
@@ -78,13 +84,26 @@ public class TracingIterator<K, V> implements Iterator<ConsumerRecord<K, V>> {
     // (https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/1947)
     ConsumerRecord<K, V> next = delegateIterator.next();
     if (next != null && wrappingEnabled.getAsBoolean()) {
-      currentRequest = KafkaProcessRequest.create(consumerContext, next);
+      currentRequest =
+          KafkaProcessRequest.create(consumerContext, next, getPartitionAttributes(next));
       currentContext = instrumenter.start(parentContext, currentRequest);
       currentScope = currentContext.makeCurrent();
     }
     return next;
   }
 
+  private Attributes getPartitionAttributes(ConsumerRecord<K, V> record) {
+    Attributes attributes = partitionAttributes;
+    if (attributes == null || record.partition() != partition) {
+      attributes =
+          KafkaConsumerAttributesExtractor.partitionAttributes(
+              record.partition(), consumerContext.getConsumerGroup());
+      partition = record.partition();
+      partitionAttributes = attributes;
+    }
+    return attributes;
+  }
+
   private void closeScopeAndEndSpan() {
     if (currentScope != null) {
       currentScope.close();
@@ -14,9 +14,9 @@ import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
-import io.opentelemetry.instrumentation.api.internal.SemconvStability;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.CallerLocator;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.CodeLocationAttributes;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
-import io.opentelemetry.semconv.CodeAttributes;
 import io.opentelemetry.semconv.ExceptionAttributes;
 import io.opentelemetry.semconv.incubating.ThreadIncubatingAttributes;
 import java.io.PrintWriter;
@@ -29,7 +29,6 @@ import java.util.stream.Collectors;
 import org.apache.log4j.Category;
 import org.apache.log4j.MDC;
 import org.apache.log4j.Priority;
-import org.apache.log4j.spi.LocationInfo;
 
 public final class LogEventMapper {
 
@@ -37,11 +36,6 @@ public final class LogEventMapper {
 
   public static final LogEventMapper INSTANCE = new LogEventMapper();
 
-  private static final AttributeKey<String> CODE_FILEPATH = AttributeKey.stringKey("code.filepath");
-  private static final AttributeKey<String> CODE_FUNCTION = AttributeKey.stringKey("code.function");
-  private static final AttributeKey<Long> CODE_LINENO = AttributeKey.longKey("code.lineno");
-  private static final AttributeKey<String> CODE_NAMESPACE =
-      AttributeKey.stringKey("code.namespace");
   // copied from EventIncubatingAttributes
   private static final AttributeKey<String> EVENT_NAME = AttributeKey.stringKey("event.name");
   // copied from org.apache.log4j.Level because it was only introduced in 1.2.12
@@ -121,43 +115,9 @@ public final class LogEventMapper {
     }
 
     if (captureCodeAttributes) {
-      LocationInfo locationInfo = new LocationInfo(new Throwable(), fqcn);
-      String fileName = locationInfo.getFileName();
-      if (fileName != null) {
-        if (SemconvStability.isEmitStableCodeSemconv()) {
-          builder.setAttribute(CodeAttributes.CODE_FILE_PATH, fileName);
-        }
-        if (SemconvStability.isEmitOldCodeSemconv()) {
-          builder.setAttribute(CODE_FILEPATH, fileName);
-        }
-      }
-
-      if (SemconvStability.isEmitStableCodeSemconv()) {
-        builder.setAttribute(
-            CodeAttributes.CODE_FUNCTION_NAME,
-            locationInfo.getClassName() + "." + locationInfo.getMethodName());
-      }
-      if (SemconvStability.isEmitOldCodeSemconv()) {
-        builder.setAttribute(CODE_NAMESPACE, locationInfo.getClassName());
-        builder.setAttribute(CODE_FUNCTION, locationInfo.getMethodName());
-      }
-
-      String lineNumber = locationInfo.getLineNumber();
-      int codeLineNo = -1;
-      if (!lineNumber.equals("?")) {
-        try {
-          codeLineNo = Integer.parseInt(lineNumber);
-        } catch (NumberFormatException e) {
-          // ignore
-        }
-      }
-      if (codeLineNo >= 0) {
-        if (SemconvStability.isEmitStableCodeSemconv()) {
-          builder.setAttribute(CodeAttributes.CODE_LINE_NUMBER, (long) codeLineNo);
-        }
-        if (SemconvStability.isEmitOldCodeSemconv()) {
-          builder.setAttribute(CODE_LINENO, (long) codeLineNo);
-        }
+      StackTraceElement location = CallerLocator.findCaller(fqcn);
+      if (location != null) {
+        builder.setAllAttributes(CodeLocationAttributes.get(location));
       }
     }
 
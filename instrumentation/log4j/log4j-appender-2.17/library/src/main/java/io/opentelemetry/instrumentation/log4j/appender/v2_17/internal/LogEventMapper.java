@@ -10,9 +10,8 @@ import io.opentelemetry.api.incubator.logs.ExtendedLogRecordBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
-import io.opentelemetry.instrumentation.api.internal.SemconvStability;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.CodeLocationAttributes;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
-import io.opentelemetry.semconv.CodeAttributes;
 import io.opentelemetry.semconv.ExceptionAttributes;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -32,12 +31,6 @@ import org.apache.logging.log4j.message.Message;
  */
 public final class LogEventMapper<T> {
 
-  // copied from CodeIncubatingAttributes
-  private static final AttributeKey<String> CODE_FILEPATH = AttributeKey.stringKey("code.filepath");
-  private static final AttributeKey<String> CODE_FUNCTION = AttributeKey.stringKey("code.function");
-  private static final AttributeKey<String> CODE_NAMESPACE =
-      AttributeKey.stringKey("code.namespace");
-  private static final AttributeKey<Long> CODE_LINENO = AttributeKey.longKey("code.lineno");
   // copied from ThreadIncubatingAttributes
   private static final AttributeKey<Long> THREAD_ID = AttributeKey.longKey("thread.id");
   private static final AttributeKey<String> THREAD_NAME = AttributeKey.stringKey("thread.name");
@@ -140,34 +133,7 @@ public final class LogEventMapper<T> {
     if (captureCodeAttributes) {
       StackTraceElement source = sourceSupplier.get();
       if (source != null) {
-        String fileName = source.getFileName();
-        if (fileName != null) {
-          if (SemconvStability.isEmitStableCodeSemconv()) {
-            builder.setAttribute(CodeAttributes.CODE_FILE_PATH, fileName);
-          }
-          if (SemconvStability.isEmitOldCodeSemconv()) {
-            builder.setAttribute(CODE_FILEPATH, fileName);
-          }
-        }
-        if (SemconvStability.isEmitStableCodeSemconv()) {
-          builder.setAttribute(
-              CodeAttributes.CODE_FUNCTION_NAME,
-              source.getClassName() + "." + source.getMethodName());
-        }
-        if (SemconvStability.isEmitOldCodeSemconv()) {
-          builder.setAttribute(CODE_NAMESPACE, source.getClassName());
-          builder.setAttribute(CODE_FUNCTION, source.getMethodName());
-        }
-
-        int lineNumber = source.getLineNumber();
-        if (lineNumber > 0) {
-          if (SemconvStability.isEmitStableCodeSemconv()) {
-            builder.setAttribute(CodeAttributes.CODE_LINE_NUMBER, (long) lineNumber);
-          }
-          if (SemconvStability.isEmitOldCodeSemconv()) {
-            builder.setAttribute(CODE_LINENO, (long) lineNumber);
-          }
-        }
+        builder.setAllAttributes(CodeLocationAttributes.get(source));
       }
     }
 
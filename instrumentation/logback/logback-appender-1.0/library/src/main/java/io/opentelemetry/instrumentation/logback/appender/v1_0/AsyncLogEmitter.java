@@ -0,0 +1,140 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.opentelemetry.context.Context;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * Emits log events on a background thread. Logging threads only add the event to a {@link
+ * LoggingEventQueue}, mapping the event to a log record and passing it to the SDK happens on the
+ * background thread.
+ *
+ * <p>Events that the emitter doesn't emit, e.g. because it failed, are counted as dropped.
+ */
+final class AsyncLogEmitter {
+
+  // number of events emitted before checking whether the emitter was stopped
+  private static final int BATCH_SIZE = 512;
+  // the background thread is woken up by the logging threads, this is just a safety net
+  private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  // how long a logging thread waits before retrying when the queue is full
+  private static final long FULL_QUEUE_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final LoggingEventQueue queue;
+  private final boolean blockWhenFull;
+  private final BiPredicate<ILoggingEvent, Context> emitter;
+  private final BiConsumer<ILoggingEvent, Context> queueConsumer = this::emitQueued;
+  private final LongAdder droppedEvents = new LongAdder();
+  // number of logging threads that are in emit(), the final drain waits for them
+  private final AtomicInteger activeEmits = new AtomicInteger();
+  private final Thread thread;
+
+  private volatile boolean stopped;
+  // whether the background thread found the queue empty and is about to park
+  private volatile boolean idle;
+
+  AsyncLogEmitter(
+      int queueSize, boolean blockWhenFull, BiPredicate<ILoggingEvent, Context> emitter) {
+    this.queue = new LoggingEventQueue(queueSize);
+    this.blockWhenFull = blockWhenFull;
+    this.emitter = emitter;
+    thread = new Thread(this::run, "otel-logback-appender");
+    thread.setDaemon(true);
+    thread.setContextClassLoader(null);
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  /**
+   * Adds the event to the queue. Returns {@code false} when the event was dropped because the queue
+   * is full and blocking is not enabled or the event is logged by the background thread itself, or
+   * the emitter was stopped or its background thread died.
+   */
+  boolean emit(ILoggingEvent event, Context context) {
+    activeEmits.incrementAndGet();
+    try {
+      // read after activeEmits was incremented, so either this sees that the emitter was stopped or
+      // the final drain of the background thread waits until the event is in the queue
+      if (stopped) {
+        droppedEvents.increment();
+        return false;
+      }
+      while (!queue.offer(event, context)) {
+        // nobody would make room in the queue when the background thread died from an error, and
+        // the background thread would wait for itself when logging from the emitter, e.g. when
+        // the exporter logs a warning
+        if (!blockWhenFull || stopped || !thread.isAlive() || Thread.currentThread() == thread) {
+          droppedEvents.increment();
+          return false;
+        }
+        LockSupport.unpark(thread);
+        LockSupport.parkNanos(this, FULL_QUEUE_WAIT_NANOS);
+      }
+    } finally {
+      activeEmits.decrementAndGet();
+    }
+    // idle is written before the background thread checks the queue for the last time, and the
+    // event was published before idle is read here, so either that check sees the event or the
+    // background thread is woken up
+    if (idle) {
+      LockSupport.unpark(thread);
+    }
+    return true;
+  }
+
+  long getDroppedEvents() {
+    return droppedEvents.sum();
+  }
+
+  /** Stops the background thread, waiting up to {@code maxFlushMillis} for queued events. */
+  void stop(long maxFlushMillis) {
+    stopped = true;
+    LockSupport.unpark(thread);
+    try {
+      thread.join(maxFlushMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    while (!stopped) {
+      if (queue.drain(queueConsumer, BATCH_SIZE) == 0) {
+        idle = true;
+        if (queue.isEmpty() && !stopped) {
+          LockSupport.parkNanos(this, MAX_IDLE_NANOS);
+        }
+        idle = false;
+      }
+    }
+    // emit the events that were logged before the emitter was stopped, including the ones that
+    // logging threads are still adding, emit() drops the events that are logged after that
+    while (true) {
+      boolean emitsInProgress = activeEmits.get() > 0;
+      if (queue.drain(queueConsumer, BATCH_SIZE) == 0) {
+        if (!emitsInProgress) {
+          break;
+        }
+        Thread.yield();
+      }
+    }
+  }
+
+  private void emitQueued(ILoggingEvent event, Context context) {
+    if (!emitter.test(event, context)) {
+      droppedEvents.increment();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.opentelemetry.context.Context;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded queue of log events that can be written by many threads and is read by a single
+ * thread. The events are stored in a ring of preallocated slots that are reused, so adding an
+ * event doesn't allocate.
+ */
+final class LoggingEventQueue {
+
+  private final Slot[] slots;
+  private final int mask;
+  // next position that a producer will claim
+  private final AtomicLong tail = new AtomicLong();
+  // next position to read, only accessed by the consumer thread
+  private long head;
+
+  LoggingEventQueue(int capacity) {
+    // with a single slot the sequence of a slot holding the event of one round would equal the
+    // sequence of the free slot for the next round, and offer() would overwrite unread events
+    int size = 2;
+    while (size < capacity) {
+      size <<= 1;
+    }
+    slots = new Slot[size];
+    for (int i = 0; i < size; i++) {
+      slots[i] = new Slot(i);
+    }
+    mask = size - 1;
+  }
+
+  int capacity() {
+    return slots.length;
+  }
+
+  /** Adds the event to the queue, returns {@code false} when the queue is full. */
+  boolean offer(ILoggingEvent event, Context context) {
+    long position = tail.get();
+    while (true) {
+      Slot slot = slots[(int) position & mask];
+      long difference = slot.sequence - position;
+      if (difference == 0) {
+        // the slot is free for this position, try to claim it
+        if (tail.compareAndSet(position, position + 1)) {
+          slot.event = event;
+          slot.context = context;
+          // publishes the event to the consumer
+          slot.sequence = position + 1;
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // the slot still holds the event from the previous round, which wasn't read yet
+        return false;
+      } else {
+        // another producer claimed this position
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Passes up to {@code maxEvents} queued events to the {@code consumer}, returns the number of
+   * events that were passed. Must only be called from a single thread.
+   */
+  int drain(BiConsumer<ILoggingEvent, Context> consumer, int maxEvents) {
+    int count = 0;
+    while (count < maxEvents) {
+      Slot slot = slots[(int) head & mask];
+      if (slot.sequence != head + 1) {
+        // empty, or the producer that claimed the slot hasn't written it yet
+        break;
+      }
+      ILoggingEvent event = slot.event;
+      Context context = slot.context;
+      slot.event = null;
+      slot.context = null;
+      // frees the slot for the producers of the next round
+      slot.sequence = head + slots.length;
+      head++;
+      count++;
+      consumer.accept(event, context);
+    }
+    return count;
+  }
+
+  /** Must only be called from the thread that calls {@link #drain}. */
+  boolean isEmpty() {
+    return slots[(int) head & mask].sequence != head + 1;
+  }
+
+  private static final class Slot {
+    // equals the position that can claim this slot when it is free, and that position + 1 when it
+    // holds an event
+    volatile long sequence;
+    // written before and read after the sequence, which makes them visible to the other thread
+    @Nullable ILoggingEvent event;
+    @Nullable Context context;
+
+    Slot(long sequence) {
+      this.sequence = sequence;
+    }
+  }
+}
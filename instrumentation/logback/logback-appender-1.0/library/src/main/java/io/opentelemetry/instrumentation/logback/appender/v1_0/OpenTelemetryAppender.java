@@ -13,6 +13,8 @@ import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.ObservableLongCounter;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.LoggingEventMapper;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -24,12 +26,15 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
 
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.logback-appender-1.0";
+
   private boolean captureExperimentalAttributes = false;
   private boolean captureCodeAttributes = false;
   private boolean captureMarkerAttribute = false;
@@ -52,6 +57,14 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
 
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+  private boolean async = false;
+  private int asyncQueueSize = 2048;
+  private boolean asyncBlockWhenFull = false;
+  private long asyncMaxFlushTime = 1000;
+  @Nullable private volatile AsyncLogEmitter asyncEmitter;
+  @Nullable private ObservableLongCounter droppedLogsCounter;
+  private final AtomicBoolean asyncQueueFullWarningLogged = new AtomicBoolean();
+
   public OpenTelemetryAppender() {}
 
   /**
@@ -96,9 +109,29 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
             .setCaptureEventName(captureEventName)
             .build();
     eventsToReplay = new ArrayBlockingQueue<>(numLogsCapturedBeforeOtelInstall);
+    if (async) {
+      AsyncLogEmitter asyncEmitter =
+          new AsyncLogEmitter(asyncQueueSize, asyncBlockWhenFull, this::emitQueued);
+      asyncEmitter.start();
+      this.asyncEmitter = asyncEmitter;
+      // the OpenTelemetry instance may have been set before starting, or before restarting after
+      // stop() closed the counter
+      registerDroppedLogsCounter(openTelemetry);
+    }
     super.start();
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    AsyncLogEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.stop(asyncMaxFlushTime);
+      this.asyncEmitter = null;
+    }
+    closeDroppedLogsCounter();
+  }
+
   @SuppressWarnings("SystemOut")
   @Override
   protected void append(ILoggingEvent event) {
@@ -254,6 +287,40 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     this.numLogsCapturedBeforeOtelInstall = size;
   }
 
+  /**
+   * Sets whether log events are mapped to log records and emitted on a background thread, instead
+   * of on the thread that logs them. The logging thread only adds the event to a bounded queue, see
+   * {@link #setAsyncQueueSize(int)} and {@link #setAsyncBlockWhenFull(boolean)}.
+   */
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
+  /**
+   * Sets the maximum number of log events that are queued for the background thread when {@link
+   * #setAsync(boolean) async} emitting is enabled. The size is rounded up to a power of two.
+   */
+  public void setAsyncQueueSize(int asyncQueueSize) {
+    this.asyncQueueSize = asyncQueueSize;
+  }
+
+  /**
+   * Sets whether logging threads wait for space in the queue when it is full, instead of dropping
+   * the log event. Dropped log events are counted by the {@code otel.logback_appender.dropped_logs}
+   * metric.
+   */
+  public void setAsyncBlockWhenFull(boolean asyncBlockWhenFull) {
+    this.asyncBlockWhenFull = asyncBlockWhenFull;
+  }
+
+  /**
+   * Sets how long, in milliseconds, stopping the appender waits for queued log events to be
+   * emitted.
+   */
+  public void setAsyncMaxFlushTime(long asyncMaxFlushTime) {
+    this.asyncMaxFlushTime = asyncMaxFlushTime;
+  }
+
   /**
    * Configures the {@link OpenTelemetry} used to append logs. This MUST be called for the appender
    * to function. See {@link #install(OpenTelemetry)} for simple installation option.
@@ -272,14 +339,75 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     } finally {
       writeLock.unlock();
     }
+    registerDroppedLogsCounter(openTelemetry);
     // now emit
     for (LoggingEventToReplay eventToReplay : eventsToReplay) {
-      emit(openTelemetry, eventToReplay);
+      mapper.emit(openTelemetry.getLogsBridge(), eventToReplay, -1);
     }
   }
 
   private void emit(OpenTelemetry openTelemetry, ILoggingEvent event) {
-    mapper.emit(openTelemetry.getLogsBridge(), event, -1);
+    AsyncLogEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter == null) {
+      mapper.emit(openTelemetry.getLogsBridge(), event, -1);
+      return;
+    }
+
+    // copy everything that is only available on the logging thread (formatted message, thread
+    // name and MDC) into the event before it is handed over to the background thread
+    event.prepareForDeferredProcessing();
+    if (captureCodeAttributes) {
+      event.getCallerData();
+    }
+    if (!asyncEmitter.emit(event, Context.current())
+        && !asyncQueueFullWarningLogged.getAndSet(true)) {
+      addWarn(
+          "Dropping log events because the asynchronous queue of the OpenTelemetry appender is"
+              + " full, consider increasing asyncQueueSize.");
+    }
+  }
+
+  // called on the background thread of the async emitter, returns false when the event was dropped
+  private boolean emitQueued(ILoggingEvent event, Context context) {
+    OpenTelemetry openTelemetry = this.openTelemetry;
+    // tests set openTelemetry to null, drop events that were queued before
+    if (openTelemetry == null) {
+      return false;
+    }
+    try {
+      mapper.emit(openTelemetry.getLogsBridge(), event, -1, context);
+      return true;
+    } catch (Throwable t) {
+      // keeps the background thread alive, otherwise blocked logging threads would wait forever
+      addError("Failed to emit log event", t);
+      return false;
+    }
+  }
+
+  private void registerDroppedLogsCounter(OpenTelemetry openTelemetry) {
+    closeDroppedLogsCounter();
+    AsyncLogEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter == null || openTelemetry == null) {
+      return;
+    }
+    droppedLogsCounter =
+        openTelemetry
+            .getMeter(INSTRUMENTATION_NAME)
+            .counterBuilder("otel.logback_appender.dropped_logs")
+            .setUnit("{log_record}")
+            .setDescription(
+                "Number of log events dropped because the asynchronous queue of the"
+                    + " OpenTelemetry appender was full, or because they could not be emitted.")
+            .buildWithCallback(
+                measurement -> measurement.record(asyncEmitter.getDroppedEvents()));
+  }
+
+  private void closeDroppedLogsCounter() {
+    ObservableLongCounter droppedLogsCounter = this.droppedLogsCounter;
+    if (droppedLogsCounter != null) {
+      droppedLogsCounter.close();
+      this.droppedLogsCounter = null;
+    }
   }
 
   // copied from SDK's DefaultConfigProperties
@@ -5,9 +5,6 @@
 
 package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
 
-import static io.opentelemetry.semconv.CodeAttributes.CODE_FILE_PATH;
-import static io.opentelemetry.semconv.CodeAttributes.CODE_FUNCTION_NAME;
-import static io.opentelemetry.semconv.CodeAttributes.CODE_LINE_NUMBER;
 import static java.util.Collections.emptyList;
 
 import ch.qos.logback.classic.Level;
@@ -20,7 +17,7 @@ import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.LoggerProvider;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
-import io.opentelemetry.instrumentation.api.internal.SemconvStability;
+import io.opentelemetry.instrumentation.api.incubator.log.internal.CodeLocationAttributes;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.tooling.muzzle.NoMuzzle;
 import io.opentelemetry.semconv.ExceptionAttributes;
@@ -50,12 +47,6 @@ import org.slf4j.event.KeyValuePair;
  * any time.
  */
 public final class LoggingEventMapper {
-  // copied from CodeIncubatingAttributes
-  private static final AttributeKey<String> CODE_FILEPATH = AttributeKey.stringKey("code.filepath");
-  private static final AttributeKey<String> CODE_NAMESPACE =
-      AttributeKey.stringKey("code.namespace");
-  private static final AttributeKey<String> CODE_FUNCTION = AttributeKey.stringKey("code.function");
-  private static final AttributeKey<Long> CODE_LINENO = AttributeKey.longKey("code.lineno");
   // copied from ThreadIncubatingAttributes
   private static final AttributeKey<Long> THREAD_ID = AttributeKey.longKey("thread.id");
   private static final AttributeKey<String> THREAD_NAME = AttributeKey.stringKey("thread.name");
@@ -111,19 +102,28 @@ public final class LoggingEventMapper {
   }
 
   public void emit(LoggerProvider loggerProvider, ILoggingEvent event, long threadId) {
+    emit(loggerProvider, event, threadId, Context.current());
+  }
+
+  /**
+   * Emits the {@code event} with the given {@code context}, for events that are emitted on a
+   * different thread than the one that logged them.
+   */
+  public void emit(
+      LoggerProvider loggerProvider, ILoggingEvent event, long threadId, Context context) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
     }
     LogRecordBuilder builder =
         loggerProvider.loggerBuilder(instrumentationName).build().logRecordBuilder();
-    mapLoggingEvent(builder, event, threadId);
+    mapLoggingEvent(builder, event, threadId, context);
     builder.emit();
   }
 
   /** Map the {@link ILoggingEvent} data model onto the {@link LogRecordBuilder}. */
   private void mapLoggingEvent(
-      LogRecordBuilder builder, ILoggingEvent loggingEvent, long threadId) {
+      LogRecordBuilder builder, ILoggingEvent loggingEvent, long threadId, Context context) {
     // message
     String message = loggingEvent.getFormattedMessage();
     if (message != null) {
@@ -169,31 +169,7 @@ public final class LoggingEventMapper {
     if (captureCodeAttributes) {
       StackTraceElement[] callerData = loggingEvent.getCallerData();
       if (callerData != null && callerData.length > 0) {
-        StackTraceElement firstStackElement = callerData[0];
-        String fileName = firstStackElement.getFileName();
-        int lineNumber = firstStackElement.getLineNumber();
-
-        if (SemconvStability.isEmitOldCodeSemconv()) {
-          if (fileName != null) {
-            builder.setAttribute(CODE_FILEPATH, fileName);
-          }
-          builder.setAttribute(CODE_NAMESPACE, firstStackElement.getClassName());
-          builder.setAttribute(CODE_FUNCTION, firstStackElement.getMethodName());
-          if (lineNumber > 0) {
-            builder.setAttribute(CODE_LINENO, (long) lineNumber);
-          }
-        }
-        if (SemconvStability.isEmitStableCodeSemconv()) {
-          if (fileName != null) {
-            builder.setAttribute(CODE_FILE_PATH, fileName);
-          }
-          builder.setAttribute(
-              CODE_FUNCTION_NAME,
-              firstStackElement.getClassName() + "." + firstStackElement.getMethodName());
-          if (lineNumber > 0) {
-            builder.setAttribute(CODE_LINE_NUMBER, (long) lineNumber);
-          }
-        }
+        builder.setAllAttributes(CodeLocationAttributes.get(callerData[0]));
       }
     }
 
@@ -233,7 +209,7 @@ public final class LoggingEventMapper {
       captureLogstashMarkerAttributes(builder, loggingEvent);
     }
     // span context
-    builder.setContext(Context.current());
+    builder.setContext(context);
   }
 
   // getInstant is available since Logback 1.3
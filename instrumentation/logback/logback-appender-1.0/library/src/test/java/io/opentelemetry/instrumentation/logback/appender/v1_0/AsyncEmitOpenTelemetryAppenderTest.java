@@ -0,0 +1,122 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+class AsyncEmitOpenTelemetryAppenderTest {
+
+  private static final String LOGGER_NAME = "AsyncEmitTestLogger";
+  private static final Logger logger = LoggerFactory.getLogger(LOGGER_NAME);
+
+  @RegisterExtension
+  private static final LibraryInstrumentationExtension testing =
+      LibraryInstrumentationExtension.create();
+
+  private OpenTelemetryAppender appender;
+
+  @BeforeEach
+  void setup() {
+    LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    appender = new OpenTelemetryAppender();
+    appender.setContext(loggerContext);
+    appender.setAsync(true);
+    appender.setCaptureMdcAttributes("*");
+    appender.start();
+    ch.qos.logback.classic.Logger logbackLogger = loggerContext.getLogger(LOGGER_NAME);
+    logbackLogger.addAppender(appender);
+    logbackLogger.setAdditive(false);
+
+    appender.setOpenTelemetry(testing.getOpenTelemetry());
+  }
+
+  @AfterEach
+  void cleanup() {
+    LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    loggerContext.getLogger(LOGGER_NAME).detachAppender(appender);
+    appender.stop();
+  }
+
+  @Test
+  void logWithSpanAndMdc() {
+    Span span =
+        testing.runWithSpan(
+            "span",
+            () -> {
+              MDC.put("key", "value");
+              try {
+                logger.info("log message");
+              } finally {
+                MDC.remove("key");
+              }
+              return Span.current();
+            });
+
+    // span context and MDC are captured on the logging thread
+    testing.waitAndAssertLogRecords(
+        logRecord ->
+            logRecord
+                .hasBody("log message")
+                .hasSpanContext(span.getSpanContext())
+                .hasAttributesSatisfyingExactly(equalTo(stringKey("key"), "value")));
+  }
+
+  @Test
+  void stopEmitsQueuedEvents() {
+    for (int i = 0; i < 100; i++) {
+      logger.info("log message " + i);
+    }
+    // waits for the queued events to be emitted
+    appender.stop();
+
+    assertThat(testing.logRecords()).hasSize(100);
+  }
+
+  @Test
+  void restartRegistersDroppedLogsCounter() {
+    // stop() closes the counter that was registered by setOpenTelemetry()
+    appender.stop();
+    testing.clearData();
+    appender.start();
+
+    testing.waitAndAssertMetrics(
+        "io.opentelemetry.logback-appender-1.0",
+        "otel.logback_appender.dropped_logs",
+        metrics -> metrics.isNotEmpty());
+  }
+
+  @Test
+  void setOpenTelemetryBeforeStartRegistersDroppedLogsCounter() {
+    appender.stop();
+    testing.clearData();
+    OpenTelemetryAppender otherAppender = new OpenTelemetryAppender();
+    otherAppender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+    otherAppender.setAsync(true);
+    otherAppender.setOpenTelemetry(testing.getOpenTelemetry());
+    otherAppender.start();
+    try {
+      testing.waitAndAssertMetrics(
+          "io.opentelemetry.logback-appender-1.0",
+          "otel.logback_appender.dropped_logs",
+          metrics -> metrics.isNotEmpty());
+    } finally {
+      otherAppender.stop();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.context.Context;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class AsyncLogEmitterTest {
+
+  @Test
+  void eventsThatAreNotEmittedAreCountedAsDropped() {
+    AsyncLogEmitter emitter = new AsyncLogEmitter(16, true, (event, context) -> false);
+    emitter.start();
+    for (int i = 0; i < 10; i++) {
+      assertThat(emitter.emit(new LoggingEvent(), Context.root())).isTrue();
+    }
+    emitter.stop(10_000);
+
+    assertThat(emitter.getDroppedEvents()).isEqualTo(10);
+  }
+
+  @Test
+  void blockingEmitDoesNotWaitForDeadThread() {
+    AsyncLogEmitter emitter =
+        new AsyncLogEmitter(
+            1,
+            true,
+            (event, context) -> {
+              throw new AssertionError("emitter failure");
+            });
+    emitter.start();
+
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(10),
+        () -> {
+          // the first event kills the background thread, the queue fills up after that
+          while (emitter.emit(new LoggingEvent(), Context.root())) {
+            Thread.yield();
+          }
+        });
+    assertThat(emitter.getDroppedEvents()).isEqualTo(1);
+    emitter.stop(0);
+  }
+
+  @Test
+  void blockingEmitFromBackgroundThreadDoesNotWaitForItself() throws InterruptedException {
+    AtomicReference<AsyncLogEmitter> emitterReference = new AtomicReference<>();
+    AtomicBoolean nested = new AtomicBoolean();
+    CountDownLatch queueFilled = new CountDownLatch(1);
+    AsyncLogEmitter emitter =
+        new AsyncLogEmitter(
+            1,
+            true,
+            (event, context) -> {
+              // like an exporter that logs through the appender, until the queue is full
+              if (nested.compareAndSet(false, true)) {
+                while (emitterReference.get().emit(new LoggingEvent(), context)) {
+                  // fill the queue
+                }
+                queueFilled.countDown();
+              }
+              return true;
+            });
+    emitterReference.set(emitter);
+    emitter.start();
+
+    assertThat(emitter.emit(new LoggingEvent(), Context.root())).isTrue();
+    assertThat(queueFilled.await(10, TimeUnit.SECONDS)).isTrue();
+    emitter.stop(10_000);
+
+    assertThat(emitter.getDroppedEvents()).isEqualTo(1);
+  }
+
+  @Test
+  void eventsLoggedAfterStopAreCountedAsDropped() {
+    AsyncLogEmitter emitter = new AsyncLogEmitter(16, true, (event, context) -> true);
+    emitter.start();
+    emitter.stop(10_000);
+
+    assertThat(emitter.emit(new LoggingEvent(), Context.root())).isFalse();
+    assertThat(emitter.getDroppedEvents()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LoggingEventQueueTest {
+
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  @Test
+  void fullQueue() {
+    LoggingEventQueue queue = new LoggingEventQueue(3);
+    assertThat(queue.capacity()).isEqualTo(4);
+
+    List<ILoggingEvent> events = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      ILoggingEvent event = event("message " + i);
+      events.add(event);
+      assertThat(queue.offer(event, Context.root().with(KEY, "value " + i))).isTrue();
+    }
+    assertThat(queue.offer(event("dropped"), Context.root())).isFalse();
+
+    List<ILoggingEvent> drained = new ArrayList<>();
+    List<String> contextValues = new ArrayList<>();
+    assertThat(
+            queue.drain(
+                (event, context) -> {
+                  drained.add(event);
+                  contextValues.add(context.get(KEY));
+                },
+                3))
+        .isEqualTo(3);
+    assertThat(drained).containsExactlyElementsOf(events.subList(0, 3));
+    assertThat(contextValues).containsExactly("value 0", "value 1", "value 2");
+    assertThat(queue.isEmpty()).isFalse();
+
+    // slots are reused once they were drained
+    ILoggingEvent event = event("message 4");
+    assertThat(queue.offer(event, Context.root())).isTrue();
+    drained.clear();
+    assertThat(queue.drain((e, context) -> drained.add(e), 10)).isEqualTo(2);
+    assertThat(drained).containsExactly(events.get(3), event);
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  void singleSlotQueue() {
+    LoggingEventQueue queue = new LoggingEventQueue(1);
+    assertThat(queue.capacity()).isEqualTo(2);
+
+    for (int i = 0; i < 2; i++) {
+      assertThat(queue.offer(event("message " + i), Context.root())).isTrue();
+    }
+    assertThat(queue.offer(event("dropped"), Context.root())).isFalse();
+    assertThat(queue.drain((event, context) -> {}, 10)).isEqualTo(2);
+  }
+
+  @Test
+  void concurrentProducers() throws InterruptedException {
+    int producers = 4;
+    int eventsPerProducer = 10_000;
+    LoggingEventQueue queue = new LoggingEventQueue(64);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      executor.execute(
+          () -> {
+            for (int i = 0; i < eventsPerProducer; i++) {
+              ILoggingEvent event = event(producer + ":" + i);
+              while (!queue.offer(event, Context.root())) {
+                Thread.yield();
+              }
+            }
+          });
+    }
+
+    // events of every producer are received in the order in which they were added
+    int[] next = new int[producers];
+    int received = 0;
+    while (received < producers * eventsPerProducer) {
+      received +=
+          queue.drain(
+              (event, context) -> {
+                String[] parts = event.getMessage().split(":");
+                int producer = Integer.parseInt(parts[0]);
+                assertThat(Integer.parseInt(parts[1])).isEqualTo(next[producer]);
+                next[producer]++;
+              },
+              100);
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(next).containsOnly(eventsPerProducer);
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  private static ILoggingEvent event(String message) {
+    LoggingEvent event = new LoggingEvent();
+    event.setMessage(message);
+    return event;
+  }
+}
@@ -1,9 +1,14 @@
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
   library("io.micrometer:micrometer-core:1.5.0")
 
   testImplementation(project(":instrumentation:micrometer:micrometer-1.5:testing"))
+
+  jmhImplementation("io.micrometer:micrometer-core:1.5.0")
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk")
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk-testing")
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.micrometer.v1_5;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// compares recording through the OpenTelemetry bridge with micrometer's own SimpleMeterRegistry
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class MeterRegistryBenchmark {
+
+  // a heavily tagged meter, so that converting the tags would show up in the results
+  private static final Tags TAGS =
+      Tags.of(
+          "application", "benchmark",
+          "method", "GET",
+          "outcome", "SUCCESS",
+          "status", "200",
+          "uri", "/users/{id}",
+          "exception", "none");
+
+  @Param({"otel", "simple"})
+  String registryType;
+
+  private OpenTelemetrySdk openTelemetry;
+  private MeterRegistry registry;
+  private Counter counter;
+  private Timer timer;
+  private DistributionSummary summary;
+
+  @Setup
+  public void setup() {
+    if (registryType.equals("otel")) {
+      openTelemetry =
+          OpenTelemetrySdk.builder()
+              .setMeterProvider(
+                  SdkMeterProvider.builder()
+                      .registerMetricReader(InMemoryMetricReader.create())
+                      .build())
+              .build();
+      registry = OpenTelemetryMeterRegistry.builder(openTelemetry).build();
+    } else {
+      registry = new SimpleMeterRegistry();
+    }
+    counter = registry.counter("benchmark.counter", TAGS);
+    timer = registry.timer("benchmark.timer", TAGS);
+    summary = registry.summary("benchmark.summary", TAGS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    registry.close();
+    if (openTelemetry != null) {
+      openTelemetry.close();
+    }
+  }
+
+  @Benchmark
+  public void counterIncrement() {
+    counter.increment();
+  }
+
+  @Benchmark
+  public void timerRecord() {
+    timer.record(42, TimeUnit.MILLISECONDS);
+  }
+
+  @Benchmark
+  public void distributionSummaryRecord() {
+    summary.record(42);
+  }
+
+  @Benchmark
+  public Counter counterLookupAndIncrement() {
+    // micrometer returns the registered meter, the bridge doesn't create new instruments
+    Counter counter = registry.counter("benchmark.counter", TAGS);
+    counter.increment();
+    return counter;
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.common.v4_0.internal;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+public final class HttpHeadersUtil {
+
+  public static List<String> getAll(HttpHeaders headers, String name) {
+    // getAll() always allocates a new list, most captured headers aren't present in the request so
+    // check for that first
+    if (headers.get(name) == null) {
+      return Collections.emptyList();
+    }
+    return headers.getAll(name);
+  }
+
+  private HttpHeadersUtil() {}
+}
@@ -12,6 +12,7 @@ import io.netty.handler.codec.http.HttpVersion;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesGetter;
 import io.opentelemetry.instrumentation.netty.common.v4_0.NettyRequest;
 import io.opentelemetry.instrumentation.netty.common.v4_0.internal.ChannelUtil;
+import io.opentelemetry.instrumentation.netty.common.v4_0.internal.HttpHeadersUtil;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.URI;
@@ -50,7 +51,7 @@ final class NettyHttpClientAttributesGetter
 
   @Override
   public List<String> getHttpRequestHeader(NettyRequest requestAndChannel, String name) {
-    return requestAndChannel.request().headers().getAll(name);
+    return HttpHeadersUtil.getAll(requestAndChannel.request().headers(), name);
   }
 
   @Override
@@ -62,7 +63,7 @@ final class NettyHttpClientAttributesGetter
   @Override
   public List<String> getHttpResponseHeader(
       NettyRequest requestAndChannel, HttpResponse response, String name) {
-    return response.headers().getAll(name);
+    return HttpHeadersUtil.getAll(response.headers(), name);
   }
 
   @Override
@@ -10,6 +10,7 @@ import io.netty.handler.codec.http.HttpVersion;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpServerAttributesGetter;
 import io.opentelemetry.instrumentation.netty.common.v4_0.NettyRequest;
 import io.opentelemetry.instrumentation.netty.common.v4_0.internal.ChannelUtil;
+import io.opentelemetry.instrumentation.netty.common.v4_0.internal.HttpHeadersUtil;
 import io.opentelemetry.instrumentation.netty.common.v4_0.internal.HttpSchemeUtil;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -30,7 +31,7 @@ public final class NettyHttpServerAttributesGetter
 
   @Override
   public List<String> getHttpRequestHeader(NettyRequest requestAndChannel, String name) {
-    return requestAndChannel.request().headers().getAll(name);
+    return HttpHeadersUtil.getAll(requestAndChannel.request().headers(), name);
   }
 
   @Override
@@ -42,7 +43,7 @@ public final class NettyHttpServerAttributesGetter
   @Override
   public List<String> getHttpResponseHeader(
       NettyRequest requestAndChannel, HttpResponse response, String name) {
-    return response.headers().getAll(name);
+    return HttpHeadersUtil.getAll(response.headers(), name);
   }
 
   @Override
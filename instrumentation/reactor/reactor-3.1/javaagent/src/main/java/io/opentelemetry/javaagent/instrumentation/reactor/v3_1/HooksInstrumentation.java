@@ -11,7 +11,10 @@ import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
+import io.opentelemetry.instrumentation.api.incubator.config.internal.ExtendedDeclarativeConfigProperties;
 import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperator;
+import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperatorBuilder;
+import io.opentelemetry.instrumentation.reactor.v3_1.internal.Experimental;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
 import net.bytebuddy.asm.Advice;
@@ -40,12 +43,15 @@ public class HooksInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(suppress = Throwable.class)
     public static void postStaticInitializer() {
-      ContextPropagationOperator.builder()
-          .setCaptureExperimentalSpanAttributes(
-              DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "reactor")
-                  .getBoolean("experimental_span_attributes/development", false))
-          .build()
-          .registerOnEachOperator();
+      ExtendedDeclarativeConfigProperties config =
+          DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "reactor");
+      ContextPropagationOperatorBuilder builder =
+          ContextPropagationOperator.builder()
+              .setCaptureExperimentalSpanAttributes(
+                  config.getBoolean("experimental_span_attributes/development", false));
+      Experimental.setAsyncBoundaryPropagation(
+          builder, config.getBoolean("experimental_async_boundary_propagation/development", false));
+      builder.build().registerOnEachOperator();
     }
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor.v3_1;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.reactor.v3_1.internal.Experimental;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+// subscribes to a synchronous chain of map operators with a span in the current context, compare
+// the time and gc.alloc.rate.norm of the propagation modes for the different chain lengths
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class OperatorChainBenchmark {
+
+  private static final Context CONTEXT =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "0af7651916cd43dd8448eb211c80319c",
+                      "b7ad6b7169203331",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  @Param({"5", "20", "100"})
+  int operators;
+
+  // none: no propagation, each: every operator, boundary: only asynchronous boundaries
+  @Param({"none", "each", "boundary"})
+  String mode;
+
+  private ContextPropagationOperator operator;
+  private Flux<Integer> flux;
+
+  @Setup
+  public void setup() {
+    if (!mode.equals("none")) {
+      ContextPropagationOperatorBuilder builder = ContextPropagationOperator.builder();
+      Experimental.setAsyncBoundaryPropagation(builder, mode.equals("boundary"));
+      operator = builder.build();
+      operator.registerOnEachOperator();
+    }
+    // the hook is applied when the chain is assembled
+    Flux<Integer> chain = Flux.range(0, 10);
+    for (int i = 0; i < operators; i++) {
+      chain = chain.map(value -> value + 1);
+    }
+    flux = chain;
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (operator != null) {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Benchmark
+  public void subscribe(Blackhole blackhole) {
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      flux.subscribe(blackhole::consume);
+    }
+  }
+}
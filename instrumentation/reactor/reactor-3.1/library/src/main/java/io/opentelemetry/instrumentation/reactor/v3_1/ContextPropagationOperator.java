@@ -23,6 +23,7 @@
 package io.opentelemetry.instrumentation.reactor.v3_1;
 
 import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.asList;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
@@ -30,11 +31,17 @@ import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperat
 import io.opentelemetry.javaagent.tooling.muzzle.NoMuzzle;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
+import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
 import reactor.core.CoreSubscriber;
 import reactor.core.Fuseable;
@@ -59,6 +66,18 @@ public final class ContextPropagationOperator {
 
   @Nullable private static final MethodHandle SCHEDULERS_HOOK_METHOD = getSchedulersHookMethod();
 
+  // Scannable.Attr.RUN_ON is not available in the oldest supported reactor versions
+  @SuppressWarnings("rawtypes")
+  @Nullable
+  private static final Scannable.Attr RUN_ON_ATTR = getRunOnAttr();
+
+  // Sinks were added in reactor 3.4
+  private static final List<Class<?>> SINK_CLASSES =
+      getClasses(
+          "reactor.core.publisher.Sinks$Many",
+          "reactor.core.publisher.Sinks$One",
+          "reactor.core.publisher.Sinks$Empty");
+
   @Nullable
   private static MethodHandle getContextWriteMethod(Class<?> type) {
     MethodHandles.Lookup lookup = MethodHandles.publicLookup();
@@ -87,6 +106,42 @@ public final class ContextPropagationOperator {
     return null;
   }
 
+  @SuppressWarnings("rawtypes")
+  @Nullable
+  private static Scannable.Attr getRunOnAttr() {
+    try {
+      return (Scannable.Attr) Scannable.Attr.class.getField("RUN_ON").get(null);
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  // operators that change the reactor context of their upstream, which can store another
+  // OpenTelemetry context than the one that their subscriber expects
+  private static final Set<String> CONTEXT_WRITE_OPERATORS =
+      new HashSet<>(
+          asList(
+              // reactor 3.1 - 3.3
+              "reactor.core.publisher.FluxContextStart",
+              "reactor.core.publisher.MonoSubscriberContext",
+              // reactor 3.4+
+              "reactor.core.publisher.FluxContextWrite",
+              "reactor.core.publisher.MonoContextWrite",
+              "reactor.core.publisher.FluxContextWriteRestoringThreadLocals",
+              "reactor.core.publisher.MonoContextWriteRestoringThreadLocals"));
+
+  private static List<Class<?>> getClasses(String... classNames) {
+    List<Class<?>> classes = new ArrayList<>();
+    for (String className : classNames) {
+      try {
+        classes.add(Class.forName(className));
+      } catch (ClassNotFoundException e) {
+        // ignore
+      }
+    }
+    return classes;
+  }
+
   public static ContextPropagationOperator create() {
     return builder().build();
   }
@@ -96,6 +151,7 @@ public final class ContextPropagationOperator {
   }
 
   private final ReactorAsyncOperationEndStrategy asyncOperationEndStrategy;
+  private final boolean asyncBoundaryPropagation;
 
   private static final Object TRACE_CONTEXT_KEY =
       new Object() {
@@ -149,11 +205,13 @@ public final class ContextPropagationOperator {
     return contextView.getOrDefault(TRACE_CONTEXT_KEY, defaultTraceContext);
   }
 
-  ContextPropagationOperator(boolean captureExperimentalSpanAttributes) {
+  ContextPropagationOperator(
+      boolean captureExperimentalSpanAttributes, boolean asyncBoundaryPropagation) {
     this.asyncOperationEndStrategy =
         ReactorAsyncOperationEndStrategy.builder()
             .setCaptureExperimentalSpanAttributes(captureExperimentalSpanAttributes)
             .build();
+    this.asyncBoundaryPropagation = asyncBoundaryPropagation;
   }
 
   /**
@@ -168,7 +226,12 @@ public final class ContextPropagationOperator {
         return;
       }
       Hooks.onEachOperator(
-          TracingSubscriber.class.getName(), tracingLift(asyncOperationEndStrategy));
+          TracingSubscriber.class.getName(),
+          tracingLift(
+              asyncBoundaryPropagation
+                  ? ContextPropagationOperator::isAsyncBoundary
+                  : ContextPropagationOperator::shouldInstrument,
+              asyncOperationEndStrategy));
       AsyncOperationEndStrategies.instance().registerStrategy(asyncOperationEndStrategy);
       registerScheduleHook(RunnableWrapper.class.getName(), RunnableWrapper::new);
       enabled = true;
@@ -199,9 +262,8 @@ public final class ContextPropagationOperator {
   }
 
   private static <T> Function<? super Publisher<T>, ? extends Publisher<T>> tracingLift(
-      ReactorAsyncOperationEndStrategy asyncOperationEndStrategy) {
-    return Operators.lift(
-        ContextPropagationOperator::shouldInstrument, new Lifter<>(asyncOperationEndStrategy));
+      Predicate<Scannable> filter, ReactorAsyncOperationEndStrategy asyncOperationEndStrategy) {
+    return Operators.lift(filter, new Lifter<>(asyncOperationEndStrategy));
   }
 
   /** Forces Mono to run in traceContext scope. */
@@ -271,6 +333,47 @@ public final class ContextPropagationOperator {
     return !(publisher instanceof Fuseable.ScalarCallable);
   }
 
+  /**
+   * Returns whether signals may arrive at the publisher on a different thread than the one its
+   * upstream emitted them on, or with another context than the one its subscriber expects. Reactor
+   * operators that don't switch threads or write the context deliver the signals with the context
+   * that was made current at the closest boundary upstream.
+   */
+  private static boolean isAsyncBoundary(Scannable publisher) {
+    if (!shouldInstrument(publisher)) {
+      return false;
+    }
+    // the upstream of contextWrite() emits with the context that was written, the subscriber
+    // expects the one from before
+    if (CONTEXT_WRITE_OPERATORS.contains(publisher.getClass().getName())) {
+      return true;
+    }
+    if (RUN_ON_ATTR == null) {
+      // scheduler hops can't be recognized, instrument every operator
+      return true;
+    }
+    Object runOn = publisher.scanUnsafe(RUN_ON_ATTR);
+    if (runOn != null && runOn != Schedulers.immediate()) {
+      return true;
+    }
+    // sources, sinks and publishers from other libraries may emit on any thread
+    Object parent = publisher.scanUnsafe(Scannable.Attr.PARENT);
+    return parent == null || !isReactorOperator(parent);
+  }
+
+  private static boolean isReactorOperator(Object publisher) {
+    if (!publisher.getClass().getName().startsWith("reactor.core.publisher.")
+        || publisher instanceof Processor) {
+      return false;
+    }
+    for (Class<?> sinkClass : SINK_CLASSES) {
+      if (sinkClass.isInstance(publisher)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static class Lifter<T>
       implements BiFunction<Scannable, CoreSubscriber<? super T>, CoreSubscriber<? super T>> {
 
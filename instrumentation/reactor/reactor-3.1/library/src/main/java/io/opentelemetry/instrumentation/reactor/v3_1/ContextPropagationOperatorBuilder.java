@@ -6,9 +6,17 @@
 package io.opentelemetry.instrumentation.reactor.v3_1;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.instrumentation.reactor.v3_1.internal.Experimental;
 
 public final class ContextPropagationOperatorBuilder {
   private boolean captureExperimentalSpanAttributes;
+  private boolean asyncBoundaryPropagation;
+
+  static {
+    Experimental.internalSetAsyncBoundaryPropagation(
+        (builder, asyncBoundaryPropagation) ->
+            builder.asyncBoundaryPropagation = asyncBoundaryPropagation);
+  }
 
   ContextPropagationOperatorBuilder() {}
 
@@ -20,6 +28,7 @@ public final class ContextPropagationOperatorBuilder {
   }
 
   public ContextPropagationOperator build() {
-    return new ContextPropagationOperator(captureExperimentalSpanAttributes);
+    return new ContextPropagationOperator(
+        captureExperimentalSpanAttributes, asyncBoundaryPropagation);
   }
 }
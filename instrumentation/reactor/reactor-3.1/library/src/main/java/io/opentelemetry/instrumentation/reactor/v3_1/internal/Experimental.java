@@ -0,0 +1,42 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor.v3_1.internal;
+
+import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperatorBuilder;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * This class is internal and experimental. Its APIs are unstable and can change at any time. Its
+ * APIs (or a version of them) may be promoted to the public stable API in the future, but no
+ * guarantees are made.
+ */
+public final class Experimental {
+
+  @Nullable
+  private static volatile BiConsumer<ContextPropagationOperatorBuilder, Boolean>
+      setAsyncBoundaryPropagation;
+
+  /**
+   * Sets whether the context is only propagated at asynchronous boundaries, i.e. where signals may
+   * arrive on a different thread: operators that run on a scheduler, sources, sinks and publishers
+   * that are not part of Reactor. The operators between these boundaries run on the thread that
+   * delivers the signal and see the context that was made current at the boundary.
+   */
+  public static void setAsyncBoundaryPropagation(
+      ContextPropagationOperatorBuilder builder, boolean asyncBoundaryPropagation) {
+    if (setAsyncBoundaryPropagation != null) {
+      setAsyncBoundaryPropagation.accept(builder, asyncBoundaryPropagation);
+    }
+  }
+
+  public static void internalSetAsyncBoundaryPropagation(
+      BiConsumer<ContextPropagationOperatorBuilder, Boolean> setAsyncBoundaryPropagation) {
+    Experimental.setAsyncBoundaryPropagation = setAsyncBoundaryPropagation;
+  }
+
+  private Experimental() {}
+}
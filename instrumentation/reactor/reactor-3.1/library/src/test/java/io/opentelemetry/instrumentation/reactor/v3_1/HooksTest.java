@@ -6,13 +6,21 @@
 package io.opentelemetry.instrumentation.reactor.v3_1;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.reactor.v3_1.internal.Experimental;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
+import reactor.core.Scannable;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -35,6 +43,74 @@ class HooksTest {
     assertThat(subscriber.get()).extracting("actual").isNotInstanceOf(TracingSubscriber.class);
   }
 
+  @Test
+  void asyncBoundaryPropagation() {
+    // without RUN_ON every operator is instrumented
+    assumeTrue(hasRunOnAttr());
+
+    ContextPropagationOperatorBuilder builder = ContextPropagationOperator.builder();
+    Experimental.setAsyncBoundaryPropagation(builder, true);
+    ContextPropagationOperator operator = builder.build();
+    AtomicReference<CoreSubscriber<? super Integer>> subscriber = new AtomicReference<>();
+
+    operator.registerOnEachOperator();
+    new CapturingMono(subscriber).map(i -> i + 1).map(i -> i + 1).subscribe();
+    operator.resetOnEachOperator();
+
+    // the operator subscribed to the foreign publisher is instrumented, the next one isn't
+    assertThat(subscriber.get()).extracting("actual").isInstanceOf(TracingSubscriber.class);
+    assertThat(subscriber.get())
+        .extracting("actual.subscriber.actual")
+        .isNotInstanceOf(TracingSubscriber.class);
+  }
+
+  @Test
+  void asyncBoundaryPropagationRestoresContextAfterContextWrite() {
+    assumeTrue(hasRunOnAttr());
+
+    ContextPropagationOperatorBuilder builder = ContextPropagationOperator.builder();
+    Experimental.setAsyncBoundaryPropagation(builder, true);
+    ContextPropagationOperator operator = builder.build();
+    ContextKey<String> key = ContextKey.named("test");
+    List<String> seen = new CopyOnWriteArrayList<>();
+
+    operator.registerOnEachOperator();
+    try {
+      Mono<Integer> upstream =
+          Mono.fromCallable(() -> 1)
+              .publishOn(Schedulers.single())
+              .map(
+                  i -> {
+                    seen.add(Context.current().get(key));
+                    return i;
+                  });
+      Mono<Integer> downstream =
+          ContextPropagationOperator.runWithContext(upstream, Context.root().with(key, "inner"))
+              .map(
+                  i -> {
+                    seen.add(Context.current().get(key));
+                    return i;
+                  });
+      ContextPropagationOperator.runWithContext(downstream, Context.root().with(key, "outer"))
+          .block(Duration.ofSeconds(10));
+    } finally {
+      operator.resetOnEachOperator();
+    }
+
+    // the signals are emitted on the same thread, after the context was written they have to be
+    // delivered with the context from before
+    assertThat(seen).containsExactly("inner", "outer");
+  }
+
+  private static boolean hasRunOnAttr() {
+    try {
+      Scannable.Attr.class.getField("RUN_ON");
+      return true;
+    } catch (NoSuchFieldException e) {
+      return false;
+    }
+  }
+
   private static class CapturingMono extends Mono<Integer> {
     final AtomicReference<CoreSubscriber<? super Integer>> subscriber;
 
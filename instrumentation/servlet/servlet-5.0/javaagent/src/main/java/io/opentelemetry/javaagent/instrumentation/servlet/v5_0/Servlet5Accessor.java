@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import javax.annotation.Nullable;
 
 public class Servlet5Accessor
     implements ServletAccessor<HttpServletRequest, HttpServletResponse>,
@@ -96,7 +97,25 @@ public class Servlet5Accessor
   @Override
   public List<String> getRequestHeaderValues(HttpServletRequest request, String name) {
     Enumeration<String> values = request.getHeaders(name);
-    return values == null ? Collections.emptyList() : Collections.list(values);
+    return toList(values);
+  }
+
+  private static List<String> toList(@Nullable Enumeration<String> values) {
+    // most captured headers are absent or have a single value, avoid allocating an ArrayList for
+    // these
+    if (values == null || !values.hasMoreElements()) {
+      return Collections.emptyList();
+    }
+    String first = values.nextElement();
+    if (!values.hasMoreElements()) {
+      return Collections.singletonList(first);
+    }
+    List<String> result = new ArrayList<>();
+    result.add(first);
+    while (values.hasMoreElements()) {
+      result.add(values.nextElement());
+    }
+    return result;
   }
 
   @Override
@@ -7,10 +7,12 @@ package io.opentelemetry.instrumentation.servlet.javax;
 
 import io.opentelemetry.instrumentation.servlet.internal.ServletAccessor;
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import javax.annotation.Nullable;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 
@@ -73,7 +75,25 @@ public abstract class JavaxServletAccessor<R> implements ServletAccessor<HttpSer
   public List<String> getRequestHeaderValues(HttpServletRequest request, String name) {
     @SuppressWarnings("unchecked") // servlet api uses Enumeration without generic type
     Enumeration<String> values = request.getHeaders(name);
-    return values == null ? Collections.emptyList() : Collections.list(values);
+    return toList(values);
+  }
+
+  private static List<String> toList(@Nullable Enumeration<String> values) {
+    // most captured headers are absent or have a single value, avoid allocating an ArrayList for
+    // these
+    if (values == null || !values.hasMoreElements()) {
+      return Collections.emptyList();
+    }
+    String first = values.nextElement();
+    if (!values.hasMoreElements()) {
+      return Collections.singletonList(first);
+    }
+    List<String> result = new ArrayList<>();
+    result.add(first);
+    while (values.hasMoreElements()) {
+      result.add(values.nextElement());
+    }
+    return result;
   }
 
   @Override
@@ -6,9 +6,13 @@
 package io.opentelemetry.instrumentation.spring.autoconfigure.internal.instrumentation.webflux;
 
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
 import io.opentelemetry.instrumentation.spring.autoconfigure.internal.properties.InstrumentationConfigUtil;
 import io.opentelemetry.instrumentation.spring.webflux.v5_3.SpringWebfluxClientTelemetry;
+import io.opentelemetry.instrumentation.spring.webflux.v5_3.SpringWebfluxClientTelemetryBuilder;
 import io.opentelemetry.instrumentation.spring.webflux.v5_3.SpringWebfluxServerTelemetry;
+import io.opentelemetry.instrumentation.spring.webflux.v5_3.SpringWebfluxServerTelemetryBuilder;
+import io.opentelemetry.instrumentation.spring.webflux.v5_3.internal.Experimental;
 import io.opentelemetry.instrumentation.spring.webflux.v5_3.internal.SpringWebfluxBuilderUtil;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanPostProcessor;
@@ -28,19 +32,28 @@ final class WebClientBeanPostProcessor implements BeanPostProcessor {
   }
 
   static SpringWebfluxClientTelemetry getWebfluxClientTelemetry(OpenTelemetry openTelemetry) {
-    return InstrumentationConfigUtil.configureClientBuilder(
+    SpringWebfluxClientTelemetryBuilder builder =
+        InstrumentationConfigUtil.configureClientBuilder(
             openTelemetry,
             SpringWebfluxClientTelemetry.builder(openTelemetry),
-            SpringWebfluxBuilderUtil.getClientBuilderExtractor())
-        .build();
+            SpringWebfluxBuilderUtil.getClientBuilderExtractor());
+    Experimental.setAsyncBoundaryPropagation(builder, isAsyncBoundaryPropagation(openTelemetry));
+    return builder.build();
   }
 
   static SpringWebfluxServerTelemetry getWebfluxServerTelemetry(OpenTelemetry openTelemetry) {
-    return InstrumentationConfigUtil.configureServerBuilder(
+    SpringWebfluxServerTelemetryBuilder builder =
+        InstrumentationConfigUtil.configureServerBuilder(
             openTelemetry,
             SpringWebfluxServerTelemetry.builder(openTelemetry),
-            SpringWebfluxBuilderUtil.getServerBuilderExtractor())
-        .build();
+            SpringWebfluxBuilderUtil.getServerBuilderExtractor());
+    Experimental.setAsyncBoundaryPropagation(builder, isAsyncBoundaryPropagation(openTelemetry));
+    return builder.build();
+  }
+
+  private static boolean isAsyncBoundaryPropagation(OpenTelemetry openTelemetry) {
+    return DeclarativeConfigUtil.getInstrumentationConfig(openTelemetry, "reactor")
+        .getBoolean("experimental_async_boundary_propagation/development", false);
   }
 
   @Override
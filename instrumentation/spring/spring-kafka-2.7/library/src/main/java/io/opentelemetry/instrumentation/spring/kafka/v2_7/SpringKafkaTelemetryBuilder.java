@@ -9,7 +9,9 @@ import static java.util.Collections.emptyList;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaBatchSpanLinksSampling;
 import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaInstrumenterFactory;
+import io.opentelemetry.instrumentation.spring.kafka.v2_7.internal.Experimental;
 import io.opentelemetry.instrumentation.spring.kafka.v2_7.internal.SpringKafkaErrorCauseExtractor;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -24,6 +26,16 @@ public final class SpringKafkaTelemetryBuilder {
   private List<String> capturedHeaders = emptyList();
   private boolean captureExperimentalSpanAttributes = false;
   private boolean messagingReceiveInstrumentationEnabled = false;
+  private int batchProcessMaxSpanLinks = -1;
+  private KafkaBatchSpanLinksSampling batchProcessSpanLinksSampling =
+      KafkaBatchSpanLinksSampling.UNIFORM;
+
+  static {
+    Experimental.internalSetBatchProcessMaxSpanLinks(
+        (builder, maxSpanLinks) -> builder.batchProcessMaxSpanLinks = maxSpanLinks);
+    Experimental.internalSetBatchProcessSpanLinksSampling(
+        (builder, sampling) -> builder.batchProcessSpanLinksSampling = sampling);
+  }
 
   SpringKafkaTelemetryBuilder(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
@@ -75,6 +87,8 @@ public final class SpringKafkaTelemetryBuilder {
             .setCapturedHeaders(capturedHeaders)
             .setCaptureExperimentalSpanAttributes(captureExperimentalSpanAttributes)
             .setMessagingReceiveTelemetryEnabled(messagingReceiveInstrumentationEnabled)
+            .setBatchProcessMaxSpanLinks(batchProcessMaxSpanLinks)
+            .setBatchProcessSpanLinksSampling(batchProcessSpanLinksSampling)
             .setErrorCauseExtractor(SpringKafkaErrorCauseExtractor.INSTANCE);
 
     return new SpringKafkaTelemetry(
@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.spring.kafka.v2_7.internal;
+
+import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaBatchSpanLinksSampling;
+import io.opentelemetry.instrumentation.spring.kafka.v2_7.SpringKafkaTelemetryBuilder;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * This class is internal and experimental. Its APIs are unstable and can change at any time. Its
+ * APIs (or a version of them) may be promoted to the public stable API in the future, but no
+ * guarantees are made.
+ */
+public final class Experimental {
+
+  @Nullable
+  private static volatile BiConsumer<SpringKafkaTelemetryBuilder, Integer>
+      setBatchProcessMaxSpanLinks;
+
+  @Nullable
+  private static volatile BiConsumer<SpringKafkaTelemetryBuilder, KafkaBatchSpanLinksSampling>
+      setBatchProcessSpanLinksSampling;
+
+  /**
+   * Sets the maximum number of span links of a batch process span, a negative value means that the
+   * span links to every record of the batch. When the links are limited, the span describes the
+   * batch with the offset range of each partition instead.
+   */
+  public static void setBatchProcessMaxSpanLinks(
+      SpringKafkaTelemetryBuilder builder, int batchProcessMaxSpanLinks) {
+    if (setBatchProcessMaxSpanLinks != null) {
+      setBatchProcessMaxSpanLinks.accept(builder, batchProcessMaxSpanLinks);
+    }
+  }
+
+  /** Sets how the linked records are picked when the span links of a batch are limited. */
+  public static void setBatchProcessSpanLinksSampling(
+      SpringKafkaTelemetryBuilder builder, KafkaBatchSpanLinksSampling sampling) {
+    if (setBatchProcessSpanLinksSampling != null) {
+      setBatchProcessSpanLinksSampling.accept(builder, sampling);
+    }
+  }
+
+  public static void internalSetBatchProcessMaxSpanLinks(
+      BiConsumer<SpringKafkaTelemetryBuilder, Integer> setBatchProcessMaxSpanLinks) {
+    Experimental.setBatchProcessMaxSpanLinks = setBatchProcessMaxSpanLinks;
+  }
+
+  public static void internalSetBatchProcessSpanLinksSampling(
+      BiConsumer<SpringKafkaTelemetryBuilder, KafkaBatchSpanLinksSampling>
+          setBatchProcessSpanLinksSampling) {
+    Experimental.setBatchProcessSpanLinksSampling = setBatchProcessSpanLinksSampling;
+  }
+
+  private Experimental() {}
+}
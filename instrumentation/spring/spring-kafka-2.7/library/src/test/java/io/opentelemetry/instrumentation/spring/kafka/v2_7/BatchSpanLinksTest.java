@@ -0,0 +1,186 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.spring.kafka.v2_7;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaBatchSpanLinksSampling;
+import io.opentelemetry.instrumentation.spring.kafka.v2_7.internal.Experimental;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.kafka.listener.BatchInterceptor;
+
+class BatchSpanLinksTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  private static final String TOPIC = "testTopic";
+
+  @Test
+  void uniformSampling() {
+    List<SpanContext> producers = new ArrayList<>();
+    List<ConsumerRecord<String, String>> records = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      SpanContext producer = spanContext(i);
+      producers.add(producer);
+      records.add(record(0, i, producer));
+    }
+
+    process(telemetry(4, KafkaBatchSpanLinksSampling.UNIFORM), batch(records));
+
+    // 4 links spread evenly over 10 records
+    assertLinks(producers.get(0), producers.get(2), producers.get(5), producers.get(7));
+  }
+
+  @Test
+  void uniformSamplingSkipsRecordsWithoutTraceContext() {
+    List<SpanContext> producers = new ArrayList<>();
+    List<ConsumerRecord<String, String>> records = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      SpanContext producer = spanContext(i);
+      producers.add(producer);
+      if (i == 0 || i == 5) {
+        records.add(new ConsumerRecord<>(TOPIC, 0, i, null, "value"));
+      } else {
+        records.add(record(0, i, producer));
+      }
+    }
+
+    process(telemetry(4, KafkaBatchSpanLinksSampling.UNIFORM), batch(records));
+
+    // the records following the ones without a trace context are linked instead
+    assertLinks(producers.get(1), producers.get(2), producers.get(6), producers.get(7));
+  }
+
+  @Test
+  void distinctTraceSampling() {
+    SpanContext first = spanContext(1);
+    SpanContext second = spanContext(2);
+    SpanContext third = spanContext(3);
+    List<ConsumerRecord<String, String>> records =
+        asList(
+            record(0, 0, first),
+            record(0, 1, first),
+            record(0, 2, second),
+            record(0, 3, first),
+            record(0, 4, third),
+            record(0, 5, spanContext(4)));
+
+    process(telemetry(3, KafkaBatchSpanLinksSampling.DISTINCT_TRACE), batch(records));
+
+    // the first record of each trace, until the limit is reached
+    assertLinks(first, second, third);
+  }
+
+  @Test
+  void offsetRangesOfLimitedBatch() {
+    Map<TopicPartition, List<ConsumerRecord<String, String>>> batch = new LinkedHashMap<>();
+    batch.put(
+        new TopicPartition(TOPIC, 0),
+        asList(record(0, 3, spanContext(1)), record(0, 4, spanContext(2))));
+    batch.put(
+        new TopicPartition(TOPIC, 1),
+        asList(
+            record(1, 10, spanContext(3)),
+            record(1, 11, spanContext(4)),
+            record(1, 12, spanContext(5))));
+
+    process(telemetry(1, KafkaBatchSpanLinksSampling.UNIFORM), new ConsumerRecords<>(batch));
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasTotalRecordedLinks(1)
+                        .hasAttributesSatisfying(
+                            equalTo(
+                                AttributeKey.stringArrayKey("messaging.kafka.batch.partitions"),
+                                asList(TOPIC + "-0", TOPIC + "-1")),
+                            equalTo(
+                                AttributeKey.longArrayKey("messaging.kafka.batch.min_offsets"),
+                                asList(3L, 10L)),
+                            equalTo(
+                                AttributeKey.longArrayKey("messaging.kafka.batch.max_offsets"),
+                                asList(4L, 12L)))));
+  }
+
+  @Test
+  void unknownSamplingFallsBackToUniform() {
+    assertThat(KafkaBatchSpanLinksSampling.parse(" Distinct-Trace "))
+        .isEqualTo(KafkaBatchSpanLinksSampling.DISTINCT_TRACE);
+    assertThat(KafkaBatchSpanLinksSampling.parse("random"))
+        .isEqualTo(KafkaBatchSpanLinksSampling.UNIFORM);
+  }
+
+  private static SpringKafkaTelemetry telemetry(
+      int maxSpanLinks, KafkaBatchSpanLinksSampling sampling) {
+    SpringKafkaTelemetryBuilder builder = SpringKafkaTelemetry.builder(testing.getOpenTelemetry());
+    Experimental.setBatchProcessMaxSpanLinks(builder, maxSpanLinks);
+    Experimental.setBatchProcessSpanLinksSampling(builder, sampling);
+    return builder.build();
+  }
+
+  private static void process(
+      SpringKafkaTelemetry telemetry, ConsumerRecords<String, String> records) {
+    BatchInterceptor<String, String> interceptor = telemetry.createBatchInterceptor();
+    interceptor.intercept(records, null);
+    interceptor.success(records, null);
+  }
+
+  private static void assertLinks(SpanContext... linked) {
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasLinksSatisfying(
+                        links ->
+                            assertThat(links)
+                                .extracting(LinkData::getSpanContext)
+                                .containsExactly(linked))));
+  }
+
+  private static ConsumerRecords<String, String> batch(
+      List<ConsumerRecord<String, String>> records) {
+    Map<TopicPartition, List<ConsumerRecord<String, String>>> batch = new LinkedHashMap<>();
+    batch.put(new TopicPartition(TOPIC, 0), records);
+    return new ConsumerRecords<>(batch);
+  }
+
+  private static ConsumerRecord<String, String> record(
+      int partition, long offset, SpanContext producer) {
+    ConsumerRecord<String, String> record =
+        new ConsumerRecord<>(TOPIC, partition, offset, null, "value");
+    String traceparent = "00-" + producer.getTraceId() + "-" + producer.getSpanId() + "-01";
+    record.headers().add("traceparent", traceparent.getBytes(UTF_8));
+    return record;
+  }
+
+  private static SpanContext spanContext(int trace) {
+    return SpanContext.createFromRemoteParent(
+        String.format("%032x", trace + 1),
+        String.format("%016x", trace + 1),
+        TraceFlags.getSampled(),
+        TraceState.getDefault());
+  }
+}
@@ -9,6 +9,7 @@ import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperator;
+import io.opentelemetry.instrumentation.spring.webflux.v5_3.internal.SpringWebfluxReactorHook;
 import io.opentelemetry.instrumentation.spring.webflux.v5_3.internal.WebClientTracingFilter;
 import java.util.List;
 import org.springframework.web.reactive.function.client.ClientRequest;
@@ -36,12 +37,15 @@ public final class SpringWebfluxClientTelemetry {
 
   private final Instrumenter<ClientRequest, ClientResponse> clientInstrumenter;
   private final ContextPropagators propagators;
+  private final boolean asyncBoundaryPropagation;
 
   SpringWebfluxClientTelemetry(
       Instrumenter<ClientRequest, ClientResponse> clientInstrumenter,
-      ContextPropagators propagators) {
+      ContextPropagators propagators,
+      boolean asyncBoundaryPropagation) {
     this.clientInstrumenter = clientInstrumenter;
     this.propagators = propagators;
+    this.asyncBoundaryPropagation = asyncBoundaryPropagation;
   }
 
   /**
@@ -68,11 +72,7 @@ public final class SpringWebfluxClientTelemetry {
    */
   public void addFilterAndRegisterReactorHook(
       List<ExchangeFilterFunction> exchangeFilterFunctions) {
-    registerReactorHook();
+    SpringWebfluxReactorHook.register(asyncBoundaryPropagation);
     addFilter(exchangeFilterFunctions);
   }
-
-  private static void registerReactorHook() {
-    ContextPropagationOperator.builder().build().registerOnEachOperator();
-  }
 }
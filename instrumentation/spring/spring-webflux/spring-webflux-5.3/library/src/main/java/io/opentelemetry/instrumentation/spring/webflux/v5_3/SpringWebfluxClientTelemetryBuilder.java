@@ -25,11 +25,15 @@ public final class SpringWebfluxClientTelemetryBuilder {
 
   private final DefaultHttpClientInstrumenterBuilder<ClientRequest, ClientResponse> builder;
   private final OpenTelemetry openTelemetry;
+  private boolean asyncBoundaryPropagation;
 
   static {
     SpringWebfluxBuilderUtil.setClientBuilderExtractor(builder -> builder.builder);
     Experimental.internalSetEmitExperimentalClientTelemetry(
         (builder, emit) -> builder.builder.setEmitExperimentalHttpClientTelemetry(emit));
+    Experimental.internalSetClientAsyncBoundaryPropagation(
+        (builder, asyncBoundaryPropagation) ->
+            builder.asyncBoundaryPropagation = asyncBoundaryPropagation);
   }
 
   SpringWebfluxClientTelemetryBuilder(OpenTelemetry openTelemetry) {
@@ -121,6 +125,7 @@ public final class SpringWebfluxClientTelemetryBuilder {
    * SpringWebfluxClientTelemetryBuilder}.
    */
   public SpringWebfluxClientTelemetry build() {
-    return new SpringWebfluxClientTelemetry(builder.build(), openTelemetry.getPropagators());
+    return new SpringWebfluxClientTelemetry(
+        builder.build(), openTelemetry.getPropagators(), asyncBoundaryPropagation);
   }
 }
@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.spring.webflux.v5_3;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperator;
+import io.opentelemetry.instrumentation.spring.webflux.v5_3.internal.SpringWebfluxReactorHook;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 
@@ -33,10 +34,13 @@ public final class SpringWebfluxServerTelemetry {
   // We use ServerWebExchange (which holds both the request and response)
   // because we need it to get the HTTP route while instrumenting.
   private final Instrumenter<ServerWebExchange, ServerWebExchange> serverInstrumenter;
+  private final boolean asyncBoundaryPropagation;
 
   SpringWebfluxServerTelemetry(
-      Instrumenter<ServerWebExchange, ServerWebExchange> serverInstrumenter) {
+      Instrumenter<ServerWebExchange, ServerWebExchange> serverInstrumenter,
+      boolean asyncBoundaryPropagation) {
     this.serverInstrumenter = serverInstrumenter;
+    this.asyncBoundaryPropagation = asyncBoundaryPropagation;
   }
 
   /**
@@ -58,11 +62,7 @@ public final class SpringWebfluxServerTelemetry {
    * @return OpenTelemetry telemetry producing {@link WebFilter}
    */
   public WebFilter createWebFilterAndRegisterReactorHook() {
-    registerReactorHook();
+    SpringWebfluxReactorHook.register(asyncBoundaryPropagation);
     return this.createWebFilter();
   }
-
-  private static void registerReactorHook() {
-    ContextPropagationOperator.builder().build().registerOnEachOperator();
-  }
 }
@@ -22,11 +22,15 @@ public final class SpringWebfluxServerTelemetryBuilder {
   private static final String INSTRUMENTATION_NAME = "io.opentelemetry.spring-webflux-5.3";
 
   private final DefaultHttpServerInstrumenterBuilder<ServerWebExchange, ServerWebExchange> builder;
+  private boolean asyncBoundaryPropagation;
 
   static {
     SpringWebfluxBuilderUtil.setServerBuilderExtractor(builder -> builder.builder);
     Experimental.internalSetEmitExperimentalServerTelemetry(
         (builder, emit) -> builder.builder.setEmitExperimentalHttpServerTelemetry(emit));
+    Experimental.internalSetServerAsyncBoundaryPropagation(
+        (builder, asyncBoundaryPropagation) ->
+            builder.asyncBoundaryPropagation = asyncBoundaryPropagation);
   }
 
   SpringWebfluxServerTelemetryBuilder(OpenTelemetry openTelemetry) {
@@ -122,6 +126,6 @@ public final class SpringWebfluxServerTelemetryBuilder {
    * SpringWebfluxServerTelemetryBuilder}.
    */
   public SpringWebfluxServerTelemetry build() {
-    return new SpringWebfluxServerTelemetry(builder.build());
+    return new SpringWebfluxServerTelemetry(builder.build(), asyncBoundaryPropagation);
   }
 }
@@ -25,6 +25,14 @@ public final class Experimental {
   private static volatile BiConsumer<SpringWebfluxServerTelemetryBuilder, Boolean>
       setEmitExperimentalServerTelemetry;
 
+  @Nullable
+  private static volatile BiConsumer<SpringWebfluxClientTelemetryBuilder, Boolean>
+      setClientAsyncBoundaryPropagation;
+
+  @Nullable
+  private static volatile BiConsumer<SpringWebfluxServerTelemetryBuilder, Boolean>
+      setServerAsyncBoundaryPropagation;
+
   public static void setEmitExperimentalTelemetry(
       SpringWebfluxClientTelemetryBuilder builder, boolean emitExperimentalTelemetry) {
     if (setEmitExperimentalClientTelemetry != null) {
@@ -39,6 +47,28 @@ public final class Experimental {
     }
   }
 
+  /**
+   * Sets whether the Reactor context propagation hook registered by the client telemetry only
+   * propagates context at asynchronous boundaries.
+   */
+  public static void setAsyncBoundaryPropagation(
+      SpringWebfluxClientTelemetryBuilder builder, boolean asyncBoundaryPropagation) {
+    if (setClientAsyncBoundaryPropagation != null) {
+      setClientAsyncBoundaryPropagation.accept(builder, asyncBoundaryPropagation);
+    }
+  }
+
+  /**
+   * Sets whether the Reactor context propagation hook registered by the server telemetry only
+   * propagates context at asynchronous boundaries.
+   */
+  public static void setAsyncBoundaryPropagation(
+      SpringWebfluxServerTelemetryBuilder builder, boolean asyncBoundaryPropagation) {
+    if (setServerAsyncBoundaryPropagation != null) {
+      setServerAsyncBoundaryPropagation.accept(builder, asyncBoundaryPropagation);
+    }
+  }
+
   public static void internalSetEmitExperimentalClientTelemetry(
       BiConsumer<SpringWebfluxClientTelemetryBuilder, Boolean> setEmitExperimentalClientTelemetry) {
     Experimental.setEmitExperimentalClientTelemetry = setEmitExperimentalClientTelemetry;
@@ -49,5 +79,15 @@ public final class Experimental {
     Experimental.setEmitExperimentalServerTelemetry = setEmitExperimentalServerTelemetry;
   }
 
+  public static void internalSetClientAsyncBoundaryPropagation(
+      BiConsumer<SpringWebfluxClientTelemetryBuilder, Boolean> setClientAsyncBoundaryPropagation) {
+    Experimental.setClientAsyncBoundaryPropagation = setClientAsyncBoundaryPropagation;
+  }
+
+  public static void internalSetServerAsyncBoundaryPropagation(
+      BiConsumer<SpringWebfluxServerTelemetryBuilder, Boolean> setServerAsyncBoundaryPropagation) {
+    Experimental.setServerAsyncBoundaryPropagation = setServerAsyncBoundaryPropagation;
+  }
+
   private Experimental() {}
 }
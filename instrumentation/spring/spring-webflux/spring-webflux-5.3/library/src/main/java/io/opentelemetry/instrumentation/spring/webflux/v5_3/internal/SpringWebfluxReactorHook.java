@@ -0,0 +1,27 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.spring.webflux.v5_3.internal;
+
+import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperator;
+import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperatorBuilder;
+import io.opentelemetry.instrumentation.reactor.v3_1.internal.Experimental;
+
+/**
+ * Registers the Reactor context propagation hook for the Spring Webflux library instrumentation.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class SpringWebfluxReactorHook {
+
+  public static void register(boolean asyncBoundaryPropagation) {
+    ContextPropagationOperatorBuilder builder = ContextPropagationOperator.builder();
+    Experimental.setAsyncBoundaryPropagation(builder, asyncBoundaryPropagation);
+    builder.build().registerOnEachOperator();
+  }
+
+  private SpringWebfluxReactorHook() {}
+}
@@ -7,7 +7,9 @@ package io.opentelemetry.javaagent.instrumentation.vertx.kafka.v3_6;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
+import io.opentelemetry.instrumentation.api.incubator.config.internal.ExtendedDeclarativeConfigProperties;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaBatchSpanLinksSampling;
 import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaInstrumenterFactory;
 import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaProcessRequest;
 import io.opentelemetry.instrumentation.kafkaclients.common.v0_11.internal.KafkaReceiveRequest;
@@ -21,14 +23,21 @@ public final class VertxKafkaSingletons {
   private static final Instrumenter<KafkaProcessRequest, Void> PROCESS_INSTRUMENTER;
 
   static {
+    ExtendedDeclarativeConfigProperties kafkaConfig =
+        DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "kafka");
     KafkaInstrumenterFactory factory =
         new KafkaInstrumenterFactory(GlobalOpenTelemetry.get(), INSTRUMENTATION_NAME)
             .setCapturedHeaders(ExperimentalConfig.get().getMessagingHeaders())
             .setCaptureExperimentalSpanAttributes(
-                DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "kafka")
-                    .getBoolean("experimental_span_attributes/development", false))
+                kafkaConfig.getBoolean("experimental_span_attributes/development", false))
             .setMessagingReceiveTelemetryEnabled(
-                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled());
+                ExperimentalConfig.get().messagingReceiveInstrumentationEnabled())
+            .setBatchProcessMaxSpanLinks(
+                kafkaConfig.getInt("experimental_batch_max_span_links/development", -1))
+            .setBatchProcessSpanLinksSampling(
+                KafkaBatchSpanLinksSampling.parse(
+                    kafkaConfig.getString(
+                        "experimental_batch_span_links_sampling/development", "uniform")));
     BATCH_PROCESS_INSTRUMENTER = factory.createBatchProcessInstrumenter();
     PROCESS_INSTRUMENTER = factory.createConsumerProcessInstrumenter();
   }
@@ -199,6 +199,8 @@ public class AgentClassLoader extends URLClassLoader {
       }
 
       definePackageIfNeeded(name);
+      // the unmodified bytes of the jar entry and a code source that points to the agent jar allow
+      // the JVM to take the class from a dynamic CDS archive, see AgentClassPreloader
       return defineClass(name, bytes);
     }
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.field;
+
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Records accesses to virtual fields of objects whose class couldn't get a real field injected,
+ * e.g. because it was loaded before the agent was installed, and that therefore store the virtual
+ * field value in a map.
+ */
+public final class VirtualFieldFallbacks {
+
+  private static final Logger logger = Logger.getLogger(VirtualFieldFallbacks.class.getName());
+
+  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
+  private static final Consumer<String> incrementCounter = supportability::incrementCounter;
+
+  // a single counter, the classes are only logged so that the number of counters stays bounded
+  static final String COUNTER_NAME = "VirtualField fallback";
+
+  // logs every class once, the first time that one of its instances uses the fallback
+  private static final ClassValue<Boolean> loggedTypes =
+      new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          logger.log(FINE, "Virtual fields of {0} are stored in a map", type.getName());
+          return Boolean.TRUE;
+        }
+      };
+
+  private VirtualFieldFallbacks() {}
+
+  /** Called from the generated virtual field implementations when the map fallback is used. */
+  public static void recordAccess(Object object) {
+    if (supportability.isEnabled()) {
+      recordAccess(object, incrementCounter);
+    }
+  }
+
+  // Visible for testing
+  static void recordAccess(Object object, Consumer<String> counter) {
+    counter.accept(COUNTER_NAME);
+    if (logger.isLoggable(FINE)) {
+      loggedTypes.get(object.getClass());
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+class VirtualFieldFallbacksTest {
+
+  @Test
+  void countsAllClassesWithOneCounterAndLogsEachClassOnce() {
+    Logger logger = Logger.getLogger(VirtualFieldFallbacks.class.getName());
+    List<LogRecord> records = new ArrayList<>();
+    Handler handler =
+        new Handler() {
+          @Override
+          public void publish(LogRecord record) {
+            records.add(record);
+          }
+
+          @Override
+          public void flush() {}
+
+          @Override
+          public void close() {}
+        };
+    Level level = logger.getLevel();
+    logger.setLevel(Level.FINE);
+    logger.addHandler(handler);
+    try {
+      List<String> counters = new ArrayList<>();
+      VirtualFieldFallbacks.recordAccess(new First(), counters::add);
+      VirtualFieldFallbacks.recordAccess(new Second(), counters::add);
+      VirtualFieldFallbacks.recordAccess(new First(), counters::add);
+
+      assertThat(counters)
+          .containsExactly(
+              VirtualFieldFallbacks.COUNTER_NAME,
+              VirtualFieldFallbacks.COUNTER_NAME,
+              VirtualFieldFallbacks.COUNTER_NAME);
+      assertThat(records)
+          .extracting(record -> record.getParameters()[0])
+          .containsExactly(First.class.getName(), Second.class.getName());
+    } finally {
+      logger.removeHandler(handler);
+      logger.setLevel(level);
+    }
+  }
+
+  private static class First {}
+
+  private static class Second {}
+}
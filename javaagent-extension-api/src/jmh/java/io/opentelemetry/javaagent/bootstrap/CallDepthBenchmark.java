@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// simulates the advice of a jdbc Statement.execute() that delegates to another instrumented
+// Statement.execute() (e.g. a connection pool wrapper) nested inside an http client call
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class CallDepthBenchmark {
+
+  private static final class HttpClientAdvice {}
+
+  private static final class StatementAdvice {}
+
+  @Benchmark
+  @Threads(1)
+  public int threads01_nestedStatementExecute() {
+    return nestedStatementExecute();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public int threads08_nestedStatementExecute() {
+    return nestedStatementExecute();
+  }
+
+  private static int nestedStatementExecute() {
+    CallDepth httpCallDepth = CallDepth.forClass(HttpClientAdvice.class);
+    int result = httpCallDepth.getAndIncrement();
+    for (int i = 0; i < 3; i++) {
+      CallDepth outer = CallDepth.forClass(StatementAdvice.class);
+      result += outer.getAndIncrement();
+      CallDepth inner = CallDepth.forClass(StatementAdvice.class);
+      result += inner.getAndIncrement();
+      result += inner.decrementAndGet();
+      result += outer.decrementAndGet();
+    }
+    result += httpCallDepth.decrementAndGet();
+    return result;
+  }
+}
@@ -22,9 +22,12 @@ package io.opentelemetry.javaagent.bootstrap;
  */
 public final class CallDepth {
 
+  // identifies the tracked class this call depth belongs to, see CallDepthThreadLocalMap
+  final int ownerId;
   private int depth;
 
-  CallDepth() {
+  CallDepth(int ownerId) {
+    this.ownerId = ownerId;
     this.depth = 0;
   }
 
@@ -5,24 +5,106 @@
 
 package io.opentelemetry.javaagent.bootstrap;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 final class CallDepthThreadLocalMap {
 
-  private static final ClassValue<ThreadLocalDepth> TLS =
-      new ClassValue<ThreadLocalDepth>() {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final AtomicInteger nextIndex = new AtomicInteger();
+  private static final AtomicInteger nextId = new AtomicInteger();
+
+  // indices of tracked classes that were unloaded are reused for new tracked classes, so that the
+  // per-thread arrays don't keep growing when class loaders are created and discarded repeatedly,
+  // e.g. on redeployments
+  private static final Queue<Integer> freeIndices = new ConcurrentLinkedQueue<>();
+  private static final ReferenceQueue<Index> unloadedIndices = new ReferenceQueue<>();
+  // keeps the references reachable until they are enqueued
+  private static final Set<IndexReference> indexReferences =
+      Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+  // assigns each tracked class a small index into the per-thread CallDepth array
+  private static final ClassValue<Index> INDEX =
+      new ClassValue<Index>() {
         @Override
-        protected ThreadLocalDepth computeValue(Class<?> type) {
-          return new ThreadLocalDepth();
+        protected Index computeValue(Class<?> type) {
+          return newIndex();
         }
       };
 
+  // a single thread local holding the call depths of all tracked classes, instead of a thread local
+  // per tracked class, keeps the per-thread ThreadLocalMap small and avoids hashing into it for
+  // every class, which matters with a large number of (virtual) threads
+  private static final ThreadLocal<CallDepth[]> TLS =
+      ThreadLocal.withInitial(() -> new CallDepth[INITIAL_CAPACITY]);
+
   static CallDepth getCallDepth(Class<?> k) {
-    return TLS.get(k).get();
+    Index index = INDEX.get(k);
+    CallDepth[] callDepths = TLS.get();
+    if (index.value >= callDepths.length) {
+      callDepths = Arrays.copyOf(callDepths, Math.max(index.value + 1, callDepths.length * 2));
+      TLS.set(callDepths);
+    }
+    CallDepth callDepth = callDepths[index.value];
+    // the slot may still hold the call depth of an unloaded class that had the same index
+    if (callDepth == null || callDepth.ownerId != index.id) {
+      callDepth = new CallDepth(index.id);
+      callDepths[index.value] = callDepth;
+    }
+    return callDepth;
+  }
+
+  private static Index newIndex() {
+    for (Reference<? extends Index> reference = unloadedIndices.poll();
+        reference != null;
+        reference = unloadedIndices.poll()) {
+      IndexReference indexReference = (IndexReference) reference;
+      if (indexReferences.remove(indexReference)) {
+        freeIndices.add(indexReference.value);
+      }
+    }
+
+    Integer freeIndex = freeIndices.poll();
+    Index index =
+        new Index(
+            freeIndex != null ? freeIndex : nextIndex.getAndIncrement(),
+            nextId.getAndIncrement());
+    indexReferences.add(new IndexReference(index, unloadedIndices));
+    return index;
   }
 
-  private static final class ThreadLocalDepth extends ThreadLocal<CallDepth> {
-    @Override
-    protected CallDepth initialValue() {
-      return new CallDepth();
+  // Visible for testing
+  static int getIndexCount() {
+    return nextIndex.get();
+  }
+
+  // only referenced from the ClassValue, becomes unreachable when the tracked class is unloaded
+  private static final class Index {
+    final int value;
+    // unlike the index, the id is never reused
+    final int id;
+
+    Index(int value, int id) {
+      this.value = value;
+      this.id = id;
+    }
+  }
+
+  private static final class IndexReference extends WeakReference<Index> {
+    final int value;
+
+    IndexReference(Index index, ReferenceQueue<Index> queue) {
+      super(index, queue);
+      this.value = index.value;
     }
   }
 
@@ -8,29 +8,41 @@ package io.opentelemetry.javaagent.extension.matcher;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
 import io.opentelemetry.javaagent.bootstrap.internal.InClassLoaderMatcher;
+import io.opentelemetry.javaagent.extension.matcher.internal.ClassNamesMatcher;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import net.bytebuddy.matcher.ElementMatcher;
 
-class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.AbstractBase<ClassLoader> {
+class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.AbstractBase<ClassLoader>
+    implements ClassNamesMatcher {
   // caching is disabled for build time muzzle checks
   // this field is set via reflection from ClassLoaderMatcher
   static boolean useCache = true;
   private static final AtomicInteger counter = new AtomicInteger();
 
+  private final List<String> classNames;
   private final String[] resources;
   // each matcher gets a unique index that is used for caching the matching status
   private final int index = counter.getAndIncrement();
 
   ClassLoaderHasClassesNamedMatcher(String... classNames) {
+    this.classNames = Collections.unmodifiableList(Arrays.asList(classNames.clone()));
     resources = classNames;
     for (int i = 0; i < resources.length; i++) {
       resources[i] = resources[i].replace(".", "/") + ".class";
     }
   }
 
+  @Override
+  public List<String> getClassNames() {
+    return classNames;
+  }
+
   @Override
   public boolean matches(ClassLoader cl) {
     if (cl == null) {
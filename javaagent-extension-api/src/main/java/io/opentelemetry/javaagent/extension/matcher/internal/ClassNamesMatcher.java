@@ -0,0 +1,20 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher.internal;
+
+import java.util.List;
+
+/**
+ * Interface for extracting the names of the classes that a class loader matcher looks for.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface ClassNamesMatcher {
+
+  /** Returns the names of the classes that a class loader must contain to be matched. */
+  List<String> getClassNames();
+}
@@ -6,7 +6,12 @@
 package io.opentelemetry.javaagent.bootstrap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class CallDepthTest {
@@ -28,4 +33,86 @@ class CallDepthTest {
     assertThat(CallDepth.forClass(Double.class).getAndIncrement()).isZero();
     assertThat(CallDepth.forClass(Double.class).decrementAndGet()).isZero();
   }
+
+  @Test
+  void manyClasses() {
+    // more classes than the initial capacity of the per-thread call depth array
+    Class<?>[] classes = {
+      String.class, Integer.class, Long.class, Short.class, Byte.class, Character.class,
+      Boolean.class, Float.class, Double.class, Object.class, Number.class, Class.class,
+      Thread.class, Runnable.class, Iterable.class, Comparable.class, CharSequence.class,
+      StringBuilder.class, AtomicInteger.class, CallDepthTest.class
+    };
+    for (Class<?> cls : classes) {
+      assertThat(CallDepth.forClass(cls).getAndIncrement()).isZero();
+    }
+    for (Class<?> cls : classes) {
+      assertThat(CallDepth.forClass(cls).decrementAndGet()).isZero();
+    }
+  }
+
+  @Test
+  void perThread() throws InterruptedException {
+    assertThat(CallDepth.forClass(String.class).getAndIncrement()).isZero();
+
+    AtomicInteger otherThreadDepth = new AtomicInteger(-1);
+    Thread thread =
+        new Thread(() -> otherThreadDepth.set(CallDepth.forClass(String.class).getAndIncrement()));
+    thread.start();
+    thread.join();
+    assertThat(otherThreadDepth.get()).isZero();
+
+    assertThat(CallDepth.forClass(String.class).decrementAndGet()).isZero();
+  }
+
+  @Test
+  void reusesIndicesOfUnloadedClasses() throws Exception {
+    trackNewClass();
+
+    // once the class above is unloaded, the next tracked class gets its index instead of a new one
+    await()
+        .untilAsserted(
+            () -> {
+              System.gc();
+              int indexCount = CallDepthThreadLocalMap.getIndexCount();
+              trackNewClass();
+              assertThat(CallDepthThreadLocalMap.getIndexCount()).isEqualTo(indexCount);
+            });
+  }
+
+  // tracks a class that can be unloaded as soon as this method returns
+  private static void trackNewClass() throws ClassNotFoundException {
+    Class<?> tracked = new TrackedClassLoader().loadClass(Tracked.class.getName());
+    assertThat(CallDepth.forClass(tracked).getAndIncrement()).isZero();
+    assertThat(CallDepth.forClass(tracked).decrementAndGet()).isZero();
+  }
+
+  static class Tracked {}
+
+  // defines its own copy of Tracked, which is unloaded with the class loader
+  private static class TrackedClassLoader extends ClassLoader {
+
+    TrackedClassLoader() {
+      super(CallDepthTest.class.getClassLoader());
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!name.equals(Tracked.class.getName())) {
+        return super.loadClass(name, resolve);
+      }
+      String resource = name.replace('.', '/') + ".class";
+      try (InputStream in = getParent().getResourceAsStream(resource)) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+          out.write(buffer, 0, read);
+        }
+        byte[] bytes = out.toByteArray();
+        return defineClass(name, bytes, 0, bytes.length);
+      } catch (IOException e) {
+        throw new ClassNotFoundException(name, e);
+      }
+    }
+  }
 }
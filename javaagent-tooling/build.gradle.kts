@@ -1,5 +1,3 @@
-import net.ltgt.gradle.errorprone.errorprone
-
 plugins {
   id("otel.java-conventions")
   id("otel.publish-conventions")
@@ -126,13 +124,6 @@ tasks {
     jvmArgs("-XX:+IgnoreUnrecognizedVMOptions")
   }
 
-  // TODO this should live in jmh-conventions
-  named<JavaCompile>("jmhCompileGeneratedClasses") {
-    options.errorprone {
-      isEnabled.set(false)
-    }
-  }
-
   check {
     dependsOn(testing.suites)
   }
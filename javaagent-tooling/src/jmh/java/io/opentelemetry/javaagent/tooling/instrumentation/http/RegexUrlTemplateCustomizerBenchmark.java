@@ -0,0 +1,108 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation.http;
+
+import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesGetter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class RegexUrlTemplateCustomizerBenchmark {
+
+  @Param({"10", "100", "1000"})
+  int ruleCount;
+
+  private final RegexUrlTemplateCustomizer customizer = new RegexUrlTemplateCustomizer();
+  private String matchingUrl;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < ruleCount; i++) {
+      UrlTemplateRules.addRule(
+          Pattern.compile("^https://service" + i + "\\.example\\.com/users/[0-9]+$"),
+          "/users/{id}",
+          false);
+    }
+    matchingUrl = "https://service" + (ruleCount - 1) + ".example.com/users/12345";
+  }
+
+  @TearDown
+  public void tearDown() {
+    UrlTemplateRules.getRules().clear();
+  }
+
+  @Benchmark
+  public String matchLastRule() {
+    return customizer.customize(null, matchingUrl, UrlGetter.INSTANCE);
+  }
+
+  @Benchmark
+  public String noMatch() {
+    return customizer.customize(null, "https://other.example.com/users/12345", UrlGetter.INSTANCE);
+  }
+
+  enum UrlGetter implements HttpClientAttributesGetter<String, Void> {
+    INSTANCE;
+
+    @Override
+    public String getUrlFull(String url) {
+      return url;
+    }
+
+    @Override
+    public String getHttpRequestMethod(String url) {
+      return "GET";
+    }
+
+    @Override
+    public List<String> getHttpRequestHeader(String url, String name) {
+      return Collections.emptyList();
+    }
+
+    @Nullable
+    @Override
+    public Integer getHttpResponseStatusCode(String url, Void response, @Nullable Throwable error) {
+      return null;
+    }
+
+    @Override
+    public List<String> getHttpResponseHeader(String url, Void response, String name) {
+      return Collections.emptyList();
+    }
+
+    @Nullable
+    @Override
+    public String getServerAddress(String url) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public Integer getServerPort(String url) {
+      return null;
+    }
+  }
+}
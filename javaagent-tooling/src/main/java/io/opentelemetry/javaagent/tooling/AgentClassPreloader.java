@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Loads all agent classes in a class data sharing (CDS) training run. The JVM only archives the
+ * classes that were loaded when the archive is dumped, e.g. with {@code
+ * -XX:ArchiveClassesAtExit}, so without preloading, the classes that the training run didn't use
+ * would still be parsed and verified on every start.
+ *
+ * <p>The {@code AgentClassLoader} defines the classes with the unmodified bytes of their jar entry
+ * and a code source that points to the agent jar, which lets the JVM take the classes from the
+ * archive when the same agent jar is used with {@code -XX:SharedArchiveFile}.
+ */
+final class AgentClassPreloader {
+
+  private static final Logger logger = Logger.getLogger(AgentClassPreloader.class.getName());
+
+  static final String CDS_TRAINING_CONFIG = "otel.javaagent.experimental.cds.training";
+
+  // see AgentInitializer, the agent classes are stored as inst/**/*.classdata
+  private static final String CLASS_PREFIX = "inst/";
+  private static final String CLASS_SUFFIX = ".classdata";
+  private static final String META_INF = CLASS_PREFIX + "META-INF/";
+
+  static void preloadAgentClasses(ClassLoader agentClassLoader, File javaagentFile) {
+    int loaded = 0;
+    int failed = 0;
+    try (JarFile jarFile = new JarFile(javaagentFile, false)) {
+      for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements(); ) {
+        String className = getClassName(entries.nextElement().getName());
+        if (className == null) {
+          continue;
+        }
+        try {
+          Class.forName(className, false, agentClassLoader);
+          loaded++;
+        } catch (ClassNotFoundException | LinkageError e) {
+          // e.g. classes that reference optional dependencies
+          logger.log(FINE, "Failed to preload " + className, e);
+          failed++;
+        }
+      }
+    } catch (IOException e) {
+      logger.log(WARNING, "Failed to read the agent jar, classes were not preloaded", e);
+      return;
+    }
+    logger.log(
+        INFO,
+        "CDS training run: preloaded {0} agent classes, {1} classes could not be loaded",
+        new Object[] {loaded, failed});
+  }
+
+  // Visible for testing
+  @Nullable
+  static String getClassName(String entryName) {
+    if (!entryName.startsWith(CLASS_PREFIX)
+        || !entryName.endsWith(CLASS_SUFFIX)
+        // multi-release versions are picked by the class loader
+        || entryName.startsWith(META_INF)) {
+      return null;
+    }
+    String className =
+        entryName
+            .substring(CLASS_PREFIX.length(), entryName.length() - CLASS_SUFFIX.length())
+            .replace('/', '.');
+    return className.endsWith("module-info") || className.endsWith("package-info")
+        ? null
+        : className;
+  }
+
+  private AgentClassPreloader() {}
+}
@@ -104,6 +104,10 @@ public class AgentStarterImpl implements AgentStarter {
       AgentInstaller.installBytebuddyAgent(instrumentation, extensionClassLoader, earlyConfig);
       WeakConcurrentMapCleaner.start();
 
+      if (earlyConfig.getBoolean(AgentClassPreloader.CDS_TRAINING_CONFIG, false)) {
+        AgentClassPreloader.preloadAgentClasses(getClass().getClassLoader(), javaagentFile);
+      }
+
       // LazyStorage reads system properties. Initialize it here where we have permissions to avoid
       // failing permission checks when it is initialized from user code.
       if (System.getSecurityManager() != null) {
@@ -13,5 +13,9 @@ public final class AgentConfig {
     return config.getBoolean("otel.javaagent.debug", false);
   }
 
+  public static boolean isSupportabilityMetricsEnabled(ConfigProperties config) {
+    return config.getBoolean("otel.javaagent.experimental.supportability-metrics.enabled", false);
+  }
+
   private AgentConfig() {}
 }
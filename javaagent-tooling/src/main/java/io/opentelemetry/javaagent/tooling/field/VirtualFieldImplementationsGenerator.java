@@ -12,6 +12,7 @@ import static io.opentelemetry.javaagent.tooling.field.GeneratedVirtualFieldName
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.field.VirtualFieldFallbacks;
 import io.opentelemetry.javaagent.extension.instrumentation.internal.AsmApi;
 import io.opentelemetry.javaagent.tooling.Utils;
 import io.opentelemetry.javaagent.tooling.muzzle.VirtualFieldMappings;
@@ -267,7 +268,7 @@ final class VirtualFieldImplementationsGenerator {
   @SuppressWarnings({"UnusedMethod", "UnusedVariable", "MethodCanBeStatic"})
   static final class VirtualFieldImplementationTemplate extends VirtualField<Object, Object> {
     private static final VirtualFieldImplementationTemplate INSTANCE =
-        new VirtualFieldImplementationTemplate(Cache.weak());
+        new VirtualFieldImplementationTemplate(Cache.weakStriped());
 
     private final Cache<Object, Object> map;
 
@@ -295,10 +296,12 @@ final class VirtualFieldImplementationsGenerator {
     }
 
     private Object mapGet(Object key) {
+      VirtualFieldFallbacks.recordAccess(key);
       return map.get(key);
     }
 
     private void mapPut(Object key, Object value) {
+      VirtualFieldFallbacks.recordAccess(key);
       if (value == null) {
         map.remove(key);
       } else {
@@ -14,22 +14,67 @@ import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.tooling.AgentExtension;
 import io.opentelemetry.javaagent.tooling.Utils;
+import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationModuleInstaller.PreparedModule;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 
 @AutoService(AgentExtension.class)
 public class InstrumentationLoader implements AgentExtension {
   private static final Logger logger = Logger.getLogger(InstrumentationLoader.class.getName());
 
+  // prepares the instrumentation modules of the agent on a thread pool, the prepared modules are
+  // registered on the agent builder in the same order as when they are installed one by one.
+  // Extension modules are still prepared one by one, their code doesn't need to be thread safe
+  private static final String PARALLEL_INSTALLATION_CONFIG =
+      "otel.javaagent.experimental.parallel-module-installation";
+
   private final InstrumentationModuleInstaller instrumentationModuleInstaller =
       new InstrumentationModuleInstaller(InstrumentationHolder.getInstrumentation());
 
   @Override
   public AgentBuilder extend(AgentBuilder agentBuilder, ConfigProperties config) {
+    List<InstrumentationModule> instrumentationModules =
+        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader());
+    List<Set<String>> triggerClassNames = null;
+    LazyModuleActivation lazyModuleActivation = null;
+    if (config.getBoolean(LazyModuleActivation.LAZY_ACTIVATION_CONFIG, false)) {
+      triggerClassNames = getTriggerClassNames(instrumentationModules, config);
+      lazyModuleActivation =
+          new LazyModuleActivation(
+              instrumentationModuleInstaller, InstrumentationHolder.getInstrumentation(), config);
+    }
+    List<ForkJoinTask<PreparedModule>> preparedModules = null;
+    if (config.getBoolean(PARALLEL_INSTALLATION_CONFIG, false)) {
+      preparedModules =
+          prepareInParallel(
+              instrumentationModules,
+              triggerClassNames,
+              InstrumentationLoader::isAgentModule,
+              module -> instrumentationModuleInstaller.prepare(module, config));
+    }
+
     int numberOfLoadedModules = 0;
-    for (InstrumentationModule instrumentationModule :
-        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader())) {
+    int numberOfDeferredModules = 0;
+    for (int i = 0; i < instrumentationModules.size(); i++) {
+      InstrumentationModule instrumentationModule = instrumentationModules.get(i);
+      Set<String> moduleTriggerClassNames =
+          triggerClassNames != null ? triggerClassNames.get(i) : null;
+      if (lazyModuleActivation != null && moduleTriggerClassNames != null) {
+        lazyModuleActivation.defer(
+            instrumentationModule, moduleTriggerClassNames, agentBuilder, i);
+        numberOfDeferredModules++;
+        continue;
+      }
       if (logger.isLoggable(FINE)) {
         logger.log(
             FINE,
@@ -40,8 +85,15 @@ public class InstrumentationLoader implements AgentExtension {
             });
       }
       try {
-        agentBuilder =
-            instrumentationModuleInstaller.install(instrumentationModule, agentBuilder, config);
+        ForkJoinTask<PreparedModule> preparedModuleTask =
+            preparedModules != null ? preparedModules.get(i) : null;
+        PreparedModule preparedModule =
+            preparedModuleTask != null
+                ? preparedModuleTask.join()
+                : instrumentationModuleInstaller.prepare(instrumentationModule, config);
+        if (preparedModule != null) {
+          agentBuilder = preparedModule.install(agentBuilder);
+        }
         numberOfLoadedModules++;
       } catch (Exception | LinkageError e) {
         logger.log(
@@ -55,10 +107,94 @@ public class InstrumentationLoader implements AgentExtension {
       }
     }
     logger.log(FINE, "Installed {0} instrumentation(s)", numberOfLoadedModules);
+    if (numberOfDeferredModules > 0) {
+      logger.log(
+          FINE,
+          "Deferred {0} instrumentation(s) until their classes are found",
+          numberOfDeferredModules);
+    }
 
     return agentBuilder;
   }
 
+  /**
+   * Returns the names of the classes that activate each module, with {@code null} for the modules
+   * that are installed right away. Disabled modules are not deferred, they are skipped when they
+   * are installed.
+   */
+  private static List<Set<String>> getTriggerClassNames(
+      List<InstrumentationModule> instrumentationModules, ConfigProperties config) {
+    List<Set<String>> triggerClassNames = new ArrayList<>(instrumentationModules.size());
+    for (InstrumentationModule instrumentationModule : instrumentationModules) {
+      boolean enabled;
+      try {
+        enabled =
+            InstrumentationModuleInstaller.isInstrumentationEnabled(
+                instrumentationModule.instrumentationNames(),
+                instrumentationModule.defaultEnabled(config));
+      } catch (Exception | LinkageError e) {
+        // reported when the module is installed
+        enabled = false;
+      }
+      triggerClassNames.add(
+          enabled ? LazyModuleActivation.getTriggerClassNames(instrumentationModule) : null);
+    }
+    return triggerClassNames;
+  }
+
+  /**
+   * Prepares the modules that match {@code parallelPreparation} on a pool that is bounded by the
+   * number of available processors. The other modules have a {@code null} entry, they are prepared
+   * while they are installed. Returns {@code null} when there is only one processor.
+   */
+  // Visible for testing
+  @Nullable
+  static <T> List<ForkJoinTask<T>> prepareInParallel(
+      List<InstrumentationModule> instrumentationModules,
+      @Nullable List<Set<String>> triggerClassNames,
+      Predicate<InstrumentationModule> parallelPreparation,
+      Function<InstrumentationModule, T> prepare) {
+    int parallelism =
+        Math.min(Runtime.getRuntime().availableProcessors(), instrumentationModules.size());
+    if (parallelism <= 1) {
+      return null;
+    }
+
+    // module code may look up classes through the context class loader
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    ForkJoinPool pool =
+        new ForkJoinPool(
+            parallelism,
+            forkJoinPool -> {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+              thread.setName("otel-javaagent-module-installer-" + thread.getPoolIndex());
+              thread.setContextClassLoader(contextClassLoader);
+              return thread;
+            },
+            null,
+            false);
+    List<ForkJoinTask<T>> preparedModules = new ArrayList<>(instrumentationModules.size());
+    for (int i = 0; i < instrumentationModules.size(); i++) {
+      InstrumentationModule instrumentationModule = instrumentationModules.get(i);
+      // deferred modules are prepared when they are activated
+      if ((triggerClassNames != null && triggerClassNames.get(i) != null)
+          || !parallelPreparation.test(instrumentationModule)) {
+        preparedModules.add(null);
+      } else {
+        preparedModules.add(pool.submit(() -> prepare.apply(instrumentationModule)));
+      }
+    }
+    // the submitted tasks still run, the worker threads exit when they are done
+    pool.shutdown();
+    return preparedModules;
+  }
+
+  // the modules of extensions are loaded by their own class loaders
+  private static boolean isAgentModule(InstrumentationModule instrumentationModule) {
+    return instrumentationModule.getClass().getClassLoader() == Utils.getAgentClassLoader();
+  }
+
   @Override
   public String extensionName() {
     return "instrumentation-loader";
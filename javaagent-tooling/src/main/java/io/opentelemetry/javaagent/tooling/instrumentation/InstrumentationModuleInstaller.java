@@ -40,6 +40,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.type.TypeDescription;
@@ -56,6 +57,11 @@ public final class InstrumentationModuleInstaller {
   public static final ElementMatcher.Junction<AnnotationSource> NOT_DECORATOR_MATCHER =
       not(isAnnotatedWith(named("javax.decorator.Decorator")));
 
+  // links all advice methods of an indy module when the first one is invoked in a class loader,
+  // instead of resolving each advice method on the first invocation of its call sites
+  private static final String EAGER_ADVICE_LINKING_CONFIG =
+      "otel.javaagent.experimental.indy.eager-advice-linking";
+
   private final Instrumentation instrumentation;
   private final VirtualFieldImplementationInstallerFactory virtualFieldInstallerFactory =
       VirtualFieldImplementationInstallerFactory.getInstance();
@@ -68,25 +74,27 @@ public final class InstrumentationModuleInstaller {
       InstrumentationModule instrumentationModule,
       AgentBuilder parentAgentBuilder,
       ConfigProperties config) {
+    PreparedModule preparedModule = prepare(instrumentationModule, config);
+    return preparedModule != null ? preparedModule.install(parentAgentBuilder) : parentAgentBuilder;
+  }
+
+  /**
+   * Creates the matchers, helper injectors and virtual field installers of the module, everything
+   * that {@link PreparedModule#install(AgentBuilder)} needs to register the module on the agent
+   * builder. Preparing a module doesn't depend on any other module, so several modules can be
+   * prepared concurrently. Returns {@code null} when the module is disabled or has nothing to
+   * install.
+   */
+  @Nullable
+  PreparedModule prepare(InstrumentationModule instrumentationModule, ConfigProperties config) {
     if (!isInstrumentationEnabled(
         instrumentationModule.instrumentationNames(),
         instrumentationModule.defaultEnabled(config))) {
       logger.log(
           FINE, "Instrumentation {0} is disabled", instrumentationModule.instrumentationName());
-      return parentAgentBuilder;
-    }
-
-    if (instrumentationModule.isIndyModule()) {
-      return installIndyModule(instrumentationModule, parentAgentBuilder, config);
-    } else {
-      return installInjectingModule(instrumentationModule, parentAgentBuilder, config);
+      return null;
     }
-  }
 
-  private AgentBuilder installIndyModule(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
     HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
@@ -100,9 +108,46 @@ public final class InstrumentationModuleInstaller {
             instrumentationModule.instrumentationName());
       }
 
-      return parentAgentBuilder;
+      return null;
+    }
+
+    List<TypeMatchers> typeMatchers = new ArrayList<>(typeInstrumentations.size());
+    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+      typeMatchers.add(new TypeMatchers(instrumentationModule, typeInstrumentation));
+    }
+    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
+    VirtualFieldImplementationInstaller contextProvider =
+        virtualFieldInstallerFactory.create(instrumentationModule);
+
+    if (instrumentationModule.isIndyModule()) {
+      return new PreparedModule(
+          instrumentationModule,
+          typeInstrumentations,
+          typeMatchers,
+          muzzleMatcher,
+          createIndyHelperInjector(instrumentationModule, helperResourceBuilder),
+          contextProvider,
+          config.getBoolean(EAGER_ADVICE_LINKING_CONFIG, false));
+    } else {
+      return new PreparedModule(
+          instrumentationModule,
+          typeInstrumentations,
+          typeMatchers,
+          muzzleMatcher,
+          new HelperInjector(
+              instrumentationModule.instrumentationName(),
+              helperClassNames,
+              helperResourceBuilder.getResources(),
+              Utils.getExtensionsClassLoader(),
+              instrumentation),
+          contextProvider,
+          false);
     }
+  }
 
+  private HelperInjector createIndyHelperInjector(
+      InstrumentationModule instrumentationModule,
+      HelperResourceBuilderImpl helperResourceBuilder) {
     List<String> injectedHelperClassNames;
     if (instrumentationModule instanceof ExperimentalInstrumentationModule) {
       ExperimentalInstrumentationModule experimentalInstrumentationModule =
@@ -118,8 +163,6 @@ public final class InstrumentationModuleInstaller {
           .injectClasses(injectedClassesCollector);
     }
 
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
-
     Function<ClassLoader, List<HelperClassDefinition>> helperGenerator =
         cl -> {
           List<HelperClassDefinition> helpers =
@@ -134,110 +177,123 @@ public final class InstrumentationModuleInstaller {
           return helpers;
         };
 
-    HelperInjector helperInjector =
-        new HelperInjector(
-            instrumentationModule.instrumentationName(),
-            helperGenerator,
-            helperResourceBuilder.getResources(),
-            instrumentationModule.getClass().getClassLoader(),
-            instrumentation);
-
-    VirtualFieldImplementationInstaller contextProvider =
-        virtualFieldInstallerFactory.create(instrumentationModule);
+    return new HelperInjector(
+        instrumentationModule.instrumentationName(),
+        helperGenerator,
+        helperResourceBuilder.getResources(),
+        instrumentationModule.getClass().getClassLoader(),
+        instrumentation);
+  }
 
-    AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : instrumentationModule.typeInstrumentations()) {
-      AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
-              .and(muzzleMatcher)
-              .transform(ConstantAdjuster.instance())
-              .transform(new ForwardIndyAdviceTransformer(helperInjector));
-
-      extendableAgentBuilder =
-          IndyModuleRegistry.initializeModuleLoaderOnMatch(
-              instrumentationModule, extendableAgentBuilder);
-      extendableAgentBuilder = extendableAgentBuilder.transform(helperInjector);
-      extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
-      IndyTypeTransformerImpl typeTransformer =
-          new IndyTypeTransformerImpl(extendableAgentBuilder, instrumentationModule);
-      typeInstrumentation.transform(typeTransformer);
-      extendableAgentBuilder = typeTransformer.getAgentBuilder();
-      extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
-
-      agentBuilder = extendableAgentBuilder;
+  /** An instrumentation module that is ready to be registered on the agent builder. */
+  final class PreparedModule {
+    private final InstrumentationModule instrumentationModule;
+    private final List<TypeInstrumentation> typeInstrumentations;
+    private final List<TypeMatchers> typeMatchers;
+    private final MuzzleMatcher muzzleMatcher;
+    private final HelperInjector helperInjector;
+    private final VirtualFieldImplementationInstaller contextProvider;
+    private final boolean eagerAdviceLinking;
+
+    private PreparedModule(
+        InstrumentationModule instrumentationModule,
+        List<TypeInstrumentation> typeInstrumentations,
+        List<TypeMatchers> typeMatchers,
+        MuzzleMatcher muzzleMatcher,
+        HelperInjector helperInjector,
+        VirtualFieldImplementationInstaller contextProvider,
+        boolean eagerAdviceLinking) {
+      this.instrumentationModule = instrumentationModule;
+      this.typeInstrumentations = typeInstrumentations;
+      this.typeMatchers = typeMatchers;
+      this.muzzleMatcher = muzzleMatcher;
+      this.helperInjector = helperInjector;
+      this.contextProvider = contextProvider;
+      this.eagerAdviceLinking = eagerAdviceLinking;
     }
-    return agentBuilder;
-  }
 
-  private AgentBuilder installInjectingModule(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
-    List<String> helperClassNames =
-        InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
-    HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
-    instrumentationModule.registerHelperResources(helperResourceBuilder);
-    List<TypeInstrumentation> typeInstrumentations = instrumentationModule.typeInstrumentations();
-    if (typeInstrumentations.isEmpty()) {
-      if (!helperClassNames.isEmpty() || !helperResourceBuilder.getResources().isEmpty()) {
-        logger.log(
-            WARNING,
-            "Helper classes and resources won't be injected if no types are instrumented: {0}",
-            instrumentationModule.instrumentationName());
+    AgentBuilder install(AgentBuilder parentAgentBuilder) {
+      if (instrumentationModule.isIndyModule()) {
+        return installIndyModule(parentAgentBuilder);
+      } else {
+        return installInjectingModule(parentAgentBuilder);
       }
+    }
 
-      return parentAgentBuilder;
+    private AgentBuilder installIndyModule(AgentBuilder parentAgentBuilder) {
+      AgentBuilder agentBuilder = parentAgentBuilder;
+      for (int i = 0; i < typeInstrumentations.size(); i++) {
+        TypeInstrumentation typeInstrumentation = typeInstrumentations.get(i);
+        AgentBuilder.Identified.Extendable extendableAgentBuilder =
+            typeMatchers
+                .get(i)
+                .setTypeMatcher(agentBuilder)
+                .and(muzzleMatcher)
+                .transform(ConstantAdjuster.instance())
+                .transform(new ForwardIndyAdviceTransformer(helperInjector));
+
+        extendableAgentBuilder =
+            IndyModuleRegistry.initializeModuleLoaderOnMatch(
+                instrumentationModule, extendableAgentBuilder, eagerAdviceLinking);
+        extendableAgentBuilder = extendableAgentBuilder.transform(helperInjector);
+        extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
+        IndyTypeTransformerImpl typeTransformer =
+            new IndyTypeTransformerImpl(extendableAgentBuilder, instrumentationModule);
+        typeInstrumentation.transform(typeTransformer);
+        extendableAgentBuilder = typeTransformer.getAgentBuilder();
+        if (eagerAdviceLinking) {
+          extendableAgentBuilder = IndyModuleRegistry.stopAdviceRecording(extendableAgentBuilder);
+        }
+        extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
+
+        agentBuilder = extendableAgentBuilder;
+      }
+      return agentBuilder;
     }
 
-    MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
-    AgentBuilder.Transformer helperInjector =
-        new HelperInjector(
-            instrumentationModule.instrumentationName(),
-            helperClassNames,
-            helperResourceBuilder.getResources(),
-            Utils.getExtensionsClassLoader(),
-            instrumentation);
-    VirtualFieldImplementationInstaller contextProvider =
-        virtualFieldInstallerFactory.create(instrumentationModule);
+    private AgentBuilder installInjectingModule(AgentBuilder parentAgentBuilder) {
+      AtomicBoolean openerRun = new AtomicBoolean();
+      AgentBuilder agentBuilder = parentAgentBuilder;
+      for (int i = 0; i < typeInstrumentations.size(); i++) {
+        TypeInstrumentation typeInstrumentation = typeInstrumentations.get(i);
+        AgentBuilder.Identified.Extendable extendableAgentBuilder =
+            typeMatchers
+                .get(i)
+                .setTypeMatcher(agentBuilder)
+                .and(muzzleMatcher)
+                .transform(ConstantAdjuster.instance())
+                .transform(
+                    (builder, typeDescription, classLoader, module, protectionDomain) -> {
+                      if (JavaModule.isSupported()
+                          && instrumentationModule instanceof ExperimentalInstrumentationModule
+                          && !openerRun.get()) {
+                        ExperimentalInstrumentationModule experimentalModule =
+                            (ExperimentalInstrumentationModule) instrumentationModule;
+                        experimentalModule
+                            .jpmsModulesToOpen()
+                            .forEach(
+                                (javaModule, packages) -> {
+                                  ModuleOpener.open(
+                                      instrumentation, javaModule, classLoader, packages);
+                                });
+                        openerRun.set(true);
+                      }
+
+                      return builder;
+                    })
+                .transform(helperInjector);
+        extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
+        extendableAgentBuilder = contextProvider.rewriteVirtualFieldsCalls(extendableAgentBuilder);
+        TypeTransformerImpl typeTransformer = new TypeTransformerImpl(extendableAgentBuilder);
+        typeInstrumentation.transform(typeTransformer);
+        extendableAgentBuilder = typeTransformer.getAgentBuilder();
+        extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
+
+        agentBuilder = extendableAgentBuilder;
+      }
 
-    AtomicBoolean openerRun = new AtomicBoolean();
-    AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
-      AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
-              .and(muzzleMatcher)
-              .transform(ConstantAdjuster.instance())
-              .transform(
-                  (builder, typeDescription, classLoader, module, protectionDomain) -> {
-                    if (JavaModule.isSupported()
-                        && instrumentationModule instanceof ExperimentalInstrumentationModule
-                        && !openerRun.get()) {
-                      ExperimentalInstrumentationModule experimentalModule =
-                          (ExperimentalInstrumentationModule) instrumentationModule;
-                      experimentalModule
-                          .jpmsModulesToOpen()
-                          .forEach(
-                              (javaModule, packages) -> {
-                                ModuleOpener.open(
-                                    instrumentation, javaModule, classLoader, packages);
-                              });
-                      openerRun.set(true);
-                    }
-
-                    return builder;
-                  })
-              .transform(helperInjector);
-      extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
-      extendableAgentBuilder = contextProvider.rewriteVirtualFieldsCalls(extendableAgentBuilder);
-      TypeTransformerImpl typeTransformer = new TypeTransformerImpl(extendableAgentBuilder);
-      typeInstrumentation.transform(typeTransformer);
-      extendableAgentBuilder = typeTransformer.getAgentBuilder();
-      extendableAgentBuilder = contextProvider.injectFields(extendableAgentBuilder);
-
-      agentBuilder = extendableAgentBuilder;
+      return agentBuilder;
     }
-
-    return agentBuilder;
   }
 
   static boolean isInstrumentationEnabled(
@@ -254,36 +310,44 @@ public final class InstrumentationModuleInstaller {
     return defaultEnabled;
   }
 
-  private static AgentBuilder.Identified.Narrowable setTypeMatcher(
-      AgentBuilder agentBuilder,
-      InstrumentationModule instrumentationModule,
-      TypeInstrumentation typeInstrumentation) {
-
-    ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
-        instrumentationModule.classLoaderMatcher();
-
-    ElementMatcher<TypeDescription> typeMatcher =
-        new NamedMatcher<>(
-            instrumentationModule.getClass().getSimpleName()
-                + "#"
-                + typeInstrumentation.getClass().getSimpleName(),
-            new IgnoreFailedTypeMatcher(typeInstrumentation.typeMatcher()));
-    ElementMatcher<ClassLoader> classLoaderMatcher =
-        new NamedMatcher<>(
-            instrumentationModule.getClass().getSimpleName()
-                + "#"
-                + typeInstrumentation.getClass().getSimpleName(),
-            moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()));
-
-    return agentBuilder
-        .type(
-            new LoggingFailSafeMatcher<>(
-                typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher),
-            new LoggingFailSafeMatcher<>(
-                classLoaderMatcher,
-                "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher))
-        .and(
-            (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) ->
-                classLoader == null || NOT_DECORATOR_MATCHER.matches(typeDescription));
+  /** The type and class loader matchers of a type instrumentation. */
+  private static final class TypeMatchers {
+    private final ElementMatcher<TypeDescription> typeMatcher;
+    private final ElementMatcher<ClassLoader> classLoaderMatcher;
+
+    TypeMatchers(
+        InstrumentationModule instrumentationModule, TypeInstrumentation typeInstrumentation) {
+      ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
+          instrumentationModule.classLoaderMatcher();
+
+      ElementMatcher<TypeDescription> typeMatcher =
+          new NamedMatcher<>(
+              instrumentationModule.getClass().getSimpleName()
+                  + "#"
+                  + typeInstrumentation.getClass().getSimpleName(),
+              new IgnoreFailedTypeMatcher(typeInstrumentation.typeMatcher()));
+      ElementMatcher<ClassLoader> classLoaderMatcher =
+          new NamedMatcher<>(
+              instrumentationModule.getClass().getSimpleName()
+                  + "#"
+                  + typeInstrumentation.getClass().getSimpleName(),
+              moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()));
+
+      this.typeMatcher =
+          new LoggingFailSafeMatcher<>(
+              typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher);
+      this.classLoaderMatcher =
+          new LoggingFailSafeMatcher<>(
+              classLoaderMatcher,
+              "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher);
+    }
+
+    AgentBuilder.Identified.Narrowable setTypeMatcher(AgentBuilder agentBuilder) {
+      return agentBuilder
+          .type(typeMatcher, classLoaderMatcher)
+          .and(
+              (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) ->
+                  classLoader == null || NOT_DECORATOR_MATCHER.matches(typeDescription));
+    }
   }
 }
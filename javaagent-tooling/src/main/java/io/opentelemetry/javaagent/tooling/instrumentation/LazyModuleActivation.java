@@ -0,0 +1,286 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.SEVERE;
+
+import io.opentelemetry.javaagent.bootstrap.internal.InClassLoaderMatcher;
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.tooling.instrumentation.InstrumentationModuleInstaller.PreparedModule;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.lang.instrument.Instrumentation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.AgentBuilderUtil;
+import net.bytebuddy.agent.builder.AgentBuilderUtil.ClassLoaderListener;
+import net.bytebuddy.agent.builder.AgentBuilderUtil.OptimizedTransformations;
+
+/**
+ * Defers the installation of instrumentation modules whose class loader matcher requires some
+ * classes, e.g. {@code hasClassesNamed(...)}, until the first class of a class loader that contains
+ * those classes is transformed. Modules for libraries that the application doesn't use are never
+ * installed, which saves the time to create their transformations on startup and to match them
+ * against every loaded class.
+ *
+ * <p>The class loader that activates a module usually hasn't loaded any classes yet, its already
+ * loaded classes are retransformed otherwise, e.g. when the agent is attached to a running JVM.
+ */
+public final class LazyModuleActivation implements ClassLoaderListener {
+
+  private static final Logger logger = Logger.getLogger(LazyModuleActivation.class.getName());
+
+  // the trigger classes are only looked up before the first class of a class loader is transformed,
+  // modules are not activated for classes that are added to a class loader later, e.g. by defining
+  // them at runtime
+  static final String LAZY_ACTIVATION_CONFIG =
+      "otel.javaagent.experimental.lazy-module-activation";
+
+  @Nullable private static volatile LazyModuleActivation instance;
+
+  private final InstrumentationModuleInstaller instrumentationModuleInstaller;
+  private final Instrumentation instrumentation;
+  private final ConfigProperties config;
+  // copy-on-write, activated modules are removed while classes are transformed concurrently
+  private volatile List<DeferredModule> deferredModules = Collections.emptyList();
+  // classes can't be retransformed from within a class file transformer, the classes that are
+  // already loaded when a module is activated are retransformed on this thread
+  private final ExecutorService retransformExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "otel-javaagent-module-activation");
+            thread.setDaemon(true);
+            thread.setContextClassLoader(null);
+            return thread;
+          });
+
+  LazyModuleActivation(
+      InstrumentationModuleInstaller instrumentationModuleInstaller,
+      Instrumentation instrumentation,
+      ConfigProperties config) {
+    this.instrumentationModuleInstaller = instrumentationModuleInstaller;
+    this.instrumentation = instrumentation;
+    this.config = config;
+  }
+
+  /**
+   * Returns the listener that activates the deferred modules, or {@code null} when no modules were
+   * deferred.
+   */
+  @Nullable
+  public static ClassLoaderListener getClassLoaderListener() {
+    return instance;
+  }
+
+  /**
+   * Returns the names of the classes that activate the module, or {@code null} when the module
+   * should be installed right away.
+   */
+  @Nullable
+  static Set<String> getTriggerClassNames(InstrumentationModule instrumentationModule) {
+    try {
+      return AgentBuilderUtil.getRequiredClassNames(instrumentationModule.classLoaderMatcher());
+    } catch (Exception | LinkageError e) {
+      // the module is installed right away and reports the error
+      return null;
+    }
+  }
+
+  /**
+   * Defers the installation of the module, {@code agentBuilder} is the agent builder that the
+   * module would have been installed on and {@code index} is the position of the module in the
+   * registration order.
+   */
+  synchronized void defer(
+      InstrumentationModule instrumentationModule,
+      Set<String> triggerClassNames,
+      AgentBuilder agentBuilder,
+      int index) {
+    List<DeferredModule> result = new ArrayList<>(deferredModules);
+    result.add(new DeferredModule(instrumentationModule, triggerClassNames, agentBuilder, index));
+    deferredModules = result;
+    instance = this;
+  }
+
+  @Override
+  public void beforeFirstTransformation(
+      ClassLoader classLoader, OptimizedTransformations transformations) {
+    List<DeferredModule> modules = deferredModules;
+    if (modules.isEmpty()) {
+      return;
+    }
+
+    // the modules often share the same trigger classes, each of them is only looked up once
+    Map<String, Boolean> hasClasses = new HashMap<>();
+    List<DeferredModule> triggeredModules = new ArrayList<>();
+    List<DeferredModule> activatedModules = new ArrayList<>();
+    for (DeferredModule deferredModule : modules) {
+      if (isTriggered(classLoader, deferredModule.triggerClassNames, hasClasses)) {
+        triggeredModules.add(deferredModule);
+        // another class loader may activate the same module at the same time
+        if (deferredModule.claim()) {
+          activatedModules.add(deferredModule);
+        }
+      }
+    }
+    if (triggeredModules.isEmpty()) {
+      return;
+    }
+    if (!activatedModules.isEmpty()) {
+      removeDeferredModules(activatedModules);
+    }
+
+    for (DeferredModule deferredModule : activatedModules) {
+      try {
+        activate(deferredModule, classLoader, transformations);
+      } finally {
+        deferredModule.activated.countDown();
+      }
+    }
+    // the class that is about to be transformed must see the modules that another thread activates
+    for (DeferredModule deferredModule : triggeredModules) {
+      deferredModule.awaitActivation();
+    }
+
+    retransformLoadedClasses(classLoader);
+  }
+
+  private synchronized void removeDeferredModules(List<DeferredModule> activatedModules) {
+    List<DeferredModule> result = new ArrayList<>(deferredModules);
+    result.removeAll(activatedModules);
+    deferredModules = result;
+  }
+
+  private void activate(
+      DeferredModule deferredModule,
+      ClassLoader classLoader,
+      OptimizedTransformations transformations) {
+    InstrumentationModule instrumentationModule = deferredModule.instrumentationModule;
+    if (logger.isLoggable(FINE)) {
+      logger.log(
+          FINE,
+          "Activating instrumentation {0} [class {1}] for {2}",
+          new Object[] {
+            instrumentationModule.instrumentationName(),
+            instrumentationModule.getClass().getName(),
+            classLoader
+          });
+    }
+    try {
+      PreparedModule preparedModule =
+          instrumentationModuleInstaller.prepare(instrumentationModule, config);
+      if (preparedModule != null) {
+        transformations.add(
+            deferredModule.agentBuilder,
+            preparedModule.install(deferredModule.agentBuilder),
+            deferredModule.index);
+      }
+    } catch (Exception | LinkageError e) {
+      logger.log(
+          SEVERE,
+          "Unable to load instrumentation "
+              + instrumentationModule.instrumentationName()
+              + " [class "
+              + instrumentationModule.getClass().getName()
+              + "]",
+          e);
+    }
+  }
+
+  // Visible for testing
+  static boolean isTriggered(
+      ClassLoader classLoader, Set<String> triggerClassNames, Map<String, Boolean> hasClasses) {
+    for (String className : triggerClassNames) {
+      if (!hasClasses.computeIfAbsent(className, name -> hasClass(classLoader, name))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean hasClass(ClassLoader classLoader, String className) {
+    boolean priorValue = InClassLoaderMatcher.getAndSet(true);
+    try {
+      return classLoader.getResource(className.replace('.', '/') + ".class") != null;
+    } finally {
+      InClassLoaderMatcher.set(priorValue);
+    }
+  }
+
+  private void retransformLoadedClasses(ClassLoader classLoader) {
+    List<Class<?>> classes = new ArrayList<>();
+    for (Class<?> clazz : instrumentation.getInitiatedClasses(classLoader)) {
+      if (clazz.getClassLoader() == classLoader && instrumentation.isModifiableClass(clazz)) {
+        classes.add(clazz);
+      }
+    }
+    if (classes.isEmpty()) {
+      return;
+    }
+
+    retransformExecutor.execute(() -> retransform(classes));
+  }
+
+  private void retransform(List<Class<?>> classes) {
+    try {
+      instrumentation.retransformClasses(classes.toArray(new Class<?>[0]));
+    } catch (Throwable throwable) {
+      // a class that can't be retransformed fails the whole batch, retry the classes one by one
+      for (Class<?> clazz : classes) {
+        try {
+          instrumentation.retransformClasses(clazz);
+        } catch (Throwable t) {
+          logger.log(FINE, "Failed to retransform " + clazz.getName(), t);
+        }
+      }
+    }
+  }
+
+  private static class DeferredModule {
+    final InstrumentationModule instrumentationModule;
+    final Set<String> triggerClassNames;
+    final AgentBuilder agentBuilder;
+    // position of the module in the registration order
+    final int index;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    final CountDownLatch activated = new CountDownLatch(1);
+
+    DeferredModule(
+        InstrumentationModule instrumentationModule,
+        Set<String> triggerClassNames,
+        AgentBuilder agentBuilder,
+        int index) {
+      this.instrumentationModule = instrumentationModule;
+      this.triggerClassNames = triggerClassNames;
+      this.agentBuilder = agentBuilder;
+      this.index = index;
+    }
+
+    /** Returns {@code true} when the caller has to activate the module. */
+    boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    void awaitActivation() {
+      try {
+        activated.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -5,10 +5,12 @@
 
 package io.opentelemetry.javaagent.tooling.instrumentation;
 
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.MUZZLE_MISMATCH;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 import static net.bytebuddy.dynamic.loading.ClassLoadingStrategy.BOOTSTRAP_LOADER;
 
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
@@ -36,6 +38,7 @@ import net.bytebuddy.utility.JavaModule;
 class MuzzleMatcher implements AgentBuilder.RawMatcher {
 
   private static final Logger muzzleLogger = Logger.getLogger(MuzzleMatcher.class.getName());
+  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
   private final TransformSafeLogger instrumentationLogger;
   private final InstrumentationModule instrumentationModule;
@@ -83,6 +86,7 @@ class MuzzleMatcher implements AgentBuilder.RawMatcher {
 
     if (!isMatch) {
       MuzzleFailureCounter.inc();
+      supportability.incrementCounter(MUZZLE_MISMATCH);
       if (muzzleLogger.isLoggable(muzzleLogLevel)) {
         muzzleLogger.log(
             muzzleLogLevel,
@@ -11,7 +11,7 @@ import com.google.auto.service.AutoService;
 import io.opentelemetry.instrumentation.api.incubator.semconv.http.HttpClientUrlTemplateCustomizer;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesGetter;
 import io.opentelemetry.javaagent.tooling.instrumentation.http.UrlTemplateRules.Rule;
-import java.util.regex.Pattern;
+import java.util.regex.Matcher;
 import javax.annotation.Nullable;
 
 @AutoService(HttpClientUrlTemplateCustomizer.class)
@@ -33,9 +33,22 @@ public final class RegexUrlTemplateCustomizer implements HttpClientUrlTemplateCu
         continue;
       }
 
-      Pattern pattern = rule.getPattern();
-      // to generate the url template, we apply the regex replacement on the full url
-      String result = pattern.matcher(url).replaceFirst(rule.getReplacement());
+      // cheap check that lets us skip most rules without running the regex
+      if (!url.startsWith(rule.getLiteralPrefix())) {
+        continue;
+      }
+
+      // to generate the url template, we apply the regex replacement on the full url, this is
+      // the same as Matcher.replaceFirst() but doesn't allocate a copy of the url when the pattern
+      // doesn't match
+      Matcher matcher = rule.getPattern().matcher(url);
+      if (!matcher.find()) {
+        continue;
+      }
+      StringBuffer buffer = new StringBuffer();
+      matcher.appendReplacement(buffer, rule.getReplacement());
+      matcher.appendTail(buffer);
+      String result = buffer.toString();
       if (!url.equals(result)) {
         return result;
       }
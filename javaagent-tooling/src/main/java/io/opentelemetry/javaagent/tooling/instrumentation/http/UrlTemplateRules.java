@@ -29,13 +29,52 @@ final class UrlTemplateRules {
     rules.add(new Rule(pattern, replacement, override));
   }
 
+  // returns the literal text that every string matched by the pattern starts with, or an empty
+  // string when it can't be determined from the pattern
+  static String literalPrefix(Pattern pattern) {
+    String regex = pattern.pattern();
+    // alternation (even inside a group or character class) could make the prefix optional
+    if (pattern.flags() != 0 || !regex.startsWith("^") || regex.indexOf('|') != -1) {
+      return "";
+    }
+    StringBuilder prefix = new StringBuilder();
+    int i = 1;
+    while (i < regex.length()) {
+      char c = regex.charAt(i);
+      char literal;
+      int next;
+      if (c == '\\') {
+        // escaped letters and digits are character classes, back references, quotes etc.
+        if (i + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+          break;
+        }
+        literal = regex.charAt(i + 1);
+        next = i + 2;
+      } else if ("[](){}.*+?^$".indexOf(c) != -1) {
+        break;
+      } else {
+        literal = c;
+        next = i + 1;
+      }
+      // a quantifier makes the preceding character optional or repeated
+      if (next < regex.length() && "?*+{".indexOf(regex.charAt(next)) != -1) {
+        break;
+      }
+      prefix.append(literal);
+      i = next;
+    }
+    return prefix.toString();
+  }
+
   static final class Rule {
     private final Pattern pattern;
+    private final String literalPrefix;
     private final String replacement;
     private final boolean override;
 
     Rule(Pattern pattern, String replacement, boolean override) {
       this.pattern = pattern;
+      this.literalPrefix = literalPrefix(pattern);
       this.replacement = replacement;
       this.override = override;
     }
@@ -44,6 +83,10 @@ final class UrlTemplateRules {
       return pattern;
     }
 
+    String getLiteralPrefix() {
+      return literalPrefix;
+    }
+
     String getReplacement() {
       return replacement;
     }
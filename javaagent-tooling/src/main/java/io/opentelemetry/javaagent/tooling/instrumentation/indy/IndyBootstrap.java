@@ -190,16 +190,14 @@ public class IndyBootstrap {
           IndyModuleRegistry.getInstrumentationClassLoader(
               moduleClassName, lookup.lookupClass().getClassLoader());
 
+      // resolves the other advice methods of the module too, when they are linked eagerly
+      IndyModuleRegistry.linkAdvice(moduleClassName, instrumentationClassloader);
+
       // Advices are not inlined. They are loaded as normal classes by the
       // InstrumentationModuleClassloader and invoked via a method call from the instrumented method
-      Class<?> adviceClass = instrumentationClassloader.loadClass(adviceClassName);
-      MethodType actualAdviceMethodType =
-          MethodType.fromMethodDescriptorString(adviceMethodDescriptor, instrumentationClassloader);
-
       MethodHandle methodHandle =
           instrumentationClassloader
-              .getLookup()
-              .findStatic(adviceClass, adviceMethodName, actualAdviceMethodType)
+              .getAdviceMethodHandle(adviceClassName, adviceMethodName, adviceMethodDescriptor)
               .asType(invokedynamicMethodType);
 
       MutableCallSite nestedBootstrapCallSite = nestedState.getMutableCallSite();
@@ -222,13 +220,19 @@ public class IndyBootstrap {
   static Advice.BootstrapArgumentResolver.Factory getAdviceBootstrapArguments(
       InstrumentationModule instrumentationModule) {
     String moduleName = instrumentationModule.getClass().getName();
-    return (adviceMethod, exit) ->
-        (instrumentedType, instrumentedMethod) ->
-            Arrays.asList(
-                JavaConstant.Simple.ofLoaded(BOOTSTRAP_KIND_ADVICE),
-                JavaConstant.Simple.ofLoaded(moduleName),
-                JavaConstant.Simple.ofLoaded(adviceMethod.getDescriptor()),
-                JavaConstant.Simple.ofLoaded(adviceMethod.getDeclaringType().getName()));
+    return (adviceMethod, exit) -> {
+      IndyModuleRegistry.registerAdviceMethod(
+          moduleName,
+          adviceMethod.getDeclaringType().getName(),
+          adviceMethod.getInternalName(),
+          adviceMethod.getDescriptor());
+      return (instrumentedType, instrumentedMethod) ->
+          Arrays.asList(
+              JavaConstant.Simple.ofLoaded(BOOTSTRAP_KIND_ADVICE),
+              JavaConstant.Simple.ofLoaded(moduleName),
+              JavaConstant.Simple.ofLoaded(adviceMethod.getDescriptor()),
+              JavaConstant.Simple.ofLoaded(adviceMethod.getDeclaringType().getName()));
+    };
   }
 
   private static ConstantCallSite bootstrapProxyMethod(
@@ -12,7 +12,10 @@ import io.opentelemetry.javaagent.tooling.ModuleOpener;
 import io.opentelemetry.javaagent.tooling.util.ClassLoaderValue;
 import java.lang.instrument.Instrumentation;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.utility.JavaModule;
 
@@ -20,9 +23,19 @@ public class IndyModuleRegistry {
 
   private IndyModuleRegistry() {}
 
+  private static final Logger logger = Logger.getLogger(IndyModuleRegistry.class.getName());
+
   private static final ConcurrentHashMap<String, InstrumentationModule> modulesByClassName =
       new ConcurrentHashMap<>();
 
+  /**
+   * The class loader of the module that links its advice eagerly and is currently transforming a
+   * type on this thread. The advice methods applied by the transformation are recorded in it, so
+   * that only the advice matched in an instrumented class loader is linked there.
+   */
+  private static final ThreadLocal<InstrumentationModuleClassLoader> adviceRecordingLoader =
+      new ThreadLocal<>();
+
   /**
    * Weakly references the {@link InstrumentationModuleClassLoader}s for a given application class
    * loader. The {@link InstrumentationModuleClassLoader} are kept alive by a strong reference from
@@ -106,8 +119,17 @@ public class IndyModuleRegistry {
     return cl;
   }
 
+  /**
+   * Registers the module and initializes its class loader when a type is transformed. When {@code
+   * eagerAdviceLinking} is enabled, the advice methods applied by the module are recorded during
+   * transformation and linked together by the first invokedynamic instruction of the module that
+   * is bootstrapped in an instrumented class loader, see {@link #linkAdvice}. The recording is
+   * stopped by the transformer added in {@link #stopAdviceRecording}.
+   */
   public static AgentBuilder.Identified.Extendable initializeModuleLoaderOnMatch(
-      InstrumentationModule module, AgentBuilder.Identified.Extendable agentBuilder) {
+      InstrumentationModule module,
+      AgentBuilder.Identified.Extendable agentBuilder,
+      boolean eagerAdviceLinking) {
     if (!module.isIndyModule()) {
       throw new IllegalArgumentException("Provided module is not an indy module!");
     }
@@ -119,13 +141,69 @@ public class IndyModuleRegistry {
     }
     return agentBuilder.transform(
         (builder, typeDescription, classLoader, javaModule, protectionDomain) -> {
-          initializeModuleLoaderForClassLoader(module, classLoader);
+          initializeModuleLoaderForClassLoader(module, classLoader, eagerAdviceLinking);
+          return builder;
+        });
+  }
+
+  /**
+   * Stops recording the advice methods applied by the module, must be added after the advice
+   * transformers of a module that is initialized with {@code eagerAdviceLinking}.
+   */
+  public static AgentBuilder.Identified.Extendable stopAdviceRecording(
+      AgentBuilder.Identified.Extendable agentBuilder) {
+    return agentBuilder.transform(
+        (builder, typeDescription, classLoader, javaModule, protectionDomain) -> {
+          adviceRecordingLoader.remove();
           return builder;
         });
   }
 
+  /** Records an advice method that was applied to an instrumented class. */
+  static void registerAdviceMethod(
+      String moduleClassName,
+      String adviceClassName,
+      String adviceMethodName,
+      String adviceMethodDescriptor) {
+    InstrumentationModuleClassLoader moduleCl = adviceRecordingLoader.get();
+    InstrumentationModule module = modulesByClassName.get(moduleClassName);
+    if (moduleCl != null && module != null && moduleCl.hasModuleInstalled(module)) {
+      moduleCl.recordAdviceMethod(
+          moduleClassName,
+          new AdviceMethod(adviceClassName, adviceMethodName, adviceMethodDescriptor));
+    }
+  }
+
+  /**
+   * Resolves all recorded advice methods of the module in the given class loader at once, so that
+   * the other invokedynamic instructions of the module are linked to a ready {@link
+   * java.lang.invoke.MethodHandle} on their first invocation.
+   */
+  static void linkAdvice(String moduleClassName, InstrumentationModuleClassLoader classLoader) {
+    Set<AdviceMethod> adviceMethods = classLoader.getRecordedAdvice(moduleClassName);
+    if (adviceMethods.isEmpty() || !classLoader.markAdviceLinked(moduleClassName)) {
+      return;
+    }
+    for (AdviceMethod adviceMethod : adviceMethods) {
+      try {
+        classLoader.getAdviceMethodHandle(
+            adviceMethod.adviceClassName,
+            adviceMethod.adviceMethodName,
+            adviceMethod.adviceMethodDescriptor);
+      } catch (Throwable t) {
+        // the advice method is resolved again when its call site is bootstrapped
+        logger.log(
+            Level.FINE,
+            "Failed to link advice {0}.{1} of {2}",
+            new Object[] {
+              adviceMethod.adviceClassName, adviceMethod.adviceMethodName, moduleClassName
+            });
+      }
+    }
+  }
+
   private static void initializeModuleLoaderForClassLoader(
-      InstrumentationModule module, ClassLoader classLoader) {
+      InstrumentationModule module, ClassLoader classLoader, boolean eagerAdviceLinking) {
 
     ClassLoader agentOrExtensionCl = module.getClass().getClassLoader();
 
@@ -139,6 +217,11 @@ public class IndyModuleRegistry {
                 unused -> new InstrumentationModuleClassLoader(classLoader, agentOrExtensionCl));
 
     moduleCl.installModule(module);
+    if (eagerAdviceLinking) {
+      // LookupExposer is an agent class, defining it here doesn't load any application classes
+      moduleCl.getLookup();
+      adviceRecordingLoader.set(moduleCl);
+    }
   }
 
   private static String getModuleGroup(InstrumentationModule module) {
@@ -147,4 +230,39 @@ public class IndyModuleRegistry {
     }
     return module.getClass().getName();
   }
+
+  static final class AdviceMethod {
+    private final String adviceClassName;
+    private final String adviceMethodName;
+    private final String adviceMethodDescriptor;
+
+    AdviceMethod(
+        String adviceClassName, String adviceMethodName, String adviceMethodDescriptor) {
+      this.adviceClassName = adviceClassName;
+      this.adviceMethodName = adviceMethodName;
+      this.adviceMethodDescriptor = adviceMethodDescriptor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof AdviceMethod)) {
+        return false;
+      }
+      AdviceMethod that = (AdviceMethod) o;
+      return adviceClassName.equals(that.adviceClassName)
+          && adviceMethodName.equals(that.adviceMethodName)
+          && adviceMethodDescriptor.equals(that.adviceMethodDescriptor);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = adviceClassName.hashCode();
+      result = 31 * result + adviceMethodName.hashCode();
+      result = 31 * result + adviceMethodDescriptor.hashCode();
+      return result;
+    }
+  }
 }
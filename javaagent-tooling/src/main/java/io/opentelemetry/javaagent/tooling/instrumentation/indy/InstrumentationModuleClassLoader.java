@@ -88,6 +88,14 @@ public class InstrumentationModuleClassLoader extends ClassLoader {
 
   private final Set<InstrumentationModule> installedModules;
 
+  // advice methods resolved in this class loader, keyed by class name, method name and descriptor
+  private final Map<String, MethodHandle> adviceMethodHandles;
+  // advice methods applied to classes of the instrumented class loader, keyed by module name,
+  // only recorded for the modules whose advice is linked eagerly
+  private final Map<String, Set<IndyModuleRegistry.AdviceMethod>> recordedAdvice;
+  // names of the modules whose advice methods were linked in one batch
+  private final Set<String> linkedModules;
+
   public InstrumentationModuleClassLoader(
       ClassLoader instrumentedCl, ClassLoader agentOrExtensionCl) {
     this(
@@ -108,6 +116,9 @@ public class InstrumentationModuleClassLoader extends ClassLoader {
     this.instrumentedCl = instrumentedCl;
     this.agentClassNamesMatcher = classesToLoadFromAgentOrExtensionCl;
     this.hiddenAgentPackages = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    this.adviceMethodHandles = new ConcurrentHashMap<>();
+    this.recordedAdvice = new ConcurrentHashMap<>();
+    this.linkedModules = Collections.newSetFromMap(new ConcurrentHashMap<>());
   }
 
   /**
@@ -136,6 +147,49 @@ public class InstrumentationModuleClassLoader extends ClassLoader {
     return cachedLookup;
   }
 
+  /**
+   * Returns a handle for the given static advice method. The advice method is resolved only once
+   * in this class loader, all invokedynamic instructions that call it share the same handle.
+   */
+  public MethodHandle getAdviceMethodHandle(
+      String adviceClassName, String adviceMethodName, String adviceMethodDescriptor)
+      throws ClassNotFoundException, NoSuchMethodException, IllegalAccessException {
+    String key = adviceClassName + '.' + adviceMethodName + adviceMethodDescriptor;
+    MethodHandle methodHandle = adviceMethodHandles.get(key);
+    if (methodHandle == null) {
+      // not using computeIfAbsent, loading the advice class may resolve other advice methods
+      Class<?> adviceClass = loadClass(adviceClassName);
+      MethodType adviceMethodType =
+          MethodType.fromMethodDescriptorString(adviceMethodDescriptor, this);
+      methodHandle = getLookup().findStatic(adviceClass, adviceMethodName, adviceMethodType);
+      MethodHandle existing = adviceMethodHandles.putIfAbsent(key, methodHandle);
+      if (existing != null) {
+        methodHandle = existing;
+      }
+    }
+    return methodHandle;
+  }
+
+  /** Records an advice method of the given module that was applied to an instrumented class. */
+  void recordAdviceMethod(String moduleClassName, IndyModuleRegistry.AdviceMethod adviceMethod) {
+    recordedAdvice
+        .computeIfAbsent(moduleClassName, unused -> ConcurrentHashMap.newKeySet())
+        .add(adviceMethod);
+  }
+
+  /** Returns the advice methods of the given module that were applied in this class loader. */
+  Set<IndyModuleRegistry.AdviceMethod> getRecordedAdvice(String moduleClassName) {
+    return recordedAdvice.getOrDefault(moduleClassName, Collections.emptySet());
+  }
+
+  /**
+   * Marks the advice methods of the given module as linked, returns {@code false} when they have
+   * already been linked in this class loader.
+   */
+  boolean markAdviceLinked(String moduleClassName) {
+    return linkedModules.add(moduleClassName);
+  }
+
   public synchronized void installModule(InstrumentationModule module) {
     if (module.getClass().getClassLoader() != agentOrExtensionCl) {
       throw new IllegalArgumentException(
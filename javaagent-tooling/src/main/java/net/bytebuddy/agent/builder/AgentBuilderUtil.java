@@ -7,14 +7,19 @@ package net.bytebuddy.agent.builder;
 
 import static java.util.logging.Level.FINE;
 
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.javaagent.extension.matcher.internal.ClassNamesMatcher;
 import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingMatcher;
 import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingSuperTypeMatcher;
 import io.opentelemetry.javaagent.tooling.DefineClassHandler;
+import io.opentelemetry.javaagent.tooling.util.Trie;
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
@@ -49,6 +54,8 @@ public class AgentBuilderUtil {
   private static final Field erasureMatcherField = getField(ErasureMatcher.class, "matcher");
   private static final Field conjunctionMatchersField =
       getField(ElementMatcher.Junction.Conjunction.class, "matchers");
+  private static final Field disjunctionMatchersField =
+      getField(ElementMatcher.Junction.Disjunction.class, "matchers");
   private static final Field stringMatcherValueField = getField(StringMatcher.class, "value");
   private static final Field stringMatcherModeField = getField(StringMatcher.class, "mode");
   private static final Field stringSetMatcherValuesField =
@@ -61,36 +68,30 @@ public class AgentBuilderUtil {
    * know are not going to match for currently transformed class.
    */
   public static AgentBuilder optimize(AgentBuilder agentBuilder) {
+    return optimize(agentBuilder, null);
+  }
+
+  /**
+   * Same as {@link #optimize(AgentBuilder)}, but also notifies the given listener before the first
+   * class of a class loader is transformed.
+   */
+  public static AgentBuilder optimize(
+      AgentBuilder agentBuilder, @Nullable ClassLoaderListener classLoaderListener) {
     try {
       agentBuilder = agentBuilder.with(new TransformContext());
 
-      optimize((AgentBuilder.Default) agentBuilder);
+      optimize((AgentBuilder.Default) agentBuilder, classLoaderListener);
     } catch (Exception exception) {
       throw new IllegalStateException("Failed to optimize transformations", exception);
     }
     return agentBuilder;
   }
 
-  private static void optimize(AgentBuilder.Default agentBuilder) throws Exception {
-    // class names that have a matcher that matches by name
-    Set<String> classNames = new HashSet<>();
-    // class names that have a matcher that matches subtypes
-    Set<String> superTypeNames = new HashSet<>();
-    List<Transformation> unoptimizedTransformations = new ArrayList<>();
-    List<Transformation> transformations = agentBuilder.transformations;
-    for (Transformation transformation : transformations) {
-      AgentBuilder.RawMatcher matcher = transformation.getMatcher();
-      // attempt to decompose the matcher and find if it applies to a named class or a subclass
-      Result result = inspect(matcher);
-      if (result == null) {
-        // we were not able to decompose the matcher
-        unoptimizedTransformations.add(transformation);
-      } else if (result.subtype) {
-        superTypeNames.addAll(result.names);
-      } else {
-        classNames.addAll(result.names);
-      }
-    }
+  private static void optimize(
+      AgentBuilder.Default agentBuilder, @Nullable ClassLoaderListener classLoaderListener)
+      throws Exception {
+    OptimizedTransformations optimizedTransformations =
+        new OptimizedTransformations(agentBuilder.transformations, classLoaderListener);
 
     List<?> list =
         (List<?>)
@@ -101,38 +102,239 @@ public class AgentBuilderUtil {
                   String name = TransformContext.getTransformedClassName();
                   // iterator() is the only method we expect to be called on this List
                   if (name != null && "iterator".equals(method.getName())) {
-                    // we know that this class is going to be transformed
-                    if (classNames.contains(name) || superTypeNames.contains(name)) {
-                      return transformations.iterator();
-                    }
-                    // we already know that loading this class is going to fail, no need to
-                    // transform it
-                    if (DefineClassHandler.isFailedClass(name)) {
-                      return Collections.emptyIterator();
-                    }
-                    Set<String> loadingSuperTypes = DefineClassHandler.getSuperTypes();
-                    // super types set should contain at least java.lang.Object if this set is
-                    // empty something unexpected has happened, run all transformations
-                    if (loadingSuperTypes.isEmpty()) {
-                      return transformations.iterator();
-                    }
-                    for (String className : loadingSuperTypes) {
-                      // we know that this class is going to be transformed
-                      if (superTypeNames.contains(className)) {
-                        return transformations.iterator();
-                      }
-                    }
-
-                    // apply only the transformations that we can't decompose
-                    return unoptimizedTransformations.iterator();
+                    optimizedTransformations.beforeTransformation(
+                        TransformContext.getTransformedClassLoader());
+                    return optimizedTransformations.index.iterator(name);
                   }
 
-                  return method.invoke(transformations, args);
+                  return method.invoke(optimizedTransformations.index.transformations, args);
                 });
 
     agentBuilderTransformationsField.set(agentBuilder, list);
   }
 
+  /**
+   * Returns the names of the classes that a class loader must contain to be matched by the given
+   * class loader matcher, or {@code null} when they can't be determined.
+   */
+  @Nullable
+  public static Set<String> getRequiredClassNames(ElementMatcher<?> classLoaderMatcher) {
+    try {
+      return inspectClassLoaderMatcher(classLoaderMatcher);
+    } catch (Exception exception) {
+      logger.log(FINE, "Failed to inspect class loader matcher " + classLoaderMatcher, exception);
+      return null;
+    }
+  }
+
+  @Nullable
+  private static Set<String> inspectClassLoaderMatcher(ElementMatcher<?> matcher)
+      throws Exception {
+    if (matcher instanceof ClassNamesMatcher) {
+      List<String> classNames = ((ClassNamesMatcher) matcher).getClassNames();
+      // a matcher without class names matches every class loader
+      return classNames.isEmpty() ? null : new HashSet<>(classNames);
+    } else if (matcher instanceof DelegatingMatcher) {
+      return inspectClassLoaderMatcher(((DelegatingMatcher) matcher).getDelegate());
+    } else if (matcher instanceof ElementMatcher.Junction.Conjunction) {
+      // every element of a conjunction must match, so the classes of all elements are required
+      Set<String> result = null;
+      for (ElementMatcher<?> elementMatcher :
+          getDelegateMatchers((ElementMatcher.Junction.Conjunction<?>) matcher)) {
+        Set<String> classNames = inspectClassLoaderMatcher(elementMatcher);
+        if (classNames != null) {
+          if (result == null) {
+            result = new HashSet<>();
+          }
+          result.addAll(classNames);
+        }
+      }
+      return result;
+    }
+
+    // e.g. a disjunction doesn't require any particular class
+    return null;
+  }
+
+  /**
+   * Listener that is notified before the first class of a class loader is transformed. The listener
+   * is called without holding a lock, it can run concurrently for different class loaders and also
+   * for the same class loader when several threads transform its first classes at the same time.
+   */
+  public interface ClassLoaderListener {
+
+    /**
+     * Called before the first class of the given class loader is transformed. The transformations
+     * that are added to {@code transformations} are already applied to that class.
+     */
+    void beforeFirstTransformation(
+        ClassLoader classLoader, OptimizedTransformations transformations);
+  }
+
+  /**
+   * The transformations of an optimized agent builder. Transformations can still be added after the
+   * agent builder was installed, they apply to the classes that are transformed after that.
+   */
+  public static final class OptimizedTransformations {
+    // the transformations that were registered before the agent builder was optimized
+    private final List<Transformation> transformations;
+    @Nullable private final ClassLoaderListener classLoaderListener;
+    private final Cache<ClassLoader, Boolean> notifiedClassLoaders = Cache.weak();
+    // guarded by this
+    private final List<AddedTransformations> addedTransformations = new ArrayList<>();
+    // set while the listener runs on the current thread, e.g. when it loads classes
+    private final ThreadLocal<Boolean> notifying = new ThreadLocal<>();
+    // Visible for testing
+    volatile TransformationIndex index;
+
+    // Visible for testing
+    OptimizedTransformations(
+        List<Transformation> transformations, @Nullable ClassLoaderListener classLoaderListener)
+        throws Exception {
+      this.transformations = transformations;
+      this.classLoaderListener = classLoaderListener;
+      this.index = new TransformationIndex(transformations);
+    }
+
+    /**
+     * Adds the transformations that {@code extended} registered on top of {@code base}. {@code
+     * base} must be an agent builder that the optimized agent builder was created from, the added
+     * transformations are placed where {@code base} ended, in the same order as if they were
+     * registered before the agent builder was installed. Transformations that are added at the same
+     * position are ordered by {@code order}, e.g. the registration order of the modules that added
+     * them, independent of the order in which they are added.
+     */
+    public void add(AgentBuilder base, AgentBuilder extended, int order) {
+      List<Transformation> baseTransformations = getTransformations(base);
+      List<Transformation> extendedTransformations = getTransformations(extended);
+      int position = baseTransformations.size();
+      AddedTransformations added =
+          new AddedTransformations(
+              position,
+              order,
+              new ArrayList<>(
+                  extendedTransformations.subList(position, extendedTransformations.size())));
+
+      // the monitor is only held to publish the new index, transformations that are being applied
+      // keep using the previous one
+      synchronized (this) {
+        addedTransformations.add(added);
+        addedTransformations.sort(
+            Comparator.<AddedTransformations>comparingInt(entry -> entry.position)
+                .thenComparingInt(entry -> entry.order));
+
+        List<Transformation> result = new ArrayList<>(transformations);
+        int offset = 0;
+        for (AddedTransformations addedTransformation : addedTransformations) {
+          result.addAll(addedTransformation.position + offset, addedTransformation.transformations);
+          offset += addedTransformation.transformations.size();
+        }
+        try {
+          index = new TransformationIndex(result);
+        } catch (Exception exception) {
+          throw new IllegalStateException("Failed to optimize transformations", exception);
+        }
+      }
+    }
+
+    private void beforeTransformation(@Nullable ClassLoader classLoader) {
+      if (classLoaderListener == null
+          || classLoader == null
+          || notifying.get() != null
+          || notifiedClassLoaders.get(classLoader) != null) {
+        return;
+      }
+      notifying.set(Boolean.TRUE);
+      try {
+        classLoaderListener.beforeFirstTransformation(classLoader, this);
+      } finally {
+        notifying.remove();
+        notifiedClassLoaders.put(classLoader, Boolean.TRUE);
+      }
+    }
+
+    private static List<Transformation> getTransformations(AgentBuilder agentBuilder) {
+      if (agentBuilder instanceof AgentBuilder.Default.Delegator) {
+        agentBuilder = ((AgentBuilder.Default.Delegator) agentBuilder).materialize();
+      }
+      return ((AgentBuilder.Default) agentBuilder).transformations;
+    }
+  }
+
+  private static class AddedTransformations {
+    final int position;
+    final int order;
+    final List<Transformation> transformations;
+
+    AddedTransformations(int position, int order, List<Transformation> transformations) {
+      this.position = position;
+      this.order = order;
+      this.transformations = transformations;
+    }
+  }
+
+  // Visible for testing
+  static class TransformationIndex {
+    final List<Transformation> transformations;
+    // class names that have a matcher that matches by name
+    private final Set<String> classNames = new HashSet<>();
+    // class names that have a matcher that matches subtypes
+    private final Set<String> superTypeNames = new HashSet<>();
+    // class name prefixes that have a matcher that matches by name prefix
+    private final Trie<Boolean> classNamePrefixTrie;
+    private final List<Transformation> unoptimizedTransformations = new ArrayList<>();
+
+    TransformationIndex(List<Transformation> transformations) throws Exception {
+      this.transformations = transformations;
+      Trie.Builder<Boolean> classNamePrefixes = Trie.builder();
+      for (Transformation transformation : transformations) {
+        AgentBuilder.RawMatcher matcher = transformation.getMatcher();
+        // attempt to decompose the matcher and find if it applies to a named class or a subclass
+        Result result = inspect(matcher);
+        if (result == null) {
+          // we were not able to decompose the matcher
+          unoptimizedTransformations.add(transformation);
+        } else {
+          classNames.addAll(result.names);
+          superTypeNames.addAll(result.superTypeNames);
+          for (String prefix : result.prefixes) {
+            classNamePrefixes.put(prefix, true);
+          }
+        }
+      }
+      classNamePrefixTrie = classNamePrefixes.build();
+    }
+
+    Iterator<Transformation> iterator(String name) {
+      // we know that this class is going to be transformed
+      if (classNames.contains(name)
+          || superTypeNames.contains(name)
+          || classNamePrefixTrie.contains(name)) {
+        return transformations.iterator();
+      }
+      // we already know that loading this class is going to fail, no need to
+      // transform it
+      if (DefineClassHandler.isFailedClass(name)) {
+        return Collections.emptyIterator();
+      }
+      Set<String> loadingSuperTypes = DefineClassHandler.getSuperTypes();
+      // super types set should contain at least java.lang.Object if this set is
+      // empty something unexpected has happened, run all transformations
+      if (loadingSuperTypes.isEmpty()) {
+        return transformations.iterator();
+      }
+      for (String className : loadingSuperTypes) {
+        // we know that this class is going to be transformed
+        if (superTypeNames.contains(className)) {
+          return transformations.iterator();
+        }
+      }
+
+      // apply only the transformations that we can't decompose
+      return unoptimizedTransformations.iterator();
+    }
+  }
+
   @Nullable
   private static Result inspect(AgentBuilder.RawMatcher matcher) throws Exception {
     if (matcher instanceof AgentBuilder.RawMatcher.Conjunction) {
@@ -179,6 +381,18 @@ public class AgentBuilderUtil {
           return result;
         }
       }
+    } else if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+      // a disjunction can only be decomposed when every one of its elements can be decomposed
+      List<ElementMatcher<?>> matchers =
+          getDelegateMatchers((ElementMatcher.Junction.Disjunction<?>) matcher);
+      Result result = null;
+      for (ElementMatcher<?> elementMatcher : matchers) {
+        result = Result.union(result, inspect(elementMatcher));
+        if (result == null) {
+          return null;
+        }
+      }
+      return result;
     }
 
     return null;
@@ -188,8 +402,12 @@ public class AgentBuilderUtil {
   private static Result inspectNameMatcher(NameMatcher<?> nameMatcher) throws Exception {
     ElementMatcher<?> matcher = getDelegateMatcher(nameMatcher);
     if (matcher instanceof StringMatcher) {
-      String value = getStringMatcherValue((StringMatcher) matcher);
-      return Result.named(value);
+      StringMatcher stringMatcher = (StringMatcher) matcher;
+      String value = getStringMatcherValue(stringMatcher);
+      if (value != null) {
+        return Result.named(value);
+      }
+      return Result.prefixed(getStringMatcherPrefix(stringMatcher));
     } else if (matcher instanceof StringSetMatcher) {
       Set<String> value = getStringSetMatcherValue((StringSetMatcher) matcher);
       return Result.named(value);
@@ -199,27 +417,23 @@ public class AgentBuilderUtil {
   }
 
   private static class Result {
+    // names of the types that the matcher matches by name
     final Set<String> names = new HashSet<>();
-    // true if matcher matches based on type hierarchy
-    // false if matcher matches based on type name
-    final boolean subtype;
-
-    private Result(boolean subtype) {
-      this.subtype = subtype;
-    }
-
-    private Result() {
-      this(false);
-    }
+    // names of the types whose subtypes the matcher matches
+    final Set<String> superTypeNames = new HashSet<>();
+    // prefixes of the type names that the matcher matches by name
+    final Set<String> prefixes = new HashSet<>();
 
     @Nullable
     static Result subtype(@Nullable Result value) {
-      if (value == null) {
+      // we don't track subtypes of types that are matched by a name prefix
+      if (value == null || !value.prefixes.isEmpty()) {
         return null;
       }
 
-      Result result = new Result(true);
-      result.names.addAll(value.names);
+      Result result = new Result();
+      result.superTypeNames.addAll(value.names);
+      result.superTypeNames.addAll(value.superTypeNames);
       return result;
     }
 
@@ -243,9 +457,42 @@ public class AgentBuilderUtil {
       return result;
     }
 
+    @Nullable
+    static Result prefixed(@Nullable String value) {
+      // an empty prefix would match every class
+      if (value == null || value.isEmpty()) {
+        return null;
+      }
+      Result result = new Result();
+      result.prefixes.add(value);
+      return result;
+    }
+
+    @Nullable
+    static Result union(@Nullable Result first, @Nullable Result second) {
+      if (first == null) {
+        return second;
+      }
+      if (second == null) {
+        return null;
+      }
+      Result result = new Result();
+      for (Result value : new Result[] {first, second}) {
+        result.names.addAll(value.names);
+        result.superTypeNames.addAll(value.superTypeNames);
+        result.prefixes.addAll(value.prefixes);
+      }
+      return result;
+    }
+
     @Override
     public String toString() {
-      return (subtype ? "subtype of " : "named ") + names;
+      return "named "
+          + names
+          + ", subtype of "
+          + superTypeNames
+          + ", name starts with "
+          + prefixes;
     }
   }
 
@@ -284,6 +531,12 @@ public class AgentBuilderUtil {
     return (List<ElementMatcher<?>>) conjunctionMatchersField.get(matcher);
   }
 
+  @SuppressWarnings("unchecked") // casting reflection result
+  private static List<ElementMatcher<?>> getDelegateMatchers(
+      ElementMatcher.Junction.Disjunction<?> matcher) throws Exception {
+    return (List<ElementMatcher<?>>) disjunctionMatchersField.get(matcher);
+  }
+
   /**
    * @return the value given string matcher matches when matcher mode is
    *     StringMatcher.Mode.EQUALS_FULLY, null otherwise
@@ -295,6 +548,17 @@ public class AgentBuilderUtil {
     return mode == StringMatcher.Mode.EQUALS_FULLY ? value : null;
   }
 
+  /**
+   * @return the value given string matcher matches when matcher mode is
+   *     StringMatcher.Mode.STARTS_WITH, null otherwise
+   */
+  @Nullable
+  private static String getStringMatcherPrefix(StringMatcher matcher) throws Exception {
+    String value = (String) stringMatcherValueField.get(matcher);
+    StringMatcher.Mode mode = (StringMatcher.Mode) stringMatcherModeField.get(matcher);
+    return mode == StringMatcher.Mode.STARTS_WITH ? value : null;
+  }
+
   @SuppressWarnings("unchecked") // casting reflection result
   private static Set<String> getStringSetMatcherValue(StringSetMatcher matcher) throws Exception {
     return (Set<String>) stringSetMatcherValuesField.get(matcher);
@@ -316,12 +580,18 @@ public class AgentBuilderUtil {
 
   private static class TransformContext extends AgentBuilder.Listener.Adapter {
     private static final ThreadLocal<String> transformedName = new ThreadLocal<>();
+    private static final ThreadLocal<ClassLoader> transformedClassLoader = new ThreadLocal<>();
 
     @Nullable
     static String getTransformedClassName() {
       return transformedName.get();
     }
 
+    @Nullable
+    static ClassLoader getTransformedClassLoader() {
+      return transformedClassLoader.get();
+    }
+
     @Override
     public void onDiscovery(
         String typeName,
@@ -330,6 +600,7 @@ public class AgentBuilderUtil {
         boolean loaded) {
       if (classLoader != null) {
         transformedName.set(typeName);
+        transformedClassLoader.set(classLoader);
       }
     }
 
@@ -341,6 +612,7 @@ public class AgentBuilderUtil {
         boolean loaded,
         Throwable throwable) {
       transformedName.remove();
+      transformedClassLoader.remove();
     }
 
     @Override
@@ -350,6 +622,7 @@ public class AgentBuilderUtil {
         @Nullable JavaModule module,
         boolean loaded) {
       transformedName.remove();
+      transformedClassLoader.remove();
     }
   }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AgentClassPreloaderTest {
+
+  @Test
+  void getClassName() {
+    assertThat(AgentClassPreloader.getClassName("inst/io/opentelemetry/Foo.classdata"))
+        .isEqualTo("io.opentelemetry.Foo");
+    assertThat(AgentClassPreloader.getClassName("inst/io/opentelemetry/Foo$Bar.classdata"))
+        .isEqualTo("io.opentelemetry.Foo$Bar");
+    assertThat(AgentClassPreloader.getClassName("inst/META-INF/versions/11/Foo.classdata"))
+        .isNull();
+    assertThat(AgentClassPreloader.getClassName("inst/module-info.classdata")).isNull();
+    assertThat(AgentClassPreloader.getClassName("inst/io/opentelemetry/package-info.classdata"))
+        .isNull();
+    assertThat(AgentClassPreloader.getClassName("inst/META-INF/MANIFEST.MF")).isNull();
+    assertThat(AgentClassPreloader.getClassName("io/opentelemetry/Foo.class")).isNull();
+  }
+
+  @Test
+  void preloadAgentClasses(@TempDir Path tempDir) throws IOException {
+    File jar = tempDir.resolve("agent.jar").toFile();
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+      writeEntry(out, "inst/io/opentelemetry/Foo.classdata");
+      writeEntry(out, "inst/io/opentelemetry/Missing.classdata");
+      writeEntry(out, "inst/META-INF/versions/11/io/opentelemetry/Foo.classdata");
+      writeEntry(out, "io/opentelemetry/javaagent/OpenTelemetryAgent.class");
+    }
+
+    List<String> requested = new ArrayList<>();
+    ClassLoader classLoader =
+        new ClassLoader(null) {
+          @Override
+          protected Class<?> loadClass(String name, boolean resolve)
+              throws ClassNotFoundException {
+            requested.add(name);
+            if (name.equals("io.opentelemetry.Foo")) {
+              return Object.class;
+            }
+            throw new ClassNotFoundException(name);
+          }
+        };
+
+    AgentClassPreloader.preloadAgentClasses(classLoader, jar);
+
+    assertThat(requested).containsExactly("io.opentelemetry.Foo", "io.opentelemetry.Missing");
+  }
+
+  private static void writeEntry(JarOutputStream out, String name) throws IOException {
+    out.putNextEntry(new JarEntry(name));
+    out.write(new byte[] {0});
+    out.closeEntry();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class InstrumentationLoaderTest {
+
+  @Test
+  void prepareInParallel() {
+    assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+
+    List<InstrumentationModule> modules =
+        asList(module("a"), module("b"), module("c"), module("d"), module("e"));
+    CountDownLatch lastModulePrepared = new CountDownLatch(1);
+    List<ForkJoinTask<String>> prepared =
+        InstrumentationLoader.prepareInParallel(
+            modules,
+            asList(null, null, Collections.singleton("c.C"), null, null),
+            module -> !module.instrumentationName().equals("e"),
+            module -> {
+              String name = module.instrumentationName();
+              if (name.equals("a")) {
+                // the first module is prepared after the last one
+                try {
+                  lastModulePrepared.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              } else if (name.equals("b")) {
+                throw new IllegalStateException("failed to prepare " + name);
+              } else if (name.equals("d")) {
+                lastModulePrepared.countDown();
+              }
+              return name;
+            });
+
+    assertThat(prepared).hasSize(5);
+    // the results keep the registration order and a failure only affects its own module
+    assertThat(prepared.get(0).join()).isEqualTo("a");
+    assertThatThrownBy(() -> prepared.get(1).join()).isInstanceOf(IllegalStateException.class);
+    // deferred modules are not prepared
+    assertThat(prepared.get(2)).isNull();
+    assertThat(prepared.get(3).join()).isEqualTo("d");
+    // modules that are not prepared in parallel, like extension modules, are left to the caller
+    assertThat(prepared.get(4)).isNull();
+    assertThat(lastModulePrepared.getCount()).isZero();
+  }
+
+  private static InstrumentationModule module(String name) {
+    return new InstrumentationModule(name) {
+      @Override
+      public List<TypeInstrumentation> typeInstrumentations() {
+        return Collections.emptyList();
+      }
+    };
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
+import static java.util.Arrays.asList;
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+
+class LazyModuleActivationTest {
+
+  @Test
+  void getTriggerClassNames() {
+    assertThat(LazyModuleActivation.getTriggerClassNames(module(hasClassesNamed("a.A", "b.B"))))
+        .containsExactlyInAnyOrder("a.A", "b.B");
+    assertThat(
+            LazyModuleActivation.getTriggerClassNames(
+                module(hasClassesNamed("a.A").and(not(hasClassesNamed("b.B"))))))
+        .containsExactly("a.A");
+    assertThat(
+            LazyModuleActivation.getTriggerClassNames(
+                module(hasClassesNamed("a.A").and(hasClassesNamed("b.B")))))
+        .containsExactlyInAnyOrder("a.A", "b.B");
+
+    // modules that can match without any particular class are not deferred
+    assertThat(
+            LazyModuleActivation.getTriggerClassNames(
+                module(hasClassesNamed("a.A").or(hasClassesNamed("b.B")))))
+        .isNull();
+    assertThat(LazyModuleActivation.getTriggerClassNames(module(hasClassesNamed()))).isNull();
+    assertThat(LazyModuleActivation.getTriggerClassNames(module(any()))).isNull();
+  }
+
+  @Test
+  void isTriggered() {
+    List<String> lookedUp = new ArrayList<>();
+    ClassLoader classLoader =
+        new ClassLoader(null) {
+          @Override
+          public URL getResource(String name) {
+            lookedUp.add(name);
+            return name.equals("a/A.class") || name.equals("b/B.class")
+                ? getClass().getResource("LazyModuleActivationTest.class")
+                : null;
+          }
+        };
+
+    Map<String, Boolean> hasClasses = new HashMap<>();
+    assertThat(
+            LazyModuleActivation.isTriggered(
+                classLoader, new HashSet<>(asList("a.A", "b.B")), hasClasses))
+        .isTrue();
+    assertThat(
+            LazyModuleActivation.isTriggered(
+                classLoader, new HashSet<>(asList("a.A", "c.C")), hasClasses))
+        .isFalse();
+    assertThat(
+            LazyModuleActivation.isTriggered(
+                classLoader, Collections.singleton("c.C"), hasClasses))
+        .isFalse();
+
+    // every class is only looked up once
+    assertThat(lookedUp).containsExactlyInAnyOrder("a/A.class", "b/B.class", "c/C.class");
+  }
+
+  private static InstrumentationModule module(ElementMatcher.Junction<ClassLoader> matcher) {
+    return new InstrumentationModule("test") {
+      @Override
+      public ElementMatcher.Junction<ClassLoader> classLoaderMatcher() {
+        return matcher;
+      }
+
+      @Override
+      public List<TypeInstrumentation> typeInstrumentations() {
+        return Collections.emptyList();
+      }
+    };
+  }
+}
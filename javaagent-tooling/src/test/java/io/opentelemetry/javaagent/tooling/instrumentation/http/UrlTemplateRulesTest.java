@@ -0,0 +1,34 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class UrlTemplateRulesTest {
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = ' ',
+      value = {
+        "^http://example\\.com/users/[0-9]+$ http://example.com/users/",
+        "^http://example\\.com/.*$ http://example.com/",
+        "^https?://example\\.com/.*$ http",
+        "^http://(www\\.)?example\\.com/.*$ http://",
+        "^http://exa+mple\\.com/.*$ http://ex",
+        "^http://example\\.com/\\d+$ http://example.com/",
+        "^http://a\\.com/.*|^http://b\\.com/.*$ ''",
+        "http://example\\.com/.*$ ''",
+        "^(?i)http://example\\.com/.*$ ''",
+      })
+  void literalPrefix(String regex, String expectedPrefix) {
+    assertThat(UrlTemplateRules.literalPrefix(Pattern.compile(regex)))
+        .isEqualTo(expectedPrefix);
+  }
+}
@@ -95,6 +95,45 @@ class InstrumentationModuleClassLoaderTest {
     assertThat(methodHandle.invoke((Bar) null)).isEqualTo("foo");
   }
 
+  @Test
+  void adviceMethodHandleIsShared() throws Throwable {
+    Map<String, BytecodeWithUrl> toInject = new HashMap<>();
+    toInject.put(Foo.class.getName(), BytecodeWithUrl.create(Foo.class));
+    toInject.put(Bar.class.getName(), BytecodeWithUrl.create(Bar.class));
+
+    ClassLoader dummyParent = new URLClassLoader(new URL[] {}, null);
+    InstrumentationModuleClassLoader m1 =
+        new InstrumentationModuleClassLoader(dummyParent, dummyParent, ElementMatchers.any());
+    m1.installInjectedClasses(toInject);
+
+    String descriptor = MethodType.methodType(String.class, Bar.class).toMethodDescriptorString();
+    MethodHandle methodHandle = m1.getAdviceMethodHandle(Foo.class.getName(), "foo", descriptor);
+    assertThat(methodHandle.type().parameterType(0).getClassLoader()).isSameAs(m1);
+    assertThat(methodHandle.invoke((Bar) null)).isEqualTo("foo");
+    assertThat(m1.getAdviceMethodHandle(Foo.class.getName(), "foo", descriptor))
+        .isSameAs(methodHandle);
+
+    assertThat(m1.markAdviceLinked("module")).isTrue();
+    assertThat(m1.markAdviceLinked("module")).isFalse();
+  }
+
+  @Test
+  void recordedAdviceIsPerClassLoader() {
+    ClassLoader dummyParent = new URLClassLoader(new URL[] {}, null);
+    InstrumentationModuleClassLoader m1 =
+        new InstrumentationModuleClassLoader(dummyParent, dummyParent, ElementMatchers.any());
+    InstrumentationModuleClassLoader m2 =
+        new InstrumentationModuleClassLoader(dummyParent, dummyParent, ElementMatchers.any());
+
+    IndyModuleRegistry.AdviceMethod adviceMethod =
+        new IndyModuleRegistry.AdviceMethod(Foo.class.getName(), "foo", "()V");
+    m1.recordAdviceMethod("module", adviceMethod);
+
+    assertThat(m1.getRecordedAdvice("module")).containsExactly(adviceMethod);
+    assertThat(m1.getRecordedAdvice("other")).isEmpty();
+    assertThat(m2.getRecordedAdvice("module")).isEmpty();
+  }
+
   @Test
   void checkInjectedClassesHavePackage() throws Throwable {
     Map<String, BytecodeWithUrl> toInject = new HashMap<>();
@@ -0,0 +1,166 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.bytebuddy.agent.builder;
+
+import static net.bytebuddy.matcher.ElementMatchers.hasSuperType;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.bootstrap.DefineClassHelper.Handler.DefineClassContext;
+import io.opentelemetry.javaagent.tooling.DefineClassHandler;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import net.bytebuddy.agent.builder.AgentBuilder.Default.Transformation;
+import net.bytebuddy.agent.builder.AgentBuilderUtil.OptimizedTransformations;
+import net.bytebuddy.agent.builder.AgentBuilderUtil.TransformationIndex;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.jupiter.api.Test;
+
+class AgentBuilderUtilTest {
+
+  @Test
+  void nestedDisjunction() throws Exception {
+    TransformationIndex index =
+        index(named("a.A").or(named("b.B").or(nameStartsWith("c.")).or(named("d.D"))));
+
+    assertThat(matches(index, "a.A")).isTrue();
+    assertThat(matches(index, "b.B")).isTrue();
+    assertThat(matches(index, "c.C")).isTrue();
+    assertThat(matches(index, "d.D")).isTrue();
+    assertThat(matches(index, "e.E")).isFalse();
+    assertThat(matches(index, "b.Bb")).isFalse();
+  }
+
+  @Test
+  void conjunctionInsideDisjunction() throws Exception {
+    TransformationIndex index =
+        index(
+            named("a.A")
+                .and(isPublic())
+                .or(isPublic().and(hasSuperType(named(Runnable.class.getName())))));
+
+    assertThat(matches(index, "a.A")).isTrue();
+    assertThat(matches(index, "c.C")).isFalse();
+    assertThat(matches(index, "c.C", Runnable.class)).isTrue();
+  }
+
+  @Test
+  void disjunctionWithUndecomposableElement() throws Exception {
+    TransformationIndex index = index(named("a.A").or(isPublic()), named("b.B"));
+
+    // the first transformation is applied to every class
+    assertThat(applied(index, "c.C")).containsExactly(index.transformations.get(0));
+    assertThat(applied(index, "b.B")).containsExactlyElementsOf(index.transformations);
+  }
+
+  @Test
+  void overlappingPrefixes() throws Exception {
+    TransformationIndex index = index(nameStartsWith("com.foo."), nameStartsWith("com.foo.bar."));
+
+    assertThat(matches(index, "com.foo.Baz")).isTrue();
+    assertThat(matches(index, "com.foo.bar.Baz")).isTrue();
+    assertThat(matches(index, "com.foobar.Baz")).isFalse();
+    assertThat(matches(index, "com.fo")).isFalse();
+    assertThat(matches(index, "com.Baz")).isFalse();
+  }
+
+  @Test
+  void nameEqualToPrefix() throws Exception {
+    TransformationIndex index = index(nameStartsWith("com.foo.Bar"), named("com.foo.Baz"));
+
+    assertThat(matches(index, "com.foo.Bar")).isTrue();
+    assertThat(matches(index, "com.foo.Bar$Inner")).isTrue();
+    assertThat(matches(index, "com.foo.Baz")).isTrue();
+    assertThat(matches(index, "com.foo.Ba")).isFalse();
+  }
+
+  @Test
+  void subtypeOfPrefixIsNotDecomposed() throws Exception {
+    TransformationIndex index = index(hasSuperType(nameStartsWith("com.foo.")));
+
+    assertThat(applied(index, "a.A")).containsExactlyElementsOf(index.transformations);
+  }
+
+  @Test
+  void addedTransformationsKeepRegistrationOrder() throws Exception {
+    AgentBuilder base = transform(new AgentBuilder.Default(), "a.A");
+    AgentBuilder first = transform(base, "b.B");
+    AgentBuilder second = transform(base, "c.C");
+    AgentBuilder third = transform(base, "d.D");
+    OptimizedTransformations optimizedTransformations =
+        new OptimizedTransformations(transformations(base), null);
+
+    // the modules are activated in a different order than they were registered in
+    optimizedTransformations.add(base, third, 3);
+    optimizedTransformations.add(base, first, 1);
+    optimizedTransformations.add(base, second, 2);
+
+    assertThat(optimizedTransformations.index.transformations)
+        .containsExactly(
+            transformations(base).get(0),
+            transformations(first).get(1),
+            transformations(second).get(1),
+            transformations(third).get(1));
+  }
+
+  private static AgentBuilder transform(AgentBuilder agentBuilder, String name) {
+    return agentBuilder.type(named(name)).transform((builder, type, cl, module, pd) -> builder);
+  }
+
+  private static List<Transformation> transformations(AgentBuilder agentBuilder) {
+    if (agentBuilder instanceof AgentBuilder.Default.Delegator) {
+      agentBuilder = ((AgentBuilder.Default.Delegator) agentBuilder).materialize();
+    }
+    return ((AgentBuilder.Default) agentBuilder).transformations;
+  }
+
+  @SafeVarargs
+  private static TransformationIndex index(ElementMatcher<? super TypeDescription>... matchers)
+      throws Exception {
+    AgentBuilder agentBuilder = new AgentBuilder.Default();
+    for (ElementMatcher<? super TypeDescription> matcher : matchers) {
+      agentBuilder =
+          agentBuilder.type(matcher).transform((builder, type, cl, module, pd) -> builder);
+    }
+    if (agentBuilder instanceof AgentBuilder.Default.Delegator) {
+      agentBuilder = ((AgentBuilder.Default.Delegator) agentBuilder).materialize();
+    }
+    return new TransformationIndex(((AgentBuilder.Default) agentBuilder).transformations);
+  }
+
+  private static boolean matches(TransformationIndex index, String name) {
+    return matches(index, name, Object.class);
+  }
+
+  private static boolean matches(TransformationIndex index, String name, Class<?> superType) {
+    // every transformation is applied to a class that the index knows to match
+    return applied(index, name, superType).size() == index.transformations.size();
+  }
+
+  private static List<Transformation> applied(TransformationIndex index, String name) {
+    return applied(index, name, Object.class);
+  }
+
+  private static List<Transformation> applied(
+      TransformationIndex index, String name, Class<?> superType) {
+    // the index only skips transformations while a class is defined, where the super types of the
+    // class are known
+    DefineClassContext context = DefineClassHandler.INSTANCE.beforeDefineLambdaClass(superType);
+    try {
+      List<Transformation> result = new ArrayList<>();
+      for (Iterator<Transformation> iterator = index.iterator(name); iterator.hasNext(); ) {
+        result.add(iterator.next());
+      }
+      return result;
+    } finally {
+      DefineClassHandler.INSTANCE.afterDefineClass(context);
+    }
+  }
+}
@@ -5,7 +5,10 @@
 
 package io.opentelemetry.javaagent.tooling.muzzle;
 
+import static java.util.logging.Level.WARNING;
+
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.instrumentation.api.incubator.config.internal.InstrumentationConfig;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.bootstrap.field.VirtualFieldAccessorMarker;
@@ -16,6 +19,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.logging.Logger;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
@@ -49,6 +53,8 @@ import net.bytebuddy.utility.JavaModule;
  */
 public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
 
+  private static final Logger logger = Logger.getLogger(AgentCachingPoolStrategy.class.getName());
+
   // Many things are package visible for testing purposes --
   // others to avoid creation of synthetic accessors
 
@@ -57,7 +63,12 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
           .getBoolean("otel.instrumentation.internal-reflection.enabled", true);
   private static final Method findLoadedClassMethod = getFindLoadedClassMethod();
 
-  static final int TYPE_CAPACITY = 64;
+  static final String TYPE_CAPACITY_CONFIG = "otel.javaagent.experimental.type-pool-cache.size";
+  static final int DEFAULT_TYPE_CAPACITY = 64;
+
+  // larger values trade memory for fewer class file lookups and parses during type matching, which
+  // mostly matters for applications that load a large number of classes during startup
+  static final int TYPE_CAPACITY = getTypeCapacity(AgentInstrumentationConfig.get());
 
   static final int BOOTSTRAP_HASH = 7236344; // Just a random number
 
@@ -87,6 +98,19 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
     this.locationStrategy = locationStrategy;
   }
 
+  // Visible for testing
+  static int getTypeCapacity(InstrumentationConfig config) {
+    int capacity = config.getInt(TYPE_CAPACITY_CONFIG, DEFAULT_TYPE_CAPACITY);
+    if (capacity < 1) {
+      logger.log(
+          WARNING,
+          "Invalid value {0} for {1}, using the default of {2} instead",
+          new Object[] {capacity, TYPE_CAPACITY_CONFIG, DEFAULT_TYPE_CAPACITY});
+      return DEFAULT_TYPE_CAPACITY;
+    }
+    return capacity;
+  }
+
   private static Method getFindLoadedClassMethod() {
     // instrumentation is null when this code is called from muzzle
     Instrumentation instrumentation = InstrumentationHolder.getInstrumentation();
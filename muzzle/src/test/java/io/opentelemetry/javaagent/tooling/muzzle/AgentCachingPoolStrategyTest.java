@@ -7,8 +7,12 @@ package io.opentelemetry.javaagent.tooling.muzzle;
 
 import static net.bytebuddy.matcher.ElementMatchers.declaresMethod;
 import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import io.opentelemetry.instrumentation.api.incubator.config.internal.InstrumentationConfig;
 import io.opentelemetry.test.AnnotatedTestClass;
 import java.io.IOException;
 import java.io.InputStream;
@@ -61,4 +65,25 @@ class AgentCachingPoolStrategyTest {
         declaresMethod(isAnnotatedWith(AnnotatedTestClass.TestAnnotation.class))
             .matches(typeDescription));
   }
+
+  @Test
+  void testTypeCapacityConfig() {
+    assertEquals(16, AgentCachingPoolStrategy.getTypeCapacity(config(16)));
+    assertEquals(1024, AgentCachingPoolStrategy.getTypeCapacity(config(1024)));
+    assertEquals(
+        AgentCachingPoolStrategy.DEFAULT_TYPE_CAPACITY,
+        AgentCachingPoolStrategy.getTypeCapacity(config(0)));
+    assertEquals(
+        AgentCachingPoolStrategy.DEFAULT_TYPE_CAPACITY,
+        AgentCachingPoolStrategy.getTypeCapacity(config(-1)));
+  }
+
+  private static InstrumentationConfig config(int typeCapacity) {
+    InstrumentationConfig config = mock(InstrumentationConfig.class);
+    when(config.getInt(
+            AgentCachingPoolStrategy.TYPE_CAPACITY_CONFIG,
+            AgentCachingPoolStrategy.DEFAULT_TYPE_CAPACITY))
+        .thenReturn(typeCapacity);
+    return config;
+  }
 }